@@ -0,0 +1,43 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once per configured thread count with the GC profiler attached, so every result
+ * reports both ns/op and allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ *
+ * <p>Thread counts are taken from the comma separated system property {@code bench.threads}. The first
+ * argument optionally restricts the benchmarks by a regular expression. The forks are started with
+ * {@code --add-modules jdk.incubator.vector}, so rate tables scan with the Vector API as in production.</p>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args Optional include pattern.
+     * @throws RunnerException If a benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "bench\\..*Benchmark";
+        for (String threads : System.getProperty("bench.threads", "1").split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .addProfiler(GCProfiler.class)
+                    .jvmArgsAppend("--add-modules", "jdk.incubator.vector")
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-" + threads.trim() + "-threads.json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package bench;
+
+import control.BatchCalculator;
+import control.RateTable;
+import server.BinaryPricingClient;
+import server.BinaryPricingServer;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A loopback throughput benchmark for the binary pricing protocol.
+ *
+ * <p>Starts a {@link BinaryPricingServer} and lets a number of clients send bursts of quotes for a fixed duration.
+ * Run with {@code mvn -Pbenchmarks compile exec:exec -Dbench.mainClass=bench.BinaryProtocolBenchmark}, or
+ * directly from the project directory with the optional arguments
+ * {@code [clients] [seconds] [burst size] [selector threads]}.</p>
+ */
+public final class BinaryProtocolBenchmark {
+
+    private BinaryProtocolBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional clients (default 4), seconds (default 10), burst size (default 10000) and selector
+     *             threads (default 2).
+     * @throws Exception If the server cannot be started or a client fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int burst = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int selectors = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        int[] packed = new int[burst * BatchCalculator.PACKED_STRIDE];
+        Random random = new Random(42);
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = 1 + random.nextInt(i % 4 == 3 ? 32000 : 700);
+        }
+
+        RateTable rateTable = RateTable.load(TariffFixtures.defaultConfiguration());
+        try (BinaryPricingServer server = new BinaryPricingServer(new InetSocketAddress("127.0.0.1", 0),
+                () -> rateTable, selectors);
+             ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            server.start();
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getPort());
+
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    long quotes = 0;
+                    long[] results = new long[burst];
+                    try (BinaryPricingClient client = new BinaryPricingClient(address)) {
+                        while (System.nanoTime() < deadline) {
+                            client.quoteBatch(packed, results);
+                            quotes += burst;
+                        }
+                    }
+                    return quotes;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            System.out.printf("%d quotes with %d clients and %d selector threads in %d s: %.0f quotes/sec%n",
+                    total, clients, selectors, seconds, total / (double) seconds);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package bench;
+
+import control.Calculator;
+import control.RateTable;
+import data.Packet;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the pricing hot path of {@link Calculator}.
+ *
+ * <p>{@code calcShippingCosts} reads {@code config.properties} from the working directory, so the generated
+ * tariff is written there before each trial. {@code calcShippingCostsCompiledExtraLimits} prices against the
+ * same tariff with girth and volumetric limits on every entry.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculatorBenchmark {
+
+    @Param({"5", "1000", "100000"})
+    public int tariffSize;
+
+    @Param({"SMALL", "LARGE", "REJECTED"})
+    public TariffFixtures.Distribution distribution;
+
+    private Properties properties;
+    private RateTable rateTable;
+    private RateTable limitedRateTable;
+    private Packet[] packets;
+    private int[][] sortedDimensions;
+
+    /**
+     * Per-thread position in the package sample.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next() {
+            return next++ & (TariffFixtures.SAMPLE_SIZE - 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        File configFile = TariffFixtures.writeTariff(tariffSize, new File("config.properties"));
+        properties = TariffFixtures.toProperties(TariffFixtures.tariff(tariffSize));
+        rateTable = RateTable.load(configFile);
+        limitedRateTable = RateTable.fromEntries(TariffFixtures.withExtraLimits(TariffFixtures.tariff(tariffSize)));
+        packets = TariffFixtures.packets(distribution);
+        sortedDimensions = new int[packets.length][];
+        for (int i = 0; i < packets.length; i++) {
+            int[] dimensions = {packets[i].length(), packets[i].width(), packets[i].height()};
+            Arrays.sort(dimensions);
+            sortedDimensions[i] = dimensions;
+        }
+    }
+
+    @Benchmark
+    public double calcShippingCosts(Cursor cursor) {
+        try {
+            return Calculator.calcShippingCosts(packets[cursor.next()]);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public double calculateCostFromConfig(Cursor cursor) {
+        int i = cursor.next();
+        try {
+            return Calculator.calculateCostFromConfig(properties, sortedDimensions[i], packets[i].weight());
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public double calcShippingCostsCompiled(Cursor cursor) {
+        try {
+            return Calculator.calcShippingCosts(packets[cursor.next()], rateTable);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public double calcShippingCostsCompiledExtraLimits(Cursor cursor) {
+        try {
+            return Calculator.calcShippingCosts(packets[cursor.next()], limitedRateTable);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
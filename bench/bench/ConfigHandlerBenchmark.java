@@ -0,0 +1,64 @@
+package bench;
+
+import control.ConfigEntry;
+import control.ConfigHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading and normalizing configurations with {@link ConfigHandler}.
+ *
+ * <p>The handler is not thread-safe, so every benchmark thread works on its own instance.
+ * Note that {@link ConfigHandler#loadFile(File)} also rewrites {@code config.properties} in the working
+ * directory.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigHandlerBenchmark {
+
+    @Param({"5", "1000", "100000"})
+    public int tariffSize;
+
+    private File tariffFile;
+    private ConfigHandler configHandler;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tariffFile = File.createTempFile("bench-tariff", ".properties");
+        tariffFile.deleteOnExit();
+        TariffFixtures.writeTariff(tariffSize, tariffFile);
+        configHandler = new ConfigHandler(tariffFile.getPath());
+    }
+
+    /**
+     * Shuffles the entries so every invocation of the sort benchmark starts unsorted.
+     */
+    @Setup(Level.Invocation)
+    public void shuffle() {
+        List<ConfigEntry> entries = configHandler.getConfigEntries();
+        Collections.shuffle(entries, random);
+    }
+
+    @Benchmark
+    public List<ConfigEntry> loadFile() {
+        configHandler.loadFile(tariffFile);
+        return configHandler.getConfigEntries();
+    }
+
+    @Benchmark
+    public List<ConfigEntry> validateAndSortConfig() {
+        configHandler.validateAndSortConfig();
+        return configHandler.getConfigEntries();
+    }
+}
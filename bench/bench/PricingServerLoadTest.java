@@ -0,0 +1,99 @@
+package bench;
+
+import control.RateTable;
+import server.PricingServer;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A local load test for {@link PricingServer}.
+ *
+ * <p>Starts the server on a loopback port, lets a number of concurrent clients send single quotes for a fixed
+ * duration and reports the throughput and latency percentiles. Run with
+ * {@code mvn -Pbenchmarks compile exec:exec -Dbench.mainClass=bench.PricingServerLoadTest}, or directly from the
+ * project directory with the optional arguments {@code [clients] [seconds]}:
+ * {@code java --add-modules jdk.incubator.vector -cp target/classes bench.PricingServerLoadTest 64 10}.</p>
+ */
+public final class PricingServerLoadTest {
+
+    private PricingServerLoadTest() {
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args Optional number of concurrent clients (default 64) and duration in seconds (default 10).
+     * @throws Exception If the server cannot be started or a client fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        RateTable rateTable = RateTable.load(TariffFixtures.defaultConfiguration());
+        try (PricingServer server = new PricingServer(new InetSocketAddress("127.0.0.1", 0), () -> rateTable);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            server.start();
+            HttpClient client = HttpClient.newBuilder().executor(executor).build();
+            URI uri = URI.create("http://127.0.0.1:" + server.getPort()
+                    + "/quote?length=300&width=300&height=150&weight=1000");
+
+            run(client, uri, executor, clients, 2); // Warm-up
+            long[] latencies = run(client, uri, executor, clients, seconds);
+
+            Arrays.sort(latencies);
+            System.out.printf("%d requests with %d clients in %d s: %.0f quotes/sec%n",
+                    latencies.length, clients, seconds, latencies.length / (double) seconds);
+            System.out.printf("p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    private static long[] run(HttpClient client, URI uri, ExecutorService executor, int clients, int seconds)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            futures.add(executor.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Unexpected status " + response.statusCode());
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> future : futures) {
+            long[] samples = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + samples.length);
+            System.arraycopy(samples, 0, all, offset, samples.length);
+        }
+        return all;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
@@ -0,0 +1,143 @@
+package bench;
+
+import control.ConfigEntry;
+import control.ConfigParser;
+import data.Packet;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Generates tariffs and package samples for the benchmarks.
+ *
+ * <p>Generated tariffs grow monotonically from the smallest entry of {@code default.properties}
+ * (150x300x300x1000) to its largest one (600x600x1200x31000), so small packages match early entries
+ * and large packages have to scan almost the whole tariff.</p>
+ */
+public final class TariffFixtures {
+
+    /** Number of packages per sample; a power of two so the cursor can wrap with a mask. */
+    public static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * Shape of the package sample.
+     */
+    public enum Distribution {
+        /** Packages fitting the first entry. */
+        SMALL,
+        /** Packages fitting only the last entries. */
+        LARGE,
+        /** Nine out of ten packages fit no entry at all. */
+        REJECTED
+    }
+
+    private TariffFixtures() {
+    }
+
+    /**
+     * Creates a tariff with the given number of entries.
+     *
+     * @param size The number of entries.
+     * @return The entries in ascending order.
+     */
+    public static List<ConfigEntry> tariff(int size) {
+        List<ConfigEntry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double f = size == 1 ? 1.0 : (double) i / (size - 1);
+            entries.add(new ConfigEntry(
+                    (int) Math.round(150 + 450 * f),
+                    (int) Math.round(300 + 300 * f),
+                    (int) Math.round(300 + 900 * f),
+                    (int) Math.round(1000 + 30000 * f),
+                    Math.round((3.89 + 11.10 * f) * 100) / 100.0));
+        }
+        return entries;
+    }
+
+    /**
+     * Adds carrier-style girth and volumetric limits to entries: a girth limit of 90% of the largest girth the
+     * side limits allow, and the common divisor of 5000.
+     *
+     * @param entries The entries.
+     * @return New entries with the same limits and prices plus the extra limits.
+     */
+    public static List<ConfigEntry> withExtraLimits(List<ConfigEntry> entries) {
+        List<ConfigEntry> limited = new ArrayList<>(entries.size());
+        for (ConfigEntry entry : entries) {
+            limited.add(new ConfigEntry(entry.getLength(), entry.getWidth(), entry.getHeight(), entry.getWeight(),
+                    entry.getPrice(), (entry.getHeight() + 2 * (entry.getLength() + entry.getWidth())) * 9 / 10, 5000));
+        }
+        return limited;
+    }
+
+    /**
+     * Converts entries into the {@code entry.N.dimensions} / {@code entry.N.price} format.
+     *
+     * @param entries The entries.
+     * @return The properties.
+     */
+    public static Properties toProperties(List<ConfigEntry> entries) {
+        Properties properties = new Properties();
+        for (int i = 0; i < entries.size(); i++) {
+            ConfigEntry entry = entries.get(i);
+            ConfigParser.putEntry(properties, i, entry.getLength(), entry.getWidth(), entry.getHeight(),
+                    entry.getWeight(), entry.getPrice(), entry.getGirth(), entry.getVolumetricDivisor());
+        }
+        return properties;
+    }
+
+    /**
+     * Writes a generated tariff to a file.
+     *
+     * @param size The number of entries.
+     * @param file The target file.
+     * @return The written file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static File writeTariff(int size, File file) throws IOException {
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            toProperties(tariff(size)).store(outputStream, "Benchmark tariff");
+        }
+        return file;
+    }
+
+    /**
+     * Returns the {@code default.properties} of the project. The benchmarks profile runs in the {@code target}
+     * directory and passes the project directory as system property {@code project.basedir}; without it the file
+     * is looked up in the working directory.
+     *
+     * @return The default configuration file.
+     */
+    public static File defaultConfiguration() {
+        return new File(System.getProperty("project.basedir", "."), "default.properties");
+    }
+
+    /**
+     * Creates a reproducible package sample of {@value #SAMPLE_SIZE} packages.
+     *
+     * @param distribution The shape of the sample.
+     * @return The packages.
+     */
+    public static Packet[] packets(Distribution distribution) {
+        Random random = new Random(42);
+        Packet[] packets = new Packet[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            packets[i] = switch (distribution) {
+                case SMALL -> new Packet(100 + random.nextInt(50), 200 + random.nextInt(100),
+                        200 + random.nextInt(100), 100 + random.nextInt(900));
+                case LARGE -> new Packet(1150 + random.nextInt(50), 550 + random.nextInt(50),
+                        250 + random.nextInt(50), 30000 + random.nextInt(1000));
+                case REJECTED -> i % 10 == 0
+                        ? new Packet(300, 300, 150, 1000)
+                        : new Packet(400, 400, 400, 32000 + random.nextInt(10000));
+            };
+        }
+        return packets;
+    }
+}
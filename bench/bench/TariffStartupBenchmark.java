@@ -0,0 +1,61 @@
+package bench;
+
+import control.MappedTariff;
+import control.RateTable;
+import control.TariffFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the startup cost of a tariff: parsing and compiling the {@code .properties} text versus mapping
+ * the binary {@link TariffFile}, with and without checksum verification. Every variant answers one quote so
+ * the first page accesses are included.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TariffStartupBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int tariffSize;
+
+    private File propertiesFile;
+    private Path binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        propertiesFile = File.createTempFile("bench-tariff", ".properties");
+        propertiesFile.deleteOnExit();
+        TariffFixtures.writeTariff(tariffSize, propertiesFile);
+        binaryFile = Files.createTempFile("bench-tariff", ".bin");
+        binaryFile.toFile().deleteOnExit();
+        TariffFile.export(TariffFixtures.tariff(tariffSize), binaryFile);
+    }
+
+    @Benchmark
+    public long parseProperties() {
+        return RateTable.load(propertiesFile).getPriceCents(0);
+    }
+
+    @Benchmark
+    public long mapBinary() throws IOException {
+        try (MappedTariff tariff = MappedTariff.open(binaryFile, false)) {
+            return tariff.quote(100, 100, 100, 1000);
+        }
+    }
+
+    @Benchmark
+    public long mapBinaryVerified() throws IOException {
+        try (MappedTariff tariff = MappedTariff.open(binaryFile)) {
+            return tariff.quote(100, 100, 100, 1000);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package bench;
+
+import control.Calculator;
+import control.RateTable;
+import control.VectorTariffScanner;
+import data.Packet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link VectorTariffScanner} with its scalar fallback, the {@link RateTable} lookup without grid and
+ * the per-quote loop of {@link Calculator#calculateCostFromConfig(Properties, int[], int)} for mid-sized tariffs.
+ *
+ * <p>The forked JVM is started with {@code --add-modules jdk.incubator.vector}, otherwise {@code vectorScan}
+ * measures the scalar fallback as well.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class VectorScanBenchmark {
+
+    @Param({"16", "64", "256", "1024", "4096"})
+    public int tariffSize;
+
+    @Param({"SMALL", "LARGE", "REJECTED"})
+    public TariffFixtures.Distribution distribution;
+
+    private Properties properties;
+    private RateTable withoutGrid;
+    private VectorTariffScanner vectorScanner;
+    private VectorTariffScanner scalarScanner;
+    private Packet[] packets;
+    private int[][] sortedDimensions;
+
+    /**
+     * Per-thread position in the package sample.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next() {
+            return next++ & (TariffFixtures.SAMPLE_SIZE - 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        properties = TariffFixtures.toProperties(TariffFixtures.tariff(tariffSize));
+        withoutGrid = RateTable.fromEntries(TariffFixtures.tariff(tariffSize), 0);
+        vectorScanner = VectorTariffScanner.of(withoutGrid);
+        scalarScanner = VectorTariffScanner.scalar(withoutGrid);
+        if (!vectorScanner.isVectorized()) {
+            System.err.println("Vector API not available, vectorScan measures the scalar fallback.");
+        }
+        packets = TariffFixtures.packets(distribution);
+        sortedDimensions = new int[packets.length][];
+        for (int i = 0; i < packets.length; i++) {
+            int[] dimensions = {packets[i].length(), packets[i].width(), packets[i].height()};
+            Arrays.sort(dimensions);
+            sortedDimensions[i] = dimensions;
+        }
+    }
+
+    @Benchmark
+    public int vectorScan(Cursor cursor) {
+        int i = cursor.next();
+        int[] sides = sortedDimensions[i];
+        return vectorScanner.findEntry(sides[0], sides[1], sides[2], packets[i].weight());
+    }
+
+    @Benchmark
+    public int scalarScan(Cursor cursor) {
+        int i = cursor.next();
+        int[] sides = sortedDimensions[i];
+        return scalarScanner.findEntry(sides[0], sides[1], sides[2], packets[i].weight());
+    }
+
+    @Benchmark
+    public int compiledWithoutGrid(Cursor cursor) {
+        int i = cursor.next();
+        int[] sides = sortedDimensions[i];
+        return withoutGrid.findEntry(sides[0], sides[1], sides[2], packets[i].weight());
+    }
+
+    @Benchmark
+    public double calculateCostFromConfig(Cursor cursor) {
+        int i = cursor.next();
+        try {
+            return Calculator.calculateCostFromConfig(properties, sortedDimensions[i], packets[i].weight());
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
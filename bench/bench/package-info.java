@@ -0,0 +1,26 @@
+/**
+ * Contains the JMH benchmarks of the Package Cost Calculator application.
+ *
+ * <p>The benchmarks are only compiled with the {@code benchmarks} Maven profile and are started with
+ * {@code mvn -Pbenchmarks compile exec:exec}. Results are written as JSON into the {@code target} directory.
+ * Other entry points are started with {@code -Dbench.mainClass}, e.g.
+ * {@code mvn -Pbenchmarks compile exec:exec -Dbench.mainClass=bench.PricingServerLoadTest}.</p>
+ *
+ * <p>Key Classes:</p>
+ * <ul>
+ *   <li>{@link bench.CalculatorBenchmark} - Measures the pricing hot path.</li>
+ *   <li>{@link bench.VectorScanBenchmark} - Compares vector and scalar tariff scans with the index and the
+ *       configuration loop.</li>
+ *   <li>{@link bench.ConfigHandlerBenchmark} - Measures loading and sorting configurations.</li>
+ *   <li>{@link bench.TariffStartupBenchmark} - Compares parsing properties with mapping binary tariff files.</li>
+ *   <li>{@link bench.CliStartupBenchmark} - Measures JVM start to first quote of the command line interface and
+ *       checks it against a budget in the {@code verify} phase.</li>
+ *   <li>{@link bench.PricingServerLoadTest} - Measures throughput and latency of the HTTP pricing server under
+ *       concurrent clients.</li>
+ *   <li>{@link bench.BinaryProtocolBenchmark} - Measures loopback throughput of the binary pricing protocol.</li>
+ *   <li>{@link bench.BenchmarkMain} - Runs all benchmarks per thread count with the GC profiler.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+package bench;
@@ -0,0 +1,145 @@
+package cli;
+
+import control.CsvShipmentPricer;
+import control.PricingEngine;
+import control.QuoteStatus;
+import control.TariffOptimizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Command line entry point for quoting packages and pricing shipment files without the GUI.
+ *
+ * <pre>
+ * PricingCli quote    &lt;config.properties&gt; &lt;length&gt; &lt;width&gt; &lt;height&gt; &lt;weight&gt;
+ * PricingCli batch    &lt;config.properties&gt; &lt;input.csv&gt; &lt;output.csv&gt;
+ * PricingCli validate &lt;config.properties&gt;
+ * </pre>
+ *
+ * <p>{@code validate} also lists the entries the {@link TariffOptimizer} found unreachable or shadowed.</p>
+ *
+ * <p>Only the headless {@link PricingEngine} is loaded, so the JVM reaches its first quote without
+ * initializing AWT. The process exits with {@link #EXIT_OK}, {@link #EXIT_USAGE}, {@link #EXIT_INVALID_CONFIG}
+ * or {@link #EXIT_REJECTED}.</p>
+ *
+ * <p>Start the JVM with {@code --add-modules jdk.incubator.vector} so mid-sized tariffs are scanned with the
+ * Vector API, e.g. {@code java --add-modules jdk.incubator.vector -cp target/classes cli.PricingCli ...}.</p>
+ */
+public final class PricingCli {
+
+    /** The command succeeded. */
+    public static final int EXIT_OK = 0;
+    /** The arguments were invalid. */
+    public static final int EXIT_USAGE = 1;
+    /** The configuration could not be read or is invalid. */
+    public static final int EXIT_INVALID_CONFIG = 2;
+    /** The quoted package was rejected. */
+    public static final int EXIT_REJECTED = 3;
+
+    private static final String USAGE = """
+            Usage: PricingCli quote <config.properties> <length> <width> <height> <weight>
+                   PricingCli batch <config.properties> <input.csv> <output.csv>
+                   PricingCli validate <config.properties>""";
+
+    private PricingCli() {
+    }
+
+    /**
+     * Runs a command and exits with its status.
+     *
+     * @param args The command and its arguments.
+     */
+    public static void main(String[] args) {
+        int status = run(args, System.out, System.err);
+        if (status != EXIT_OK) {
+            // Runtime.exit looks up a logger first, which costs more than the whole quote
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param args The command and its arguments.
+     * @param out  Receives the results.
+     * @param err  Receives usage and error messages.
+     * @return The exit status.
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) {
+        if (args.length < 2) {
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        Path configFile = Path.of(args[1]);
+        try {
+            return switch (args[0]) {
+                case "quote" -> args.length == 6 ? quote(configFile, args, out, err) : usage(err);
+                case "batch" -> args.length == 4 ? batch(configFile, args, out) : usage(err);
+                case "validate" -> args.length == 2 ? validate(configFile, out, err) : usage(err);
+                default -> usage(err);
+            };
+        } catch (IOException | IllegalArgumentException e) {
+            err.println("Error: " + e.getMessage());
+            return EXIT_INVALID_CONFIG;
+        }
+    }
+
+    private static int quote(Path configFile, String[] args, PrintStream out, PrintStream err) throws IOException {
+        int[] values = new int[4];
+        for (int i = 0; i < 4; i++) {
+            try {
+                values[i] = Integer.parseInt(args[i + 2]);
+            } catch (NumberFormatException e) {
+                err.println("Not a whole number: " + args[i + 2]);
+                return EXIT_USAGE;
+            }
+        }
+        long result = PricingEngine.load(configFile).quote(values[0], values[1], values[2], values[3]);
+        if (result < 0) {
+            byte status = (byte) -result;
+            out.println(QuoteStatus.label(status) + ": " + QuoteStatus.describe(status));
+            return EXIT_REJECTED;
+        }
+        // Formatting by hand avoids loading the locale data behind printf, a third of the startup time
+        StringBuilder price = new StringBuilder().append(result / 100).append('.');
+        if (result % 100 < 10) {
+            price.append('0');
+        }
+        out.println(price.append(result % 100));
+        return EXIT_OK;
+    }
+
+    private static int batch(Path configFile, String[] args, PrintStream out) throws IOException {
+        CsvShipmentPricer.Result result = PricingEngine.load(configFile).priceCsv(Path.of(args[2]), Path.of(args[3]));
+        out.printf("Priced %d rows (%d rejected) in %.1f ms%n", result.rows(), result.rejected(), result.nanos() / 1e6);
+        return EXIT_OK;
+    }
+
+    private static int validate(Path configFile, PrintStream out, PrintStream err) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(configFile)) {
+            properties.load(inputStream);
+        }
+        List<String> problems = PricingEngine.validate(properties);
+        if (!problems.isEmpty()) {
+            problems.forEach(err::println);
+            return EXIT_INVALID_CONFIG;
+        }
+        for (TariffOptimizer.Finding finding : PricingEngine.fromProperties(properties).getFindings()) {
+            out.println(finding.kind() + ": " + finding.describe());
+        }
+        out.println("OK");
+        return EXIT_OK;
+    }
+
+    private static int usage(PrintStream err) {
+        err.println(USAGE);
+        return EXIT_USAGE;
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Provides the command line interface of the Package Cost Calculator application.
+ *
+ * <p>The {@code cli} package quotes single packages, prices shipment files and validates configurations
+ * through the headless {@link control.PricingEngine}. It never loads AWT or Swing, so it starts quickly and
+ * runs on machines without a display.</p>
+ *
+ * <p>Key Classes:</p>
+ * <ul>
+ *   <li>{@link cli.PricingCli} - The command line entry point for quote, batch and validate commands.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+package cli;
@@ -0,0 +1,179 @@
+package control;
+
+/**
+ * Prices large batches of packages stored as primitive columns against a compiled {@link RateTable}.
+ *
+ * <p>Packages are passed either as four parallel arrays (length, width, height, weight) or as a single
+ * packed array holding {@value #PACKED_STRIDE} consecutive values per package. Prices are written into
+ * caller-supplied arrays together with a {@link QuoteStatus} per package, so no objects are created
+ * per package and rejected packages do not throw. Validation matches the constructor of
+ * {@link data.Packet} and the girth check of {@link Calculator#calcShippingCosts(data.Packet)}.
+ * Rejected packages receive a price of {@code NaN} or {@code -1} cents.</p>
+ */
+public final class BatchCalculator {
+
+    /** Number of values per package in the packed layout: length, width, height, weight. */
+    public static final int PACKED_STRIDE = 4;
+
+    private BatchCalculator() {
+    }
+
+    /**
+     * Prices packages given as parallel columns.
+     *
+     * @param rateTable The compiled shipping rates.
+     * @param lengths   Package lengths in millimeters.
+     * @param widths    Package widths in millimeters.
+     * @param heights   Package heights in millimeters.
+     * @param weights   Package weights in grams.
+     * @param prices    Output: price per package in Euros.
+     * @param status    Output: {@link QuoteStatus} per package.
+     * @return The number of packages priced successfully.
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public static int calcShippingCosts(RateTable rateTable, int[] lengths, int[] widths, int[] heights, int[] weights,
+                                        double[] prices, byte[] status) {
+        checkColumns(lengths, widths, heights, weights, prices.length, status);
+        BatchJobEvent event = begin();
+        int accepted = priceColumns(rateTable, lengths, widths, heights, weights, 0, lengths.length, prices, null, status);
+        event.complete("columns", status.length, accepted);
+        return accepted;
+    }
+
+    /**
+     * Prices packages given as parallel columns, writing prices in Euro cents.
+     *
+     * @param rateTable  The compiled shipping rates.
+     * @param lengths    Package lengths in millimeters.
+     * @param widths     Package widths in millimeters.
+     * @param heights    Package heights in millimeters.
+     * @param weights    Package weights in grams.
+     * @param priceCents Output: price per package in Euro cents.
+     * @param status     Output: {@link QuoteStatus} per package.
+     * @return The number of packages priced successfully.
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public static int calcShippingCosts(RateTable rateTable, int[] lengths, int[] widths, int[] heights, int[] weights,
+                                        long[] priceCents, byte[] status) {
+        checkColumns(lengths, widths, heights, weights, priceCents.length, status);
+        BatchJobEvent event = begin();
+        int accepted = priceColumns(rateTable, lengths, widths, heights, weights, 0, lengths.length, null, priceCents, status);
+        event.complete("columns", status.length, accepted);
+        return accepted;
+    }
+
+    /**
+     * Prices packages given in the packed layout.
+     *
+     * @param rateTable The compiled shipping rates.
+     * @param packed    Packed package values, {@value #PACKED_STRIDE} per package.
+     * @param prices    Output: price per package in Euros.
+     * @param status    Output: {@link QuoteStatus} per package.
+     * @return The number of packages priced successfully.
+     * @throws IllegalArgumentException if the array sizes do not match.
+     */
+    public static int calcShippingCosts(RateTable rateTable, int[] packed, double[] prices, byte[] status) {
+        checkPacked(packed, prices.length, status);
+        BatchJobEvent event = begin();
+        int accepted = pricePacked(rateTable, packed, 0, status.length, prices, null, status);
+        event.complete("packed", status.length, accepted);
+        return accepted;
+    }
+
+    /**
+     * Prices packages given in the packed layout, writing prices in Euro cents.
+     *
+     * @param rateTable  The compiled shipping rates.
+     * @param packed     Packed package values, {@value #PACKED_STRIDE} per package.
+     * @param priceCents Output: price per package in Euro cents.
+     * @param status     Output: {@link QuoteStatus} per package.
+     * @return The number of packages priced successfully.
+     * @throws IllegalArgumentException if the array sizes do not match.
+     */
+    public static int calcShippingCosts(RateTable rateTable, int[] packed, long[] priceCents, byte[] status) {
+        checkPacked(packed, priceCents.length, status);
+        BatchJobEvent event = begin();
+        int accepted = pricePacked(rateTable, packed, 0, status.length, null, priceCents, status);
+        event.complete("packed", status.length, accepted);
+        return accepted;
+    }
+
+    /**
+     * Starts a Flight Recorder event for a batch.
+     *
+     * @return The started event.
+     */
+    static BatchJobEvent begin() {
+        BatchJobEvent event = new BatchJobEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Prices the packages {@code [from, to)} of parallel columns. Exactly one of the price arrays is non-null.
+     *
+     * @return The number of packages priced successfully.
+     */
+    static int priceColumns(RateTable rateTable, int[] lengths, int[] widths, int[] heights, int[] weights,
+                            int from, int to, double[] prices, long[] priceCents, byte[] status) {
+        int accepted = 0;
+        for (int i = from; i < to; i++) {
+            int result = Calculator.findEntry(rateTable, lengths[i], widths[i], heights[i], weights[i]);
+            accepted += store(rateTable, result, i, prices, priceCents, status);
+        }
+        return accepted;
+    }
+
+    /**
+     * Prices the packages {@code [from, to)} of a packed array. Exactly one of the price arrays is non-null.
+     *
+     * @return The number of packages priced successfully.
+     */
+    static int pricePacked(RateTable rateTable, int[] packed, int from, int to,
+                           double[] prices, long[] priceCents, byte[] status) {
+        int accepted = 0;
+        for (int i = from; i < to; i++) {
+            int base = i * PACKED_STRIDE;
+            int result = Calculator.findEntry(rateTable, packed[base], packed[base + 1], packed[base + 2], packed[base + 3]);
+            accepted += store(rateTable, result, i, prices, priceCents, status);
+        }
+        return accepted;
+    }
+
+    /**
+     * Writes the result of a single package into the output arrays.
+     *
+     * @return {@code 1} if the package was accepted, otherwise {@code 0}.
+     */
+    private static int store(RateTable rateTable, int result, int i, double[] prices, long[] priceCents, byte[] status) {
+        if (result < 0) {
+            status[i] = (byte) -result;
+            if (prices != null) {
+                prices[i] = Double.NaN;
+            } else {
+                priceCents[i] = -1;
+            }
+            return 0;
+        }
+        status[i] = QuoteStatus.OK;
+        if (prices != null) {
+            prices[i] = rateTable.getPrice(result);
+        } else {
+            priceCents[i] = rateTable.getPriceCents(result);
+        }
+        return 1;
+    }
+
+    static void checkColumns(int[] lengths, int[] widths, int[] heights, int[] weights, int outputs, byte[] status) {
+        int n = lengths.length;
+        if (widths.length != n || heights.length != n || weights.length != n || outputs != n || status.length != n) {
+            throw new IllegalArgumentException("All columns must have the same length.");
+        }
+    }
+
+    static void checkPacked(int[] packed, int outputs, byte[] status) {
+        if (packed.length != status.length * PACKED_STRIDE || outputs != status.length) {
+            throw new IllegalArgumentException("Packed input must hold " + PACKED_STRIDE + " values per output row.");
+        }
+    }
+}
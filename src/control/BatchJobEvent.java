@@ -0,0 +1,55 @@
+package control;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for pricing a batch of packages. Small batches below the threshold are not recorded.
+ */
+@Name("control.BatchJob")
+@Label("Batch Pricing Job")
+@Description("Pricing a batch of packages in one call")
+@Category({"Shipping Cost Calculator", "Pricing"})
+@Threshold("1 ms")
+@StackTrace(false)
+final class BatchJobEvent extends Event {
+
+    @Label("Source")
+    @Description("The pricing path: columns, packed, parallel or csv")
+    String source;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Rejected Rows")
+    long rejected;
+
+    @Label("Rows per Second")
+    double rowsPerSecond;
+
+    private transient long startNanos = System.nanoTime();
+
+    /**
+     * Ends the event and records it if it exceeds the threshold.
+     *
+     * @param source   The pricing path.
+     * @param rows     The number of priced rows.
+     * @param accepted The number of rows priced successfully.
+     */
+    void complete(String source, long rows, long accepted) {
+        end();
+        if (shouldCommit()) {
+            long nanos = System.nanoTime() - startNanos;
+            this.source = source;
+            this.rows = rows;
+            this.rejected = rows - accepted;
+            this.rowsPerSecond = nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+            commit();
+        }
+    }
+}
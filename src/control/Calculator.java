@@ -8,7 +8,7 @@ import java.util.Properties;
 
 /**
  * The Calculator class calculates the shipping costs based on the dimensions and weight of a package.
- * Shipping rates are loaded from a configuration file.
+ * Shipping rates are loaded from a configuration file, or evaluated against a compiled {@link RateTable}.
  *
  * @author Benni
  * @version 2.1
@@ -17,35 +17,177 @@ public class Calculator {
 
 	private static final String CONFIG_FILE = "config.properties"; // default config file
 
+	/** Girth limit in millimeters for tariffs whose entries do not limit the girth themselves. */
+	static final int DEFAULT_GIRTH_LIMIT = 3000;
+
 	/**
 	 * Calculates the shipping costs for a package based on its dimensions and weight.
+	 * Unless an entry of the configuration limits the girth itself, packages with a girth above
+	 * {@value #DEFAULT_GIRTH_LIMIT} mm are rejected.
 	 *
 	 * @param pack The package containing length, width, height, and weight.
 	 * @return The calculated shipping cost.
 	 * @throws IllegalArgumentException if the package dimensions or weight are invalid.
 	 */
 	public static double calcShippingCosts(Packet pack) {
-		int girth = calculateGirth(pack);
+		Properties properties = loadConfigFile();
 
-		if (girth > 3000) { // Adjusted to cm for realistic girth constraints
-			throw new IllegalArgumentException("The girth of the package must not exceed 300 cm.");
+		if (!hasGirthLimits(properties) && girth(pack.length(), pack.width(), pack.height()) > DEFAULT_GIRTH_LIMIT) {
+			throw new IllegalArgumentException(QuoteStatus.describe(QuoteStatus.GIRTH_EXCEEDED));
 		}
 
-		Properties properties = loadConfigFile();
-
 		int[] sortedDimensions = getSortedDimensions(pack);
 
 		return calculateCostFromConfig(properties, sortedDimensions, pack.weight());
 	}
 
 	/**
-	 * Calculates the girth of the package.
+	 * Calculates the shipping costs for a package against a compiled rate table.
+	 * Unlike {@link #calcShippingCosts(Packet)} this neither reads the configuration file nor allocates.
+	 * This is a thin exception-throwing wrapper around {@link #quote(RateTable, int, int, int, int)}.
 	 *
-	 * @param pack The package.
-	 * @return The calculated girth.
+	 * @param pack      The package containing length, width, height, and weight.
+	 * @param rateTable The compiled shipping rates.
+	 * @return The calculated shipping cost.
+	 * @throws IllegalArgumentException if the girth is too large or no suitable rate is found.
+	 */
+	public static double calcShippingCosts(Packet pack, RateTable rateTable) {
+		int result = findEntry(rateTable, pack.length(), pack.width(), pack.height(), pack.weight());
+		if (result < 0) {
+			throw new IllegalArgumentException(QuoteStatus.describe((byte) -result));
+		}
+		return rateTable.getPrice(result);
+	}
+
+	/**
+	 * Quotes a package without allocating or throwing, which makes it suitable for hot paths with a high
+	 * share of rejected packages. Validation matches the constructor of {@link Packet} and the girth check of
+	 * {@link #calcShippingCosts(Packet)}.
+	 *
+	 * @param rateTable The compiled shipping rates.
+	 * @param length    The length of the package in millimeters.
+	 * @param width     The width of the package in millimeters.
+	 * @param height    The height of the package in millimeters.
+	 * @param weight    The weight of the package in grams.
+	 * @return The price in Euro cents, or the negated {@link QuoteStatus} if the package is rejected.
+	 */
+	public static long quote(RateTable rateTable, int length, int width, int height, int weight) {
+		int result = findEntry(rateTable, length, width, height, weight);
+		return result < 0 ? result : rateTable.getPriceCents(result);
+	}
+
+	/**
+	 * Validates a package and looks up its entry in the rate table.
+	 *
+	 * @param rateTable The compiled shipping rates.
+	 * @param length    The length of the package in millimeters.
+	 * @param width     The width of the package in millimeters.
+	 * @param height    The height of the package in millimeters.
+	 * @param weight    The weight of the package in grams.
+	 * @return The index of the matching entry, or the negated {@link QuoteStatus} if the package is rejected.
+	 */
+	static int findEntry(RateTable rateTable, int length, int width, int height, int weight) {
+		PricingMetrics metrics = PricingMetrics.active();
+		if (metrics == null) {
+			return lookup(rateTable, length, width, height, weight);
+		}
+		if (!metrics.sampleNext()) {
+			int result = lookup(rateTable, length, width, height, weight);
+			metrics.recordQuote(result, -1L);
+			return result;
+		}
+		QuoteEvent event = new QuoteEvent();
+		event.begin();
+		long start = System.nanoTime();
+		int result = lookup(rateTable, length, width, height, weight);
+		long nanos = System.nanoTime() - start;
+		event.complete(length, width, height, weight, result);
+		metrics.recordQuote(result, nanos);
+		return result;
+	}
+
+	/**
+	 * Performs the validation and lookup of {@link #findEntry(RateTable, int, int, int, int)} without recording
+	 * metrics.
+	 */
+	private static int lookup(RateTable rateTable, int length, int width, int height, int weight) {
+		byte status = validate(length, width, height, weight, rateTable.hasGirthLimits());
+		if (status != QuoteStatus.OK) {
+			return -status;
+		}
+
+		// Sorting network for three values: shortest <= middle <= longest
+		int low = Math.min(length, width);
+		int high = Math.max(length, width);
+		int longest = Math.max(high, height);
+		int rest = Math.min(high, height);
+		int shortest = Math.min(low, rest);
+		int middle = Math.max(low, rest);
+
+		int index = rateTable.findEntry(shortest, middle, longest, weight);
+		return index < 0 ? -QuoteStatus.NO_MATCHING_ENTRY : index;
+	}
+
+	/**
+	 * Checks a package against the constraints of {@link Packet} and the default girth limit.
+	 *
+	 * @param length The length of the package in millimeters.
+	 * @param width  The width of the package in millimeters.
+	 * @param height The height of the package in millimeters.
+	 * @param weight The weight of the package in grams.
+	 * @return {@link QuoteStatus#OK}, or the reason the package is rejected.
 	 */
-	private static int calculateGirth(Packet pack) {
-		return pack.length() + 2 * pack.width() + 2 * pack.height();
+	static byte validate(int length, int width, int height, int weight) {
+		return validate(length, width, height, weight, false);
+	}
+
+	/**
+	 * Checks a package against the constraints of {@link Packet} and, unless the tariff limits the girth per
+	 * entry, the default girth limit of {@value #DEFAULT_GIRTH_LIMIT} mm.
+	 *
+	 * @param length       The length of the package in millimeters.
+	 * @param width        The width of the package in millimeters.
+	 * @param height       The height of the package in millimeters.
+	 * @param weight       The weight of the package in grams.
+	 * @param girthLimited Whether entries of the tariff limit the girth, see {@link RateTable#hasGirthLimits()}.
+	 * @return {@link QuoteStatus#OK}, or the reason the package is rejected.
+	 */
+	static byte validate(int length, int width, int height, int weight, boolean girthLimited) {
+		if (length <= 0 || width <= 0 || height <= 0 || weight <= 0) {
+			return QuoteStatus.INVALID_PACKET;
+		}
+		if (!girthLimited && girth(length, width, height) > DEFAULT_GIRTH_LIMIT) {
+			return QuoteStatus.GIRTH_EXCEEDED;
+		}
+		return QuoteStatus.OK;
+	}
+
+	/**
+	 * Calculates the girth of a package, its longest side plus twice the sum of the other two sides, like
+	 * {@link RateTable#girth(int, int, int)} but for sides in any order.
+	 *
+	 * @param length The length of the package in millimeters.
+	 * @param width  The width of the package in millimeters.
+	 * @param height The height of the package in millimeters.
+	 * @return The girth in millimeters.
+	 */
+	static long girth(int length, int width, int height) {
+		return 2L * ((long) length + width + height) - Math.max(length, Math.max(width, height));
+	}
+
+	/**
+	 * Indicates whether any entry of a configuration limits the girth.
+	 *
+	 * @param properties The configuration properties.
+	 * @return {@code true} if an entry has a positive {@code entry.N.girth}.
+	 */
+	private static boolean hasGirthLimits(Properties properties) {
+		for (int i = 0; properties.getProperty("entry." + i + ".dimensions") != null; i++) {
+			if (Integer.parseInt(properties.getProperty("entry." + i + ".girth", "0")) > 0) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -77,7 +219,8 @@ public class Calculator {
 	}
 
 	/**
-	 * Calculates the shipping cost based on the configuration file rules.
+	 * Calculates the shipping cost based on the configuration file rules. Entries may additionally limit the
+	 * girth and volumetric weight of the package, see {@link RateTable}.
 	 *
 	 * @param properties      The configuration properties.
 	 * @param sortedDimensions The package dimensions sorted in ascending order.
@@ -106,9 +249,15 @@ public class Calculator {
 			int widthLimit = Integer.parseInt(limits[1]);
 			int heightLimit = Integer.parseInt(limits[2]);
 			int weightLimit = Integer.parseInt(limits[3]);
+			int girthLimit = Integer.parseInt(properties.getProperty("entry." + i + ".girth", "0"));
+			int divisor = Integer.parseInt(properties.getProperty("entry." + i + ".volumetricDivisor", "0"));
 
 			if (sortedDimensions[0] <= lengthLimit && sortedDimensions[1] <= widthLimit &&
-					sortedDimensions[2] <= heightLimit && weight <= weightLimit) {
+					sortedDimensions[2] <= heightLimit && weight <= weightLimit &&
+					(girthLimit <= 0 || RateTable.girth(sortedDimensions[0], sortedDimensions[1],
+							sortedDimensions[2]) <= girthLimit) &&
+					(divisor <= 0 || RateTable.volume(sortedDimensions[0], sortedDimensions[1],
+							sortedDimensions[2]) <= (long) weightLimit * divisor)) {
 				return Double.parseDouble(priceStr);
 			}
 		}
@@ -0,0 +1,389 @@
+package control;
+
+import data.Packet;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prices packages against the tariffs of several carriers at once.
+ *
+ * <p>Every carrier keeps its own compiled {@link RateTable}. In addition the limit columns of all carriers
+ * are fused into one set of breakpoints per axis, and a shared grid stores for every cell which entry of
+ * which carrier is cheapest. Within a cell every carrier matches the same entry, because the fused
+ * breakpoints refine the breakpoints of each single tariff. Finding the cheapest carrier therefore takes
+ * four binary searches and one array read, no matter how many carriers are registered. If the fused grid
+ * exceeds its memory budget, or a tariff has girth or volumetric limits that a cell of the four axes cannot
+ * capture, the carriers are evaluated one after another instead.</p>
+ *
+ * <p>The cheapest carrier is the one with the lowest price in Euro cents; ties go to the carrier registered
+ * first. Carriers without per-entry girth limits reject packages above the default girth limit of
+ * {@link Calculator}, carriers with such limits apply only their own.</p>
+ */
+public final class CarrierRegistry {
+
+    private final String[] names;
+    private final RateTable[] tables;
+    private final int[] carrierStarts; // Offset of the first entry of each carrier in the fused entry order
+    private final long[] priceCents;   // Price per fused entry in Euro cents
+    private final int[][] breakpoints; // Fused breakpoints per axis, null if there is no grid
+    private final int[] cells;         // Fused index plus one of the cheapest entry per cell, zero if none
+    private final boolean girthLimited; // Whether any carrier limits the girth per entry
+
+    private CarrierRegistry(String[] names, RateTable[] tables, long gridMemoryBudget) {
+        this.names = names;
+        this.tables = tables;
+        this.carrierStarts = new int[tables.length + 1];
+        for (int c = 0; c < tables.length; c++) {
+            carrierStarts[c + 1] = carrierStarts[c] + tables[c].size();
+        }
+        this.priceCents = new long[carrierStarts[tables.length]];
+        for (int c = 0; c < tables.length; c++) {
+            for (int i = 0; i < tables[c].size(); i++) {
+                priceCents[carrierStarts[c] + i] = tables[c].getPriceCents(i);
+            }
+        }
+
+        boolean girthLimited = false;
+        for (RateTable table : tables) {
+            girthLimited |= table.hasGirthLimits();
+        }
+        this.girthLimited = girthLimited;
+
+        boolean extraLimits = false;
+        for (RateTable table : tables) {
+            extraLimits |= table.hasExtraLimits();
+        }
+        int[][] axes = new int[4][];
+        int cellCount = -1;
+        if (!extraLimits) {
+            for (int axis = 0; axis < 4; axis++) {
+                axes[axis] = fusedBreakpoints(tables, axis);
+            }
+            cellCount = TariffGrid.cellCount(axes, Integer.BYTES, gridMemoryBudget);
+        }
+        if (cellCount >= 0) {
+            this.breakpoints = axes;
+            this.cells = buildCells(axes, cellCount);
+        } else {
+            this.breakpoints = null;
+            this.cells = null;
+        }
+    }
+
+    /**
+     * Loads and compiles the tariff files of several carriers.
+     *
+     * @param tariffFiles The configuration file per carrier name, in order of preference.
+     * @return The registry.
+     * @throws RuntimeException if a file cannot be loaded or has an invalid format.
+     */
+    public static CarrierRegistry load(Map<String, File> tariffFiles) {
+        Map<String, RateTable> tables = new LinkedHashMap<>();
+        for (Map.Entry<String, File> entry : tariffFiles.entrySet()) {
+            tables.put(entry.getKey(), ConfigParser.compile(entry.getValue()));
+        }
+        return of(tables);
+    }
+
+    /**
+     * Creates a registry of already compiled tariffs.
+     *
+     * @param carriers The rate table per carrier name, in order of preference.
+     * @return The registry.
+     */
+    public static CarrierRegistry of(Map<String, RateTable> carriers) {
+        return of(carriers, TariffGrid.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Creates a registry of already compiled tariffs with a custom memory budget for the fused grid.
+     *
+     * @param carriers         The rate table per carrier name, in order of preference.
+     * @param gridMemoryBudget The maximum size of the fused grid in bytes; {@code 0} disables the grid.
+     * @return The registry.
+     * @throws IllegalArgumentException if no carrier is given.
+     */
+    public static CarrierRegistry of(Map<String, RateTable> carriers, long gridMemoryBudget) {
+        if (carriers.isEmpty()) {
+            throw new IllegalArgumentException("At least one carrier is required.");
+        }
+        return new CarrierRegistry(carriers.keySet().toArray(new String[0]),
+                carriers.values().toArray(new RateTable[0]), gridMemoryBudget);
+    }
+
+    /**
+     * A quote of a single carrier.
+     *
+     * @param carrier The name of the carrier.
+     * @param price   The price in Euros.
+     */
+    public record CarrierQuote(String carrier, double price) {
+    }
+
+    /**
+     * Finds the cheapest carrier for a package.
+     *
+     * @param pack The package containing length, width, height, and weight.
+     * @return The quote of the cheapest carrier.
+     * @throws IllegalArgumentException if the girth is too large or no carrier accepts the package.
+     */
+    public CarrierQuote cheapestQuote(Packet pack) {
+        int entry = findCheapestEntry(pack.length(), pack.width(), pack.height(), pack.weight());
+        if (entry < 0) {
+            throw new IllegalArgumentException(QuoteStatus.describe((byte) -entry));
+        }
+        int carrier = carrierOf(entry);
+        return new CarrierQuote(names[carrier], tables[carrier].getPrice(entry - carrierStarts[carrier]));
+    }
+
+    /**
+     * Finds the cheapest carrier for a package without allocating or throwing.
+     *
+     * @param length The length of the package in millimeters.
+     * @param width  The width of the package in millimeters.
+     * @param height The height of the package in millimeters.
+     * @param weight The weight of the package in grams.
+     * @return The carrier index, or the negated {@link QuoteStatus} if no carrier accepts the package.
+     */
+    public int findCheapest(int length, int width, int height, int weight) {
+        int entry = findCheapestEntry(length, width, height, weight);
+        return entry < 0 ? entry : carrierOf(entry);
+    }
+
+    /**
+     * Quotes a package with every carrier.
+     *
+     * @param length     The length of the package in millimeters.
+     * @param width      The width of the package in millimeters.
+     * @param height     The height of the package in millimeters.
+     * @param weight     The weight of the package in grams.
+     * @param priceCents Output: price in Euro cents per carrier, {@code -1} if the carrier rejects the package.
+     * @return {@link QuoteStatus#OK} if at least one carrier accepts the package, otherwise the reason.
+     * @throws IllegalArgumentException if the output array does not hold one price per carrier.
+     */
+    public byte quoteAll(int length, int width, int height, int weight, long[] priceCents) {
+        if (priceCents.length != tables.length) {
+            throw new IllegalArgumentException("Output must hold one price per carrier.");
+        }
+        return quoteAll(length, width, height, weight, priceCents, 0);
+    }
+
+    /**
+     * Finds the cheapest carrier for each package given in the packed layout of {@link BatchCalculator}.
+     *
+     * @param packed     Packed package values, {@value BatchCalculator#PACKED_STRIDE} per package.
+     * @param carriers   Output: index of the cheapest carrier per package, {@code -1} if rejected.
+     * @param priceCents Output: price in Euro cents per package, {@code -1} if rejected.
+     * @param status     Output: {@link QuoteStatus} per package.
+     * @return The number of packages accepted by at least one carrier.
+     * @throws IllegalArgumentException if the array sizes do not match.
+     */
+    public int cheapest(int[] packed, int[] carriers, long[] priceCents, byte[] status) {
+        BatchCalculator.checkPacked(packed, priceCents.length, status);
+        if (carriers.length != status.length) {
+            throw new IllegalArgumentException("All output arrays must have the same length.");
+        }
+        int accepted = 0;
+        for (int i = 0; i < status.length; i++) {
+            int base = i * BatchCalculator.PACKED_STRIDE;
+            int entry = findCheapestEntry(packed[base], packed[base + 1], packed[base + 2], packed[base + 3]);
+            if (entry < 0) {
+                carriers[i] = -1;
+                priceCents[i] = -1;
+                status[i] = (byte) -entry;
+            } else {
+                carriers[i] = carrierOf(entry);
+                priceCents[i] = this.priceCents[entry];
+                status[i] = QuoteStatus.OK;
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Quotes every package given in the packed layout with every carrier.
+     *
+     * @param packed     Packed package values, {@value BatchCalculator#PACKED_STRIDE} per package.
+     * @param priceCents Output: one price in Euro cents per package and carrier, package-major;
+     *                   {@code -1} if the carrier rejects the package.
+     * @param status     Output: {@link QuoteStatus} per package as returned by
+     *                   {@link #quoteAll(int, int, int, int, long[])}.
+     * @return The number of packages accepted by at least one carrier.
+     * @throws IllegalArgumentException if the array sizes do not match.
+     */
+    public int quoteAll(int[] packed, long[] priceCents, byte[] status) {
+        BatchCalculator.checkPacked(packed, status.length, status);
+        if (priceCents.length != status.length * tables.length) {
+            throw new IllegalArgumentException("Output must hold one price per package and carrier.");
+        }
+        int accepted = 0;
+        for (int i = 0; i < status.length; i++) {
+            int base = i * BatchCalculator.PACKED_STRIDE;
+            status[i] = quoteAll(packed[base], packed[base + 1], packed[base + 2], packed[base + 3],
+                    priceCents, i * tables.length);
+            if (status[i] == QuoteStatus.OK) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Returns the number of registered carriers.
+     *
+     * @return The carrier count.
+     */
+    public int size() {
+        return tables.length;
+    }
+
+    /**
+     * Returns the name of a carrier.
+     *
+     * @param carrier The carrier index.
+     * @return The carrier name.
+     */
+    public String getCarrierName(int carrier) {
+        return names[carrier];
+    }
+
+    /**
+     * Returns the rate table of a carrier.
+     *
+     * @param carrier The carrier index.
+     * @return The compiled tariff of the carrier.
+     */
+    public RateTable getRateTable(int carrier) {
+        return tables[carrier];
+    }
+
+    /**
+     * Indicates whether the cheapest carrier is answered by the fused grid.
+     *
+     * @return {@code true} if the fused grid fits into the memory budget.
+     */
+    public boolean hasGrid() {
+        return cells != null;
+    }
+
+    /**
+     * Validates a package and finds the fused index of the cheapest matching entry.
+     *
+     * @return The fused entry index, or the negated {@link QuoteStatus} if no carrier accepts the package.
+     */
+    private int findCheapestEntry(int length, int width, int height, int weight) {
+        byte status = Calculator.validate(length, width, height, weight, girthLimited);
+        if (status != QuoteStatus.OK) {
+            return -status;
+        }
+        int shortest = Math.min(length, Math.min(width, height));
+        int longest = Math.max(length, Math.max(width, height));
+        int middle = length + width + height - shortest - longest;
+
+        int entry = cells != null
+                ? gridLookup(shortest, middle, longest, weight)
+                : scanCarriers(shortest, middle, longest, weight, overDefaultGirth(length, width, height));
+        return entry < 0 ? -QuoteStatus.NO_MATCHING_ENTRY : entry;
+    }
+
+    /**
+     * Reads the cheapest entry from the fused grid.
+     */
+    private int gridLookup(int shortest, int middle, int longest, int weight) {
+        int cell = TariffGrid.cellIndex(breakpoints, shortest, middle, longest, weight);
+        return cell < 0 ? -1 : cells[cell] - 1;
+    }
+
+    /**
+     * Looks up every carrier and keeps the cheapest match.
+     */
+    private int scanCarriers(int shortest, int middle, int longest, int weight, boolean overDefaultGirth) {
+        int best = -1;
+        for (int c = 0; c < tables.length; c++) {
+            int entry = overDefaultGirth && !tables[c].hasGirthLimits()
+                    ? -1
+                    : tables[c].findEntry(shortest, middle, longest, weight);
+            if (entry >= 0 && (best < 0 || priceCents[carrierStarts[c] + entry] < priceCents[best])) {
+                best = carrierStarts[c] + entry;
+            }
+        }
+        return best;
+    }
+
+    private byte quoteAll(int length, int width, int height, int weight, long[] priceCents, int offset) {
+        byte status = Calculator.validate(length, width, height, weight, girthLimited);
+        if (status != QuoteStatus.OK) {
+            Arrays.fill(priceCents, offset, offset + tables.length, -1);
+            return status;
+        }
+        int shortest = Math.min(length, Math.min(width, height));
+        int longest = Math.max(length, Math.max(width, height));
+        int middle = length + width + height - shortest - longest;
+
+        boolean overDefaultGirth = overDefaultGirth(length, width, height);
+        boolean any = false;
+        for (int c = 0; c < tables.length; c++) {
+            int entry = overDefaultGirth && !tables[c].hasGirthLimits()
+                    ? -1
+                    : tables[c].findEntry(shortest, middle, longest, weight);
+            priceCents[offset + c] = entry < 0 ? -1 : this.priceCents[carrierStarts[c] + entry];
+            any |= entry >= 0;
+        }
+        return any ? QuoteStatus.OK : QuoteStatus.NO_MATCHING_ENTRY;
+    }
+
+    /**
+     * Indicates whether a package that passed validation still exceeds the default girth limit, which then
+     * only carriers with per-entry girth limits may accept.
+     */
+    private boolean overDefaultGirth(int length, int width, int height) {
+        return girthLimited && Calculator.girth(length, width, height) > Calculator.DEFAULT_GIRTH_LIMIT;
+    }
+
+    /**
+     * Returns the carrier owning the given fused entry.
+     */
+    private int carrierOf(int entry) {
+        int index = Arrays.binarySearch(carrierStarts, entry);
+        if (index < 0) {
+            return -index - 2;
+        }
+        while (carrierStarts[index + 1] == entry) {
+            index++; // Skip carriers without entries
+        }
+        return index;
+    }
+
+    /**
+     * Computes the cheapest entry at the upper corner of every cell of the fused grid.
+     */
+    private int[] buildCells(int[][] axes, int cellCount) {
+        int[] result = new int[cellCount];
+        int cell = 0;
+        for (int a : axes[0]) {
+            for (int b : axes[1]) {
+                for (int c : axes[2]) {
+                    for (int d : axes[3]) {
+                        result[cell++] = scanCarriers(a, b, c, d, false) + 1;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct limits of all carriers on one axis in ascending order.
+     */
+    private static int[] fusedBreakpoints(RateTable[] tables, int axis) {
+        int[][] columns = new int[tables.length][];
+        for (int c = 0; c < tables.length; c++) {
+            columns[c] = tables[c].limits(axis);
+        }
+        return TariffGrid.breakpoints(columns);
+    }
+}
@@ -0,0 +1,559 @@
+package control;
+
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.IntPredicate;
+
+/**
+ * A table model for large configurations that stores the entries in primitive columns instead of
+ * {@link ConfigEntry} objects.
+ *
+ * <p>Cells are only boxed when the table asks for them, which it does for visible cells only, and prices are
+ * formatted by the renderer installed with {@link #installRenderers(JTable)} while painting. Bulk operations
+ * fire a single event however many rows they touch. Sorting and filtering reorder an index of model rows and
+ * never move or copy the columns; row indexes passed to and returned from this model are always view rows.</p>
+ *
+ * <p>A read-only model created with {@link #of(RateTable)} shares the columns of the rate table and copies
+ * them only if it is modified. Like every Swing model, this model must only be used on the event dispatch
+ * thread.</p>
+ */
+public class ColumnarConfigTableModel extends AbstractTableModel {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final boolean editable;
+    private int[] lengths;
+    private int[] widths;
+    private int[] heights;
+    private int[] weights;
+    private double[] prices;
+    private int[] girths;       // Null while shared with a rate table without girth or volumetric limits
+    private int[] divisors;     // Null while shared with a rate table without girth or volumetric limits
+    private int size;
+    private boolean shared;     // Whether the columns belong to a rate table and must be copied before writing
+    private int[] view;         // Model rows in display order, null while neither sorted nor filtered
+    private int viewSize;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    private IntPredicate filter;
+
+    /**
+     * Constructs an editable model holding a copy of the given entries.
+     *
+     * @param entries The configuration entries; later changes to them do not affect the model.
+     */
+    public ColumnarConfigTableModel(List<ConfigEntry> entries) {
+        this.editable = true;
+        allocate(Math.max(MIN_CAPACITY, entries.size()));
+        append(entries);
+    }
+
+    private ColumnarConfigTableModel(RateTable rateTable) {
+        this.editable = false;
+        this.lengths = rateTable.limits(0);
+        this.widths = rateTable.limits(1);
+        this.heights = rateTable.limits(2);
+        this.weights = rateTable.limits(3);
+        this.prices = rateTable.prices();
+        this.girths = rateTable.girths();
+        this.divisors = rateTable.divisors();
+        this.size = rateTable.size();
+        this.shared = true;
+    }
+
+    /**
+     * Creates a read-only model showing the entries of a compiled rate table without copying them.
+     *
+     * @param rateTable The rate table, for example that of the current {@link ConfigSnapshot}.
+     * @return The model.
+     */
+    public static ColumnarConfigTableModel of(RateTable rateTable) {
+        return new ColumnarConfigTableModel(rateTable);
+    }
+
+    /**
+     * Returns the number of visible rows.
+     *
+     * @return The row count after filtering
+     */
+    @Override
+    public int getRowCount() {
+        return view == null ? size : viewSize;
+    }
+
+    /**
+     * Returns the number of columns in the table.
+     *
+     * @return The column count
+     */
+    @Override
+    public int getColumnCount() {
+        return ConfigTableModel.COLUMN_NAMES.length;
+    }
+
+    /**
+     * Returns the name of the column at the specified index.
+     *
+     * @param column The column index
+     * @return The name of the column
+     */
+    @Override
+    public String getColumnName(int column) {
+        return ConfigTableModel.COLUMN_NAMES[column];
+    }
+
+    /**
+     * Returns the value at the specified row and column.
+     *
+     * @param rowIndex    The view row index
+     * @param columnIndex The column index
+     * @return The value at the specified cell, or {@code null} for an unknown column
+     */
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int row = modelRow(rowIndex);
+        return switch (columnIndex) {
+            case 0 -> lengths[row];
+            case 1 -> widths[row];
+            case 2 -> heights[row];
+            case 3 -> weights[row];
+            case 4 -> prices[row];
+            case 5 -> girth(row);
+            case 6 -> divisor(row);
+            default -> null;
+        };
+    }
+
+    /**
+     * Updates the value at the specified cell. The row keeps its position even if it no longer matches the
+     * sort order or filter, until the view is sorted or filtered again.
+     *
+     * @param aValue      The new value, a {@link Number}
+     * @param rowIndex    The view row index
+     * @param columnIndex The column index
+     * @throws IllegalArgumentException If the column index is invalid
+     */
+    @Override
+    public void setValueAt(Object aValue, int rowIndex, int columnIndex) {
+        if (columnIndex < 0 || columnIndex > 6) {
+            throw new IllegalArgumentException("Invalid column index: " + columnIndex);
+        }
+        int row = modelRow(rowIndex);
+        Number value = (Number) aValue;
+        ensureWritable();
+        switch (columnIndex) {
+            case 0 -> lengths[row] = value.intValue();
+            case 1 -> widths[row] = value.intValue();
+            case 2 -> heights[row] = value.intValue();
+            case 3 -> weights[row] = value.intValue();
+            case 4 -> prices[row] = value.doubleValue();
+            case 5 -> girths[row] = value.intValue();
+            default -> divisors[row] = value.intValue();
+        }
+        fireTableCellUpdated(rowIndex, columnIndex);
+    }
+
+    /**
+     * Indicates whether the specified cell is editable.
+     *
+     * @param rowIndex    The row index
+     * @param columnIndex The column index
+     * @return {@code true} unless the model was created read-only
+     */
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return editable;
+    }
+
+    /**
+     * Returns the class type of the values in the specified column.
+     *
+     * @param columnIndex The column index
+     * @return The class type of the column values
+     */
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return switch (columnIndex) {
+            case 0, 1, 2, 3, 5, 6 -> Integer.class;
+            case 4 -> Double.class;
+            default -> Object.class;
+        };
+    }
+
+    /**
+     * Returns a copy of the entry shown in a row.
+     *
+     * @param rowIndex The view row index
+     * @return A new {@link ConfigEntry}
+     */
+    public ConfigEntry getEntry(int rowIndex) {
+        return entryAt(modelRow(rowIndex));
+    }
+
+    /**
+     * Returns copies of all entries, including filtered ones, in model order regardless of the view.
+     *
+     * @return A new list of new {@link ConfigEntry} objects
+     */
+    public List<ConfigEntry> toEntries() {
+        List<ConfigEntry> entries = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            entries.add(entryAt(row));
+        }
+        return entries;
+    }
+
+    /**
+     * Converts all entries, including filtered ones, to configuration properties in model order.
+     *
+     * @return Properties in the {@code entry.N.dimensions} / {@code entry.N.price} format
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        for (int row = 0; row < size; row++) {
+            ConfigParser.putEntry(properties, row, lengths[row], widths[row], heights[row], weights[row], prices[row],
+                    girth(row), divisor(row));
+        }
+        return properties;
+    }
+
+    /**
+     * Adds a configuration entry and notifies listeners.
+     *
+     * @param entry The {@link ConfigEntry} to add
+     */
+    public void addEntry(ConfigEntry entry) {
+        addEntries(List.of(entry));
+    }
+
+    /**
+     * Appends entries and notifies listeners with a single event.
+     *
+     * @param entries The entries to add
+     */
+    public void addEntries(List<ConfigEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        int first = size;
+        ensureWritable();
+        append(entries);
+        if (view == null) {
+            fireTableRowsInserted(first, size - 1);
+        } else {
+            refreshView();
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Replaces all entries, keeping the current sort order and filter, and notifies listeners with a single
+     * event.
+     *
+     * @param entries The new entries
+     */
+    public void setEntries(List<ConfigEntry> entries) {
+        allocate(Math.max(MIN_CAPACITY, entries.size()));
+        shared = false;
+        size = 0;
+        append(entries);
+        refreshView();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Removes a configuration entry and notifies listeners.
+     *
+     * @param rowIndex The view row index of the entry to remove
+     */
+    public void removeEntry(int rowIndex) {
+        removeRows(rowIndex);
+    }
+
+    /**
+     * Removes several rows in one pass over the columns and notifies listeners with a single event.
+     *
+     * @param rowIndexes The view row indexes to remove, in any order
+     */
+    public void removeRows(int... rowIndexes) {
+        if (rowIndexes.length == 0) {
+            return;
+        }
+        boolean[] removed = new boolean[size];
+        int min = Integer.MAX_VALUE;
+        int max = -1;
+        for (int rowIndex : rowIndexes) {
+            int row = modelRow(rowIndex);
+            removed[row] = true;
+            min = Math.min(min, row);
+            max = Math.max(max, row);
+        }
+        ensureWritable();
+        int kept = min;
+        for (int row = min; row < size; row++) {
+            if (!removed[row]) {
+                lengths[kept] = lengths[row];
+                widths[kept] = widths[row];
+                heights[kept] = heights[row];
+                weights[kept] = weights[row];
+                prices[kept] = prices[row];
+                girths[kept] = girths[row];
+                divisors[kept] = divisors[row];
+                kept++;
+            }
+        }
+        boolean contiguous = size - kept == max - min + 1;
+        size = kept;
+        if (view == null && contiguous) {
+            fireTableRowsDeleted(min, max);
+        } else {
+            refreshView();
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Sorts the view by a column. The order is stable, so rows with equal values keep their model order.
+     *
+     * @param column    The column index, or {@code -1} to show the model order
+     * @param ascending Whether to sort in ascending order
+     */
+    public void sortBy(int column, boolean ascending) {
+        if (column < -1 || column > 6) {
+            throw new IllegalArgumentException("Invalid column index: " + column);
+        }
+        this.sortColumn = column;
+        this.ascending = ascending;
+        refreshView();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Returns the column the view is sorted by.
+     *
+     * @return The column index, or {@code -1} if the view shows the model order
+     */
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    /**
+     * Shows only the rows accepted by a filter.
+     *
+     * @param filter Tests model row indexes, which can be read with {@link #getModelValue(int, int)}, or
+     *               {@code null} to show all rows
+     */
+    public void setFilter(IntPredicate filter) {
+        this.filter = filter;
+        refreshView();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Returns a value by model row for filters, without boxing.
+     *
+     * @param modelRow The model row index, independent of sorting and filtering
+     * @param column   The column index 0 to 3 for limits, 4 for the price, 5 for the girth or 6 for the
+     *                 volumetric divisor
+     * @return The value of the cell
+     */
+    public double getModelValue(int modelRow, int column) {
+        if (modelRow < 0 || modelRow >= size) {
+            throw new IndexOutOfBoundsException("Row " + modelRow + " of " + size);
+        }
+        return switch (column) {
+            case 0 -> lengths[modelRow];
+            case 1 -> widths[modelRow];
+            case 2 -> heights[modelRow];
+            case 3 -> weights[modelRow];
+            case 4 -> prices[modelRow];
+            case 5 -> girth(modelRow);
+            case 6 -> divisor(modelRow);
+            default -> throw new IllegalArgumentException("Invalid column index: " + column);
+        };
+    }
+
+    /**
+     * Returns the model row shown in a view row.
+     *
+     * @param rowIndex The view row index
+     * @return The model row index
+     */
+    public int convertRowIndexToModel(int rowIndex) {
+        return modelRow(rowIndex);
+    }
+
+    /**
+     * Formats prices only when their cells are painted and lets clicks on the header sort the view.
+     *
+     * @param table A table showing this model
+     */
+    public void installRenderers(JTable table) {
+        table.setDefaultRenderer(Double.class, new PriceRenderer());
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(table.columnAtPoint(e.getPoint()));
+                if (column >= 0) {
+                    sortBy(column, column != sortColumn || !ascending);
+                }
+            }
+        });
+    }
+
+    private ConfigEntry entryAt(int row) {
+        return new ConfigEntry(lengths[row], widths[row], heights[row], weights[row], prices[row],
+                girth(row), divisor(row));
+    }
+
+    private int girth(int row) {
+        return girths != null ? girths[row] : 0;
+    }
+
+    private int divisor(int row) {
+        return divisors != null ? divisors[row] : 0;
+    }
+
+    private int modelRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= getRowCount()) {
+            throw new IndexOutOfBoundsException("Row " + rowIndex + " of " + getRowCount());
+        }
+        return view == null ? rowIndex : view[rowIndex];
+    }
+
+    private void allocate(int capacity) {
+        lengths = new int[capacity];
+        widths = new int[capacity];
+        heights = new int[capacity];
+        weights = new int[capacity];
+        prices = new double[capacity];
+        girths = new int[capacity];
+        divisors = new int[capacity];
+    }
+
+    private void append(List<ConfigEntry> entries) {
+        int required = size + entries.size();
+        if (required > lengths.length) {
+            int capacity = Math.max(required, lengths.length + (lengths.length >> 1));
+            resize(capacity);
+        }
+        for (ConfigEntry entry : entries) {
+            lengths[size] = entry.getLength();
+            widths[size] = entry.getWidth();
+            heights[size] = entry.getHeight();
+            weights[size] = entry.getWeight();
+            prices[size] = entry.getPrice();
+            girths[size] = entry.getGirth();
+            divisors[size] = entry.getVolumetricDivisor();
+            size++;
+        }
+    }
+
+    private void resize(int capacity) {
+        lengths = Arrays.copyOf(lengths, capacity);
+        widths = Arrays.copyOf(widths, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        girths = girths != null ? Arrays.copyOf(girths, capacity) : new int[capacity];
+        divisors = divisors != null ? Arrays.copyOf(divisors, capacity) : new int[capacity];
+    }
+
+    /**
+     * Copies columns shared with a rate table before the first modification.
+     */
+    private void ensureWritable() {
+        if (shared) {
+            resize(Math.max(MIN_CAPACITY, size));
+            shared = false;
+        }
+    }
+
+    /**
+     * Rebuilds the index of visible model rows after the data, sort order or filter changed.
+     */
+    private void refreshView() {
+        if (sortColumn < 0 && filter == null) {
+            view = null;
+            return;
+        }
+        int[] rows = view != null && view.length >= size ? view : new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (filter == null || filter.test(row)) {
+                rows[count++] = row;
+            }
+        }
+        if (sortColumn >= 0) {
+            sortRows(rows, count);
+        }
+        view = rows;
+        viewSize = count;
+    }
+
+    /**
+     * Sorts model row indexes by the sort column with a bottom-up merge sort, which is stable and compares the
+     * primitive columns directly instead of boxing them for a comparator.
+     */
+    private void sortRows(int[] rows, int count) {
+        int[] source = rows;
+        int[] target = new int[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int lo = 0; lo < count; lo += width << 1) {
+                int mid = Math.min(lo + width, count);
+                int hi = Math.min(lo + (width << 1), count);
+                int left = lo;
+                int right = mid;
+                for (int out = lo; out < hi; out++) {
+                    if (left < mid && (right >= hi || compareRows(source[left], source[right]) <= 0)) {
+                        target[out] = source[left++];
+                    } else {
+                        target[out] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != rows) {
+            System.arraycopy(source, 0, rows, 0, count);
+        }
+    }
+
+    private int compareRows(int a, int b) {
+        int result = switch (sortColumn) {
+            case 0 -> Integer.compare(lengths[a], lengths[b]);
+            case 1 -> Integer.compare(widths[a], widths[b]);
+            case 2 -> Integer.compare(heights[a], heights[b]);
+            case 3 -> Integer.compare(weights[a], weights[b]);
+            case 4 -> Double.compare(prices[a], prices[b]);
+            case 5 -> Integer.compare(girth(a), girth(b));
+            default -> Integer.compare(divisor(a), divisor(b));
+        };
+        return ascending ? result : -result;
+    }
+
+    /**
+     * Renders prices with two decimals. Only cells being painted are formatted.
+     */
+    private static final class PriceRenderer extends DefaultTableCellRenderer {
+
+        PriceRenderer() {
+            setHorizontalAlignment(SwingConstants.RIGHT);
+        }
+
+        @Override
+        protected void setValue(Object value) {
+            super.setValue(value instanceof Double price ? String.format("%.2f", price) : value);
+        }
+    }
+}
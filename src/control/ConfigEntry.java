@@ -11,6 +11,8 @@ public class ConfigEntry {
     private int height; // Height of the package in millimeters
     private int weight; // Weight of the package in grams
     private double price; // Price of the package in Euros
+    private int girth;    // Girth limit in millimeters, 0 if the entry has none
+    private int volumetricDivisor; // Volumetric divisor in cubic millimeters per gram, 0 if the entry has none
 
     /**
      * Constructs a new ConfigEntry with the specified dimensions, weight, and price.
@@ -22,11 +24,29 @@ public class ConfigEntry {
      * @param price  The price of the package in Euros
      */
     public ConfigEntry(int length, int width, int height, int weight, double price) {
+        this(length, width, height, weight, price, 0, 0);
+    }
+
+    /**
+     * Constructs a new ConfigEntry that also limits the girth and the volumetric weight of a package.
+     *
+     * @param length            The length of the package in millimeters
+     * @param width             The width of the package in millimeters
+     * @param height            The height of the package in millimeters
+     * @param weight            The weight of the package in grams
+     * @param price             The price of the package in Euros
+     * @param girth             The girth limit in millimeters, or 0 for none
+     * @param volumetricDivisor The volumetric divisor, or 0 for none
+     */
+    public ConfigEntry(int length, int width, int height, int weight, double price, int girth,
+                       int volumetricDivisor) {
         this.length = length;
         this.width = width;
         this.height = height;
         this.weight = weight;
         this.price = price;
+        this.girth = girth;
+        this.volumetricDivisor = volumetricDivisor;
     }
 
     /**
@@ -119,6 +139,43 @@ public class ConfigEntry {
         this.price = price;
     }
 
+    /**
+     * Gets the girth limit: the longest side plus twice the sum of the other two sides.
+     *
+     * @return The girth limit in millimeters, or 0 if the entry has none
+     */
+    public int getGirth() {
+        return girth;
+    }
+
+    /**
+     * Sets the girth limit.
+     *
+     * @param girth The girth limit in millimeters, or 0 for none
+     */
+    public void setGirth(int girth) {
+        this.girth = girth;
+    }
+
+    /**
+     * Gets the volumetric divisor. A package's volume in cubic millimeters divided by it, its volumetric weight
+     * in grams, must not exceed the weight limit. Carriers publish it in cm³/kg, which is the same number.
+     *
+     * @return The divisor, or 0 if the entry has none
+     */
+    public int getVolumetricDivisor() {
+        return volumetricDivisor;
+    }
+
+    /**
+     * Sets the volumetric divisor.
+     *
+     * @param volumetricDivisor The divisor, or 0 for none
+     */
+    public void setVolumetricDivisor(int volumetricDivisor) {
+        this.volumetricDivisor = volumetricDivisor;
+    }
+
     /**
      * Returns a string representation of the ConfigEntry object.
      *
@@ -126,7 +183,7 @@ public class ConfigEntry {
      */
     @Override
     public String toString() {
-        return String.format("ConfigEntry[length=%d, width=%d, height=%d, weight=%d, price=%.2f]",
-                length, width, height, weight, price);
+        return String.format("ConfigEntry[length=%d, width=%d, height=%d, weight=%d, price=%.2f, girth=%d, "
+                + "volumetricDivisor=%d]", length, width, height, weight, price, girth, volumetricDivisor);
     }
 }
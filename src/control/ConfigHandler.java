@@ -10,11 +10,16 @@ import java.util.List;
 /**
  * Handles configuration for package dimension and shipping cost entries.
  * Supports loading, saving, and editing configurations via a GUI.
+ *
+ * <p>The entries returned by {@link #getConfigEntries()} are the working copy of the editor and must only be
+ * used on the thread driving the GUI. Other threads read the last loaded or applied configuration through
+ * {@link #getSnapshot()}, which is immutable and replaced atomically.</p>
  */
 public class ConfigHandler {
 
     private static final String CONFIG_FILE = "config.properties"; // Default config file
     private final List<ConfigEntry> configEntries; // List of all config entries
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.of(List.of()); // Last published configuration
     private JFrame configFrame; // The JFrame representing the config window
 
     /**
@@ -47,8 +52,9 @@ public class ConfigHandler {
         JPanel mainPanel = new JPanel(new BorderLayout());
         mainPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
 
-        ConfigTableModel tableModel = new ConfigTableModel(configEntries);
+        ColumnarConfigTableModel tableModel = new ColumnarConfigTableModel(configEntries);
         JTable configTable = new JTable(tableModel);
+        tableModel.installRenderers(configTable);
         JScrollPane tableScrollPane = new JScrollPane(configTable);
 
         JPanel buttonPanel = createButtonPanel(tableModel, configTable);
@@ -67,7 +73,7 @@ public class ConfigHandler {
      * @param configTable The table displaying the configuration entries.
      * @return A JPanel containing the buttons.
      */
-    private JPanel createButtonPanel(ConfigTableModel tableModel, JTable configTable) {
+    private JPanel createButtonPanel(ColumnarConfigTableModel tableModel, JTable configTable) {
         JButton addButton = new JButton("Add Config");
         addButton.addActionListener(_ -> tableModel.addEntry(new ConfigEntry(0, 0, 0, 0, 0.0)));
 
@@ -102,25 +108,31 @@ public class ConfigHandler {
         }
     }
 
-    private void removeConfig(JTable configTable,ConfigTableModel tableModel) {
-        int selectedRow = configTable.getSelectedRow();
-        if (selectedRow != -1) {
-            tableModel.removeEntry(selectedRow);
+    private void removeConfig(JTable configTable, ColumnarConfigTableModel tableModel) {
+        int[] selectedRows = configTable.getSelectedRows();
+        if (selectedRows.length > 0) {
+            tableModel.removeRows(selectedRows);
         }
     }
 
     /**
-     * Applies the current configuration to the default file.
+     * Applies the current configuration to the default file and reports entries that never or only partly
+     * take effect.
      *
      * @param configTable The table displaying the configuration entries.
      */
     void applyConfig(JTable configTable) {
         try {
-            validateAndSortConfig();
+            commitTableEdits(configTable);
             Properties properties = extractPropertiesFromTable(configTable);
             savePropertiesToFile(properties, new File(CONFIG_FILE));
+            publishSnapshot();
             configFrame.setVisible(false);
-            JOptionPane.showMessageDialog(null, "Configuration applied successfully.");
+            StringBuilder message = new StringBuilder("Configuration applied successfully.");
+            for (TariffOptimizer.Finding finding : snapshot.getFindings()) {
+                message.append('\n').append(finding.describe());
+            }
+            JOptionPane.showMessageDialog(null, message.toString());
         } catch (Exception e) {
             JOptionPane.showMessageDialog(null, "Error applying configuration: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -134,7 +146,7 @@ public class ConfigHandler {
      */
     public void saveConfigToFile(JTable configTable, File file) {
         try {
-            validateAndSortConfig();
+            commitTableEdits(configTable);
             if (file == null) {
                 JFileChooser fileChooser = new JFileChooser();
                 int option = fileChooser.showSaveDialog(null);
@@ -165,6 +177,7 @@ public class ConfigHandler {
                 File file = fileChooser.getSelectedFile();
                 loadFile(file);
                 validateAndSortConfig();
+                publishSnapshot();
                 JOptionPane.showMessageDialog(null, "Configuration loaded successfully.");
             } catch (Exception e) {
                 JOptionPane.showMessageDialog(null, "Error loading configuration: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
@@ -176,18 +189,7 @@ public class ConfigHandler {
      * Validates and sorts the configuration entries for consistency and logical ordering.
      */
     public void validateAndSortConfig() {
-        for (ConfigEntry entry : configEntries) {
-            int[] dimensions = {entry.getLength(), entry.getWidth(), entry.getHeight()};
-            Arrays.sort(dimensions);
-            entry.setLength(dimensions[0]);
-            entry.setWidth(dimensions[1]);
-            entry.setHeight(dimensions[2]);
-        }
-
-        configEntries.sort(Comparator.comparingInt(ConfigEntry::getLength)
-                .thenComparingInt(ConfigEntry::getWidth)
-                .thenComparingInt(ConfigEntry::getHeight)
-                .thenComparingInt(ConfigEntry::getWeight));
+        ConfigParser.sortEntries(configEntries);
     }
 
     /**
@@ -196,28 +198,39 @@ public class ConfigHandler {
      * @param file The file to load from.
      */
     public void loadFile(File file) {
+        long start = System.nanoTime();
         try (InputStream inputStream = new FileInputStream(file)) {
             Properties properties = new Properties();
             properties.load(inputStream);
+            List<ConfigEntry> entries = ConfigParser.parseEntries(properties);
             configEntries.clear();
-            int i = 0;
-            while (properties.containsKey("entry." + i + ".dimensions")) {
-                String[] dimensions = properties.getProperty("entry." + i + ".dimensions").split("x");
-                double price = Double.parseDouble(properties.getProperty("entry." + i + ".price"));
-                configEntries.add(new ConfigEntry(
-                        Integer.parseInt(dimensions[0]),
-                        Integer.parseInt(dimensions[1]),
-                        Integer.parseInt(dimensions[2]),
-                        Integer.parseInt(dimensions[3]),
-                        price));
-                i++;
-            }
+            configEntries.addAll(entries);
+            publishSnapshot();
             savePropertiesToFile(properties, new File(CONFIG_FILE));
+            PricingMetrics.get().recordConfigLoad(System.nanoTime() - start);
         } catch (Exception e) {
             throw new RuntimeException("Error loading file: " + e.getMessage());
         }
     }
 
+    /**
+     * Copies the edits of a {@link ColumnarConfigTableModel} into the working copy, then validates and sorts it.
+     * The sorted entries are written back to the model, so the table shows the order that will be saved.
+     * A {@link ConfigTableModel} edits the working copy directly and needs no copy.
+     *
+     * @param configTable The table displaying the configuration entries.
+     */
+    private void commitTableEdits(JTable configTable) {
+        if (configTable.getModel() instanceof ColumnarConfigTableModel model) {
+            configEntries.clear();
+            configEntries.addAll(model.toEntries());
+            validateAndSortConfig();
+            model.setEntries(configEntries);
+        } else {
+            validateAndSortConfig();
+        }
+    }
+
     /**
      * Extracts configuration properties from the table.
      *
@@ -225,35 +238,66 @@ public class ConfigHandler {
      * @return A Properties object representing the configuration.
      */
     private Properties extractPropertiesFromTable(JTable configTable) {
+        if (configTable.getModel() instanceof ColumnarConfigTableModel columnarModel) {
+            return columnarModel.toProperties(); // Model order, independent of how the view is sorted
+        }
         Properties properties = new Properties();
         ConfigTableModel model = (ConfigTableModel) configTable.getModel();
         for (int i = 0; i < model.getRowCount(); i++) {
-            properties.setProperty("entry." + i + ".dimensions",
-                    model.getValueAt(i, 0) + "x" + model.getValueAt(i, 1) + "x" + model.getValueAt(i, 2) + "x" + model.getValueAt(i, 3));
-            properties.setProperty("entry." + i + ".price", String.valueOf(model.getValueAt(i, 4)));
+            ConfigParser.putEntry(properties, i, (Integer) model.getValueAt(i, 0), (Integer) model.getValueAt(i, 1),
+                    (Integer) model.getValueAt(i, 2), (Integer) model.getValueAt(i, 3), (Double) model.getValueAt(i, 4),
+                    (Integer) model.getValueAt(i, 5), (Integer) model.getValueAt(i, 6));
         }
         return properties;
     }
 
     /**
-     * Saves properties to a specified file.
+     * Saves properties to a specified file through {@link ConfigPersistence}, which replaces the file atomically
+     * and skips the write if the file already holds the same entries.
      *
      * @param properties The properties to save.
      * @param file       The file to save to.
      * @throws IOException If an error occurs during saving.
      */
     private void savePropertiesToFile(Properties properties, File file) throws IOException {
-        try (OutputStream outputStream = new FileOutputStream(file)) {
-            properties.store(outputStream, "Package Configurations");
-        }
+        ConfigSaveEvent event = new ConfigSaveEvent();
+        event.begin();
+        boolean written = ConfigPersistence.forFile(file.toPath()).save(properties);
+        event.complete(file, properties.size(), !written);
+    }
+
+    /**
+     * Compiles the present config entries into a binary tariff file that {@link MappedTariff} can price from.
+     *
+     * @param file The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void exportCompiledTariff(File file) throws IOException {
+        TariffFile.export(configEntries, file.toPath());
     }
 
     /**
      * Returns all present config entries.
      *
-     * @return List of all config entries.
+     * @return List of all config entries, the working copy of the editor.
      */
     public List<ConfigEntry> getConfigEntries() {
         return configEntries;
     }
+
+    /**
+     * Returns the last loaded or applied configuration. This never blocks and is safe to call from any thread.
+     *
+     * @return The current snapshot.
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes a copy of the working entries as a new snapshot version.
+     */
+    private void publishSnapshot() {
+        snapshot = ConfigSnapshot.of(configEntries);
+    }
 }
@@ -0,0 +1,251 @@
+package control;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Parses and normalizes configuration entries without any GUI dependencies.
+ * Shared by {@link ConfigHandler} and background components such as {@link ConfigReloader}.
+ *
+ * <p>{@link #optimize(RateTable.Columns)} is the one compile step of every path that prices a configuration:
+ * {@link PricingEngine} for the command line, {@link ConfigReloader} for the servers, {@link ConfigSnapshot} for
+ * the GUI and the file loaders of {@link CarrierRegistry} and {@link CsvShipmentPricer}. It normalizes the entry
+ * order and removes the entries the {@link TariffOptimizer} finds unreachable, so all of them price with the
+ * same, smallest table.</p>
+ */
+public final class ConfigParser {
+
+    private ConfigParser() {
+    }
+
+    /**
+     * Parses all configuration entries from the given properties.
+     *
+     * @param properties The properties in the {@code entry.N.dimensions} / {@code entry.N.price} format, with the
+     *                   optional keys {@code entry.N.girth} and {@code entry.N.volumetricDivisor}.
+     * @return A new mutable list of the parsed entries in file order.
+     * @throws RuntimeException if an entry cannot be parsed.
+     */
+    public static List<ConfigEntry> parseEntries(Properties properties) {
+        List<ConfigEntry> entries = new ArrayList<>();
+        int i = 0;
+        while (properties.containsKey("entry." + i + ".dimensions")) {
+            String[] dimensions = properties.getProperty("entry." + i + ".dimensions").split("x");
+            double price = Double.parseDouble(properties.getProperty("entry." + i + ".price"));
+            entries.add(new ConfigEntry(
+                    Integer.parseInt(dimensions[0]),
+                    Integer.parseInt(dimensions[1]),
+                    Integer.parseInt(dimensions[2]),
+                    Integer.parseInt(dimensions[3]),
+                    price,
+                    Integer.parseInt(properties.getProperty("entry." + i + ".girth", "0")),
+                    Integer.parseInt(properties.getProperty("entry." + i + ".volumetricDivisor", "0"))));
+            i++;
+        }
+        return entries;
+    }
+
+    /**
+     * Writes one entry in the configuration format. The girth and volumetric divisor are only written if set.
+     *
+     * @param properties The properties to write to.
+     * @param index      The entry number N.
+     * @param length     The length limit in millimeters.
+     * @param width      The width limit in millimeters.
+     * @param height     The height limit in millimeters.
+     * @param weight     The weight limit in grams.
+     * @param price      The price in Euros.
+     * @param girth      The girth limit in millimeters, or 0 for none.
+     * @param divisor    The volumetric divisor, or 0 for none.
+     */
+    public static void putEntry(Properties properties, int index, int length, int width, int height, int weight,
+                                double price, int girth, int divisor) {
+        String prefix = "entry." + index;
+        properties.setProperty(prefix + ".dimensions", length + "x" + width + "x" + height + "x" + weight);
+        properties.setProperty(prefix + ".price", String.valueOf(price));
+        if (girth > 0) {
+            properties.setProperty(prefix + ".girth", String.valueOf(girth));
+        }
+        if (divisor > 0) {
+            properties.setProperty(prefix + ".volumetricDivisor", String.valueOf(divisor));
+        }
+    }
+
+    /**
+     * Sorts the dimensions of every entry in ascending order and then sorts the entries themselves
+     * by length, width, height and weight.
+     *
+     * @param entries The entries to normalize in place.
+     */
+    public static void sortEntries(List<ConfigEntry> entries) {
+        for (ConfigEntry entry : entries) {
+            int[] dimensions = {entry.getLength(), entry.getWidth(), entry.getHeight()};
+            Arrays.sort(dimensions);
+            entry.setLength(dimensions[0]);
+            entry.setWidth(dimensions[1]);
+            entry.setHeight(dimensions[2]);
+        }
+
+        entries.sort(Comparator.comparingInt(ConfigEntry::getLength)
+                .thenComparingInt(ConfigEntry::getWidth)
+                .thenComparingInt(ConfigEntry::getHeight)
+                .thenComparingInt(ConfigEntry::getWeight));
+    }
+
+    /**
+     * A configuration normalized and pruned for pricing.
+     *
+     * @param columns  The entries in lookup order, without unreachable entries.
+     * @param findings The unreachable and shadowed entries, numbered like the entries of the configuration.
+     */
+    record Optimized(RateTable.Columns columns, List<TariffOptimizer.Finding> findings) {
+
+        /**
+         * Compiles the optimized columns.
+         *
+         * @return The rate table with the default grid memory budget.
+         */
+        RateTable compile() {
+            return RateTable.fromColumns(columns, RateTable.toCents(columns.prices()),
+                    TariffGrid.DEFAULT_MEMORY_BUDGET);
+        }
+    }
+
+    /**
+     * Normalizes parsed columns and removes the entries that can never match, which never changes a quote.
+     *
+     * @param columns The parsed columns; their side limits are sorted in place.
+     * @return The columns to compile and the findings of the {@link TariffOptimizer}.
+     */
+    static Optimized optimize(RateTable.Columns columns) {
+        int[] order = normalize(columns);
+        RateTable.Columns sorted = columns.select(order);
+        TariffOptimizer.Result analysis = TariffOptimizer.analyze(sorted);
+        return new Optimized(TariffOptimizer.prune(sorted, analysis),
+                TariffOptimizer.renumber(analysis.findings(), order));
+    }
+
+    /**
+     * Loads, optimizes and compiles a configuration file and records a {@link TariffCompileEvent}.
+     *
+     * @param file The configuration file.
+     * @return The compiled rate table.
+     * @throws RuntimeException if the file cannot be loaded or has an invalid format.
+     */
+    static RateTable compile(File file) {
+        TariffCompileEvent event = new TariffCompileEvent();
+        event.begin();
+        long start = System.nanoTime();
+        RateTable.Columns columns = RateTable.parseColumns(RateTable.loadProperties(file));
+        long parsed = System.nanoTime();
+        RateTable rateTable = optimize(columns).compile();
+        event.complete(file.getPath(), rateTable, parsed - start, System.nanoTime() - parsed);
+        return rateTable;
+    }
+
+    /**
+     * Copies configuration entries into primitive columns.
+     *
+     * @param entries The configuration entries.
+     * @return New columns in the order of the entries.
+     */
+    static RateTable.Columns toColumns(List<ConfigEntry> entries) {
+        int size = entries.size();
+        int[] lengths = new int[size];
+        int[] widths = new int[size];
+        int[] heights = new int[size];
+        int[] weights = new int[size];
+        double[] prices = new double[size];
+        int[] girths = new int[size];
+        int[] divisors = new int[size];
+        for (int i = 0; i < size; i++) {
+            ConfigEntry entry = entries.get(i);
+            lengths[i] = entry.getLength();
+            widths[i] = entry.getWidth();
+            heights[i] = entry.getHeight();
+            weights[i] = entry.getWeight();
+            prices[i] = entry.getPrice();
+            girths[i] = entry.getGirth();
+            divisors[i] = entry.getVolumetricDivisor();
+        }
+        return new RateTable.Columns(lengths, widths, heights, weights, prices, girths, divisors);
+    }
+
+    /**
+     * Normalizes parsed columns with the same rules as {@link #sortEntries(List)}, so every path compiling a
+     * configuration prices it with the same winning entries. The side limits of every entry are sorted in place;
+     * the entries themselves are only ordered, stably and without creating entry objects or comparators, which
+     * keeps compiling at startup cheap.
+     *
+     * @param columns The parsed columns; their side limits are sorted in place.
+     * @return Per lookup position, the index of the entry in the configuration. Apply it with
+     *         {@code columns.select(order)}.
+     */
+    static int[] normalize(RateTable.Columns columns) {
+        int[] a = columns.lengths();
+        int[] b = columns.widths();
+        int[] c = columns.heights();
+        int size = a.length;
+        for (int i = 0; i < size; i++) {
+            int shortest = Math.min(a[i], Math.min(b[i], c[i]));
+            int longest = Math.max(a[i], Math.max(b[i], c[i]));
+            b[i] = a[i] + b[i] + c[i] - shortest - longest;
+            a[i] = shortest;
+            c[i] = longest;
+        }
+
+        int[] order = new int[size];
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+            sorted &= i == 0 || compare(columns, i - 1, i) <= 0;
+        }
+        if (!sorted) {
+            mergeSort(columns, order, new int[size], 0, size);
+        }
+        return order;
+    }
+
+    /**
+     * Sorts a range of entry indexes by their limits. Ties keep the configuration order.
+     */
+    private static void mergeSort(RateTable.Columns columns, int[] order, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(columns, order, buffer, from, middle);
+        mergeSort(columns, order, buffer, middle, to);
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int k = from; k < to; k++) {
+            if (right >= to || left < middle && compare(columns, buffer[left], buffer[right]) <= 0) {
+                order[k] = buffer[left++];
+            } else {
+                order[k] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Compares two entries by length, width, height and weight limit.
+     */
+    private static int compare(RateTable.Columns columns, int x, int y) {
+        int result = Integer.compare(columns.lengths()[x], columns.lengths()[y]);
+        if (result == 0) {
+            result = Integer.compare(columns.widths()[x], columns.widths()[y]);
+        }
+        if (result == 0) {
+            result = Integer.compare(columns.heights()[x], columns.heights()[y]);
+        }
+        if (result == 0) {
+            result = Integer.compare(columns.weights()[x], columns.weights()[y]);
+        }
+        return result;
+    }
+}
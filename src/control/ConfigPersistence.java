@@ -0,0 +1,271 @@
+package control;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes configuration files atomically and only when their content changes.
+ *
+ * <p>A save first compares a hash of the properties (sorted, without the date comment that
+ * {@link Properties#store} adds) with the content last written to or found in the file, and skips the write
+ * if nothing changed. The file is hashed again whenever its modification time shows it was edited elsewhere.</p>
+ *
+ * <p>Otherwise the content is written to a temporary file in the same directory, forced to disk and moved over
+ * the target with {@link StandardCopyOption#ATOMIC_MOVE}, so readers such as {@link Calculator} or
+ * {@link ConfigReloader} see either the old or the new file but never a partial one. The temporary file gets
+ * the POSIX permissions of the target, or the default permissions of new files if there is no target yet.</p>
+ *
+ * <p>There is one instance per file. Saves from several threads are coalesced: while a write is in progress,
+ * further saves only replace the pending content, and the next write covers all of them. Every call still
+ * returns only after its content, or newer content, is on disk.</p>
+ */
+public final class ConfigPersistence {
+
+    private static final String COMMENT = "Package Configurations";
+    private static final ConcurrentMap<Path, ConfigPersistence> INSTANCES = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private byte[] lastHash;      // Hash of the content on disk, null if unknown; guarded by this
+    private FileTime lastModified; // Modification time of the file when lastHash was taken; guarded by this
+    private Properties pending;   // Newest content not yet written; guarded by this
+    private long requested;       // Number of the newest save; guarded by this
+    private long completed;       // Number of the newest save that is on disk; guarded by this
+    private boolean writing;      // Whether a thread is writing outside the lock; guarded by this
+
+    private ConfigPersistence(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the persistence of a file.
+     *
+     * @param file The configuration file.
+     * @return The instance shared by all callers saving to this file.
+     */
+    public static ConfigPersistence forFile(Path file) {
+        return INSTANCES.computeIfAbsent(file.toAbsolutePath().normalize(), ConfigPersistence::new);
+    }
+
+    /**
+     * Saves properties to the file unless it already holds the same content.
+     *
+     * @param properties The properties to save; they are copied before this method returns.
+     * @return {@code true} if the file was written by this or a coalesced call, {@code false} if it was unchanged.
+     * @throws IOException If the file cannot be written.
+     */
+    public boolean save(Properties properties) throws IOException {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        byte[] hash = hash(copy);
+
+        Properties toWrite;
+        long upTo;
+        synchronized (this) {
+            long ticket = ++requested;
+            pending = copy;
+            while (true) {
+                if (completed >= ticket) {
+                    return true; // Written together with a newer save
+                }
+                if (!writing) {
+                    break;
+                }
+                waitForWriter();
+            }
+            toWrite = pending;
+            upTo = requested;
+            pending = null;
+            if (lastHash == null || !modificationTime().equals(lastModified)) {
+                // Unknown or edited by someone else since the last save
+                lastModified = modificationTime();
+                lastHash = hashOfFile();
+            }
+            if (toWrite == copy && Arrays.equals(hash, lastHash)) {
+                completed = upTo;
+                skipped.increment();
+                return false;
+            }
+            writing = true;
+        }
+
+        boolean success = false;
+        try {
+            writeAtomically(toWrite);
+            success = true;
+        } finally {
+            synchronized (this) {
+                writing = false;
+                if (success) {
+                    completed = upTo;
+                    lastHash = toWrite == copy ? hash : hash(toWrite);
+                    lastModified = modificationTime();
+                } else {
+                    lastHash = null;
+                }
+                notifyAll();
+            }
+        }
+        writes.increment();
+        return true;
+    }
+
+    /**
+     * Returns the number of times the file was written.
+     *
+     * @return The write count.
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * Returns the number of saves skipped because the content was unchanged.
+     *
+     * @return The skip count.
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    private void waitForWriter() throws IOException {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a concurrent save of " + file);
+        }
+    }
+
+    /**
+     * Writes a temporary file, forces it to disk and moves it over the target.
+     */
+    private void writeAtomically(Properties properties) throws IOException {
+        Path directory = file.getParent();
+        Path temp = createTemporaryFile(directory);
+        try {
+            copyPermissions(file, temp);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                OutputStream outputStream = Channels.newOutputStream(channel);
+                properties.store(outputStream, COMMENT);
+                outputStream.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        forceDirectory(directory);
+    }
+
+    /**
+     * Creates an empty temporary file next to the target. Unlike {@link Files#createTempFile}, which restricts the
+     * file to its owner, the file gets the default permissions of new files.
+     */
+    private Path createTemporaryFile(Path directory) throws IOException {
+        while (true) {
+            Path temp = directory.resolve("." + file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try {
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                // Name taken, try another one
+            }
+        }
+    }
+
+    /**
+     * Gives the temporary file the POSIX permissions of the target, so a save does not change who may read the
+     * configuration. Nothing is copied if the target does not exist or the file system has no POSIX permissions.
+     */
+    private static void copyPermissions(Path target, Path temp) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+        if (view == null || !Files.exists(target)) {
+            return;
+        }
+        view.setPermissions(Files.getPosixFilePermissions(target));
+    }
+
+    /**
+     * Makes the rename durable. Not every platform allows opening a directory, which is not an error.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directory cannot be synced on this platform
+        }
+    }
+
+    /**
+     * Returns the modification time of the file, or the epoch if it does not exist.
+     */
+    private FileTime modificationTime() {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Returns the hash of the properties currently in the file, or an empty array if it cannot be read.
+     */
+    private byte[] hashOfFile() {
+        if (!Files.isRegularFile(file)) {
+            return new byte[0];
+        }
+        try {
+            return hash(RateTable.loadProperties(file.toFile()));
+        } catch (RuntimeException e) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Hashes the sorted keys and values, so neither the order nor the date comment of a file matter.
+     */
+    static byte[] hash(Properties properties) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available: " + e.getMessage());
+        }
+        TreeMap<String, String> sorted = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            sorted.put(key, properties.getProperty(key));
+        }
+        sorted.forEach((key, value) -> {
+            digest.update(key.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '=');
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        });
+        return digest.digest();
+    }
+}
@@ -0,0 +1,131 @@
+package control;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a configuration file and keeps a compiled {@link RateTable} in sync with it.
+ *
+ * <p>Changes are picked up by a background thread using a {@link WatchService}. The file is re-parsed,
+ * normalized with the same rules as {@link ConfigHandler#validateAndSortConfig()}, pruned of unreachable
+ * entries by {@link ConfigParser#optimize(RateTable.Columns)} and the resulting table is published through a single volatile reference. Readers therefore never lock and always see
+ * either the previous or the new table as a whole. An invalid file is reported and the previous table
+ * stays active.</p>
+ */
+public class ConfigReloader implements AutoCloseable {
+
+    private static final long SETTLE_MILLIS = 20; // Time to wait for further events of the same save
+
+    private final Path configFile;
+    private final WatchService watchService;
+    private final Thread watcherThread;
+    private volatile RateTable current;
+
+    /**
+     * Loads the configuration file and starts watching it for changes.
+     *
+     * @param configFile The configuration file to watch.
+     * @throws IOException      If the watch service cannot be registered.
+     * @throws RuntimeException If the initial configuration cannot be loaded.
+     */
+    public ConfigReloader(Path configFile) throws IOException {
+        this.configFile = configFile.toAbsolutePath();
+        this.current = ConfigParser.compile(this.configFile.toFile());
+
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.configFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.watcherThread = new Thread(this::watch, "config-reloader");
+        this.watcherThread.setDaemon(true);
+        this.watcherThread.start();
+    }
+
+    /**
+     * Returns the currently active rate table. This never blocks.
+     *
+     * @return The active rate table.
+     */
+    public RateTable current() {
+        return current;
+    }
+
+    /**
+     * Re-reads the configuration file and publishes the new table if it is valid.
+     *
+     * @return {@code true} if a new table was published; {@code false} if the file was invalid.
+     */
+    public boolean reload() {
+        long start = System.nanoTime();
+        try {
+            current = ConfigParser.compile(configFile.toFile());
+            PricingMetrics.get().recordReload(System.nanoTime() - start, true);
+            return true;
+        } catch (RuntimeException e) {
+            PricingMetrics.get().recordReload(System.nanoTime() - start, false);
+            System.err.println("Keeping previous configuration, reload failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching the configuration file.
+     *
+     * @throws IOException If the watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        watcherThread.interrupt();
+    }
+
+    /**
+     * Event loop of the watcher thread.
+     */
+    private void watch() {
+        Path fileName = configFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = containsFile(key, fileName);
+                key.reset();
+                if (!changed) {
+                    continue;
+                }
+                // Coalesce the burst of events a single save usually produces
+                WatchKey next;
+                while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    next.pollEvents();
+                    next.reset();
+                }
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Reloader was closed
+        }
+    }
+
+    /**
+     * Checks whether the events of the given key concern the watched file.
+     *
+     * @param key      The signalled watch key.
+     * @param fileName The file name of the watched file.
+     * @return {@code true} if the watched file was created or modified.
+     */
+    private static boolean containsFile(WatchKey key, Path fileName) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) {
+                found = true;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,52 @@
+package control;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.File;
+
+/**
+ * Flight Recorder event for writing a configuration file.
+ */
+@Name("control.ConfigSave")
+@Label("Config Save")
+@Description("Writing the shipping rate configuration to disk")
+@Category({"Shipping Cost Calculator", "Configuration"})
+final class ConfigSaveEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Property Count")
+    int properties;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Unchanged")
+    @Description("Whether the write was skipped because the file already held the same entries")
+    boolean unchanged;
+
+    /**
+     * Ends the event and records it if enabled. The size of the file is only read if the event is recorded.
+     *
+     * @param file       The written configuration file.
+     * @param properties The number of saved properties.
+     * @param unchanged  Whether the write was skipped.
+     */
+    void complete(File file, int properties, boolean unchanged) {
+        end();
+        if (shouldCommit()) {
+            this.file = file.getPath();
+            this.properties = properties;
+            this.bytes = file.length();
+            this.unchanged = unchanged;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An immutable, versioned view of a configuration.
+ *
+ * <p>Snapshots are published by {@link ConfigHandler} whenever a configuration is loaded or applied. They
+ * never change afterwards, so any thread can read them without locking while the editor keeps modifying its
+ * own working copy. Versions are unique and increase monotonically across all snapshots of the process;
+ * caches and indexes can compare them to detect that the configuration changed.</p>
+ *
+ * <p>A snapshot holds the configuration as it is priced: compiled with
+ * {@link ConfigParser#optimize(RateTable.Columns)} like the servers and the command line do, so its entries are
+ * in lookup order and exclude unreachable entries. The working copy of the editor keeps all of them.</p>
+ */
+public final class ConfigSnapshot {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final long version;
+    private final RateTable rateTable;
+    private final List<TariffOptimizer.Finding> findings;
+
+    private ConfigSnapshot(RateTable rateTable, List<TariffOptimizer.Finding> findings) {
+        this.version = VERSIONS.incrementAndGet();
+        this.rateTable = rateTable;
+        this.findings = findings;
+    }
+
+    /**
+     * Creates a snapshot of the given entries with a new version. The entries are copied, so later changes to
+     * them do not affect the snapshot.
+     *
+     * @param entries The configuration entries.
+     * @return The new snapshot.
+     */
+    public static ConfigSnapshot of(List<ConfigEntry> entries) {
+        ConfigParser.Optimized optimized = ConfigParser.optimize(ConfigParser.toColumns(entries));
+        return new ConfigSnapshot(optimized.compile(), optimized.findings());
+    }
+
+    /**
+     * Returns the version of this snapshot.
+     *
+     * @return A number greater than the version of every snapshot created before.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return rateTable.size();
+    }
+
+    /**
+     * Returns a copy of the entry at the given index.
+     *
+     * @param index The entry index.
+     * @return A new {@link ConfigEntry}; modifying it does not affect the snapshot.
+     */
+    public ConfigEntry getEntry(int index) {
+        return rateTable.getEntry(index);
+    }
+
+    /**
+     * Returns copies of all entries.
+     *
+     * @return An unmodifiable list of new {@link ConfigEntry} objects.
+     */
+    public List<ConfigEntry> getEntries() {
+        List<ConfigEntry> entries = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            entries.add(rateTable.getEntry(i));
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Returns the entries that were removed or only partly take effect.
+     *
+     * @return The unreachable and shadowed entries, numbered like the entries the snapshot was created from.
+     */
+    public List<TariffOptimizer.Finding> getFindings() {
+        return findings;
+    }
+
+    /**
+     * Returns the compiled rate table of this snapshot for pricing.
+     *
+     * @return The rate table, compiled once when the snapshot was created.
+     */
+    public RateTable getRateTable() {
+        return rateTable;
+    }
+}
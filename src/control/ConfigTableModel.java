@@ -10,7 +10,8 @@ import java.util.List;
 public class ConfigTableModel extends AbstractTableModel {
 
     private final List<ConfigEntry> entries;
-    private static final String[] COLUMN_NAMES = {"Length (mm)", "Width (mm)", "Height (mm)", "Weight (g)", "Price (€)"};
+    static final String[] COLUMN_NAMES = {"Length (mm)", "Width (mm)", "Height (mm)", "Weight (g)", "Price (€)",
+            "Girth (mm)", "Vol. Divisor"};
 
     /**
      * Constructs a new ConfigTableModel with a list of configuration entries.
@@ -68,6 +69,8 @@ public class ConfigTableModel extends AbstractTableModel {
             case 2 -> entry.getHeight();
             case 3 -> entry.getWeight();
             case 4 -> entry.getPrice();
+            case 5 -> entry.getGirth();
+            case 6 -> entry.getVolumetricDivisor();
             default -> null;
         };
     }
@@ -88,6 +91,8 @@ public class ConfigTableModel extends AbstractTableModel {
             case 2 -> entry.setHeight((Integer) aValue);
             case 3 -> entry.setWeight((Integer) aValue);
             case 4 -> entry.setPrice((Double) aValue);
+            case 5 -> entry.setGirth((Integer) aValue);
+            case 6 -> entry.setVolumetricDivisor((Integer) aValue);
             default -> throw new IllegalArgumentException("Invalid column index: " + columnIndex);
         }
         fireTableCellUpdated(rowIndex, columnIndex);
@@ -114,7 +119,7 @@ public class ConfigTableModel extends AbstractTableModel {
     @Override
     public Class<?> getColumnClass(int columnIndex) {
         return switch (columnIndex) {
-            case 0, 1, 2, 3 -> Integer.class;
+            case 0, 1, 2, 3, 5, 6 -> Integer.class;
             case 4 -> Double.class;
             default -> Object.class;
         };
@@ -0,0 +1,272 @@
+package control;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Prices a CSV file of shipments and writes the priced rows to another CSV file.
+ *
+ * <p>Every input line holds {@code length,width,height,weight} (a semicolon is accepted as separator as well).
+ * The input is memory-mapped in windows of {@value #MAP_WINDOW_SIZE} bytes and integers are parsed straight
+ * from the bytes, so neither a {@code String} nor an object is created per line. Output rows have the form
+ * {@code length,width,height,weight,price,status} and are collected in a direct buffer that is flushed to
+ * the output channel whenever it runs full. Memory use is therefore independent of the file size.</p>
+ *
+ * <p>Lines that cannot be parsed are reported with the status {@code MALFORMED}. A first line is treated as a
+ * header and skipped only if every field contains a letter, so a bad first row of a file without header is still
+ * reported.</p>
+ */
+public class CsvShipmentPricer {
+
+    /** Size of a single memory-mapped window of the input file. */
+    public static final int MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+    /** Size of the direct output buffer. */
+    public static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int FIELD_COUNT = 4;
+    private static final int MAX_ROW_BYTES = 128; // Upper bound for one formatted output row
+    private static final byte[] HEADER = "length,width,height,weight,price,status\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] STATUS_LABELS = {
+            bytes(QuoteStatus.label(QuoteStatus.OK)),
+            bytes(QuoteStatus.label(QuoteStatus.INVALID_PACKET)),
+            bytes(QuoteStatus.label(QuoteStatus.GIRTH_EXCEEDED)),
+            bytes(QuoteStatus.label(QuoteStatus.NO_MATCHING_ENTRY))
+    };
+    private static final byte[] MALFORMED_LABEL = bytes("MALFORMED");
+
+    private final RateTable rateTable;
+
+    // Parser state, kept in fields so that lines may span two mapped windows
+    private final int[] fields = new int[FIELD_COUNT];
+    private int fieldIndex;
+    private int value;
+    private boolean hasDigits;
+    private boolean hasLetters;
+    private int letterFields; // Fields of the current line containing a letter
+    private boolean lineMalformed;
+    private boolean lineEmpty;
+    private long lineNumber;
+
+    // Statistics of the current run
+    private long rows;
+    private long rejected;
+
+    /**
+     * Result of a pricing run.
+     *
+     * @param rows     The number of priced rows.
+     * @param rejected The number of rows that could not be priced.
+     * @param nanos    The duration of the run in nanoseconds.
+     */
+    public record Result(long rows, long rejected, long nanos) {
+
+        /**
+         * Returns the throughput of the run.
+         *
+         * @return The number of rows processed per second.
+         */
+        public double rowsPerSecond() {
+            return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+        }
+    }
+
+    /**
+     * Creates a pricer using the given compiled rates.
+     *
+     * @param rateTable The compiled shipping rates.
+     */
+    public CsvShipmentPricer(RateTable rateTable) {
+        this.rateTable = rateTable;
+    }
+
+    /**
+     * Prices all shipments of the input file and writes the priced rows to the output file.
+     * A pricer instance must not be used by several threads at once.
+     *
+     * @param input  The CSV file of shipments.
+     * @param output The CSV file to write; it is created or truncated.
+     * @return The statistics of the run.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public Result price(Path input, Path output) throws IOException {
+        BatchJobEvent event = BatchCalculator.begin();
+        long start = System.nanoTime();
+        resetLine();
+        lineNumber = 0;
+        rows = 0;
+        rejected = 0;
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+            buffer.put(HEADER);
+
+            long size = in.size();
+            for (long position = 0; position < size; position += MAP_WINDOW_SIZE) {
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_WINDOW_SIZE, size - position));
+                parseWindow(window, buffer, out);
+            }
+            if (!lineEmpty) {
+                endLine(buffer, out); // Last line without trailing newline
+            }
+            flush(buffer, out);
+        }
+        event.complete("csv", rows, rows - rejected);
+        return new Result(rows, rejected, System.nanoTime() - start);
+    }
+
+    /**
+     * Parses all bytes of a mapped window.
+     */
+    private void parseWindow(MappedByteBuffer window, ByteBuffer buffer, FileChannel out) throws IOException {
+        int limit = window.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = window.get(i);
+            if (b >= '0' && b <= '9') {
+                lineEmpty = false;
+                int digit = b - '0';
+                if (value > (Integer.MAX_VALUE - digit) / 10) {
+                    lineMalformed = true;
+                } else {
+                    value = value * 10 + digit;
+                }
+                hasDigits = true;
+            } else if (b == ',' || b == ';') {
+                lineEmpty = false;
+                endField();
+            } else if (b == '\n') {
+                if (!lineEmpty) {
+                    endLine(buffer, out);
+                }
+                resetLine();
+            } else if (b != '\r' && b != ' ' && b != '\t') {
+                lineEmpty = false;
+                lineMalformed = true;
+                hasLetters |= (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+            }
+        }
+    }
+
+    private void endField() {
+        if (!hasDigits || fieldIndex >= FIELD_COUNT) {
+            lineMalformed = true;
+        } else {
+            fields[fieldIndex] = value;
+        }
+        if (hasLetters) {
+            letterFields++;
+        }
+        fieldIndex++;
+        value = 0;
+        hasDigits = false;
+        hasLetters = false;
+    }
+
+    /**
+     * Completes the current line, prices it and appends the output row.
+     */
+    private void endLine(ByteBuffer buffer, FileChannel out) throws IOException {
+        endField();
+        lineNumber++;
+        if (fieldIndex != FIELD_COUNT) {
+            lineMalformed = true;
+        }
+        if (lineNumber == 1 && letterFields == fieldIndex) {
+            return; // Header line
+        }
+
+        if (buffer.remaining() < MAX_ROW_BYTES) {
+            flush(buffer, out);
+        }
+        rows++;
+        if (lineMalformed) {
+            rejected++;
+            buffer.put((byte) ',').put((byte) ',').put((byte) ',').put((byte) ',').put((byte) ',');
+            buffer.put(MALFORMED_LABEL).put((byte) '\n');
+            return;
+        }
+
+        int result = Calculator.findEntry(rateTable, fields[0], fields[1], fields[2], fields[3]);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            putLong(buffer, fields[f]);
+            buffer.put((byte) ',');
+        }
+        if (result < 0) {
+            rejected++;
+            buffer.put((byte) ',').put(STATUS_LABELS[-result]);
+        } else {
+            putPrice(buffer, rateTable.getPriceCents(result));
+            buffer.put((byte) ',').put(STATUS_LABELS[QuoteStatus.OK]);
+        }
+        buffer.put((byte) '\n');
+    }
+
+    private void resetLine() {
+        fieldIndex = 0;
+        value = 0;
+        hasDigits = false;
+        hasLetters = false;
+        letterFields = 0;
+        lineMalformed = false;
+        lineEmpty = true;
+    }
+
+    /**
+     * Writes a price in cents as a decimal number with two fraction digits.
+     */
+    private static void putPrice(ByteBuffer buffer, long cents) {
+        putLong(buffer, cents / 100);
+        long fraction = cents % 100;
+        buffer.put((byte) '.').put((byte) ('0' + fraction / 10)).put((byte) ('0' + fraction % 10));
+    }
+
+    /**
+     * Writes a non-negative number in decimal notation without creating a {@code String}.
+     */
+    private static void putLong(ByteBuffer buffer, long number) {
+        long divisor = 1;
+        while (divisor <= number / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + (number / divisor) % 10));
+        }
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Prices a CSV file from the command line and reports the throughput.
+     *
+     * @param args Input file, output file and optionally the configuration file.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CsvShipmentPricer <input.csv> <output.csv> [config.properties]");
+            System.exit(1);
+        }
+        RateTable rateTable = ConfigParser.compile(new File(args.length > 2 ? args[2] : "config.properties"));
+        Result result = new CsvShipmentPricer(rateTable).price(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("Priced %d rows (%d rejected) in %.1f ms, %.0f rows/sec%n",
+                result.rows(), result.rejected(), result.nanos() / 1e6, result.rowsPerSecond());
+    }
+}
@@ -0,0 +1,278 @@
+package control;
+
+import java.util.Arrays;
+
+/**
+ * A static k-d tree over the four limit columns of a {@link RateTable}.
+ *
+ * <p>The index answers "which is the first entry whose limits dominate this package", i.e. the entry with
+ * the smallest index whose length, width, height and weight limits are all greater than or equal to the
+ * package values. That is exactly the result of the linear first-match scan, but subtrees are skipped as
+ * soon as their bounding box cannot contain a dominating entry or all their entries come after the best
+ * match found so far.</p>
+ *
+ * <p>The tree is stored implicitly in flat arrays: the node of the range {@code [lo, hi)} lives at
+ * {@code (lo + hi) >>> 1} and its children cover {@code [lo, mid)} and {@code [mid + 1, hi)}. Queries neither
+ * allocate nor lock.</p>
+ *
+ * <p>Girth and volume limits of a {@link RateTable} are not split on, but every node also keeps their maximum
+ * within its subtree, so subtrees whose entries all reject the girth or volume of a package are skipped just
+ * like on the four axes.</p>
+ */
+final class DominanceIndex {
+
+    private static final int AXES = 4;
+
+    private final int[][] limits;    // [axis][node] limit of the entry stored at the node
+    private final int[][] maxLimits; // [axis][node] maximum limit within the subtree of the node
+    private final int[] entries;     // Entry index stored at the node
+    private final int[] minEntries;  // Smallest entry index within the subtree of the node
+    private final int[] girthLimits;   // Girth limit per entry, null if there are no extra limits
+    private final long[] volumeLimits; // Volume limit per entry, null if there are no extra limits
+    private final int[] maxGirths;     // Maximum girth limit within the subtree of the node, null likewise
+    private final long[] maxVolumes;   // Maximum volume limit within the subtree of the node, null likewise
+
+    /**
+     * Builds the index over the given limit columns, which must all have the same length.
+     *
+     * @param lengths Length limits per entry.
+     * @param widths  Width limits per entry.
+     * @param heights Height limits per entry.
+     * @param weights Weight limits per entry.
+     */
+    DominanceIndex(int[] lengths, int[] widths, int[] heights, int[] weights) {
+        this(lengths, widths, heights, weights, null, null);
+    }
+
+    /**
+     * Builds the index over the given limit columns and the compiled girth and volume limits of
+     * {@link RateTable#girthLimits(int[])} and {@link RateTable#volumeLimits(int[], int[])}.
+     *
+     * @param lengths      Length limits per entry.
+     * @param widths       Width limits per entry.
+     * @param heights      Height limits per entry.
+     * @param weights      Weight limits per entry.
+     * @param girthLimits  Girth limits per entry, or {@code null} if there are none.
+     * @param volumeLimits Volume limits per entry, or {@code null} if there are none.
+     */
+    DominanceIndex(int[] lengths, int[] widths, int[] heights, int[] weights, int[] girthLimits,
+                   long[] volumeLimits) {
+        int size = lengths.length;
+        this.girthLimits = girthLimits;
+        this.volumeLimits = volumeLimits;
+        int[][] columns = {lengths, widths, heights, weights};
+        limits = new int[AXES][size];
+        maxLimits = new int[AXES][size];
+        entries = new int[size];
+        minEntries = new int[size];
+        maxGirths = girthLimits != null ? new int[size] : null;
+        maxVolumes = girthLimits != null ? new long[size] : null;
+
+        for (int i = 0; i < size; i++) {
+            entries[i] = i;
+        }
+        build(columns, new long[size], 0, size, 0);
+    }
+
+    /**
+     * Returns the approximate heap size of the index arrays.
+     *
+     * @return The size in bytes.
+     */
+    long memoryBytes() {
+        return (2L * AXES + 2) * entries.length * Integer.BYTES
+                + (maxGirths != null ? (long) entries.length * (Integer.BYTES + Long.BYTES) : 0);
+    }
+
+    /**
+     * Returns the flat arrays of the tree for serialization: the four limit arrays, the four subtree maximum
+     * arrays, the entries and the subtree minimum entries, all in node order. The arrays are shared and must
+     * not be modified.
+     *
+     * @return The ten node arrays.
+     */
+    int[][] nodeArrays() {
+        return new int[][]{limits[0], limits[1], limits[2], limits[3],
+                maxLimits[0], maxLimits[1], maxLimits[2], maxLimits[3], entries, minEntries};
+    }
+
+    /**
+     * Returns the subtree maxima of the girth limits in node order for serialization. The array is shared and
+     * must not be modified.
+     *
+     * @return The maxima, or {@code null} if there are no girth and volume limits.
+     */
+    int[] maxGirths() {
+        return maxGirths;
+    }
+
+    /**
+     * Returns the subtree maxima of the volume limits in node order for serialization. The array is shared and
+     * must not be modified.
+     *
+     * @return The maxima, or {@code null} if there are no girth and volume limits.
+     */
+    long[] maxVolumes() {
+        return maxVolumes;
+    }
+
+    /**
+     * Finds the first entry dominating the given package.
+     *
+     * @param shortest The shortest side of the package.
+     * @param middle   The middle side of the package.
+     * @param longest  The longest side of the package.
+     * @param weight   The weight of the package.
+     * @return The smallest matching entry index, or {@code -1} if no entry matches.
+     */
+    int findFirst(int shortest, int middle, int longest, int weight) {
+        return findFirst(shortest, middle, longest, weight, 0, 0);
+    }
+
+    /**
+     * Finds the first entry dominating the given package that also accepts its girth and volume.
+     *
+     * @param shortest The shortest side of the package.
+     * @param middle   The middle side of the package.
+     * @param longest  The longest side of the package.
+     * @param weight   The weight of the package.
+     * @param girth    The girth of the package; {@code 0} ignores the girth limits.
+     * @param volume   The volume of the package; {@code 0} ignores the volume limits.
+     * @return The smallest matching entry index, or {@code -1} if no entry matches.
+     */
+    int findFirst(int shortest, int middle, int longest, int weight, long girth, long volume) {
+        int best = search(0, entries.length, shortest, middle, longest, weight, girth, volume, Integer.MAX_VALUE);
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    private int search(int lo, int hi, int shortest, int middle, int longest, int weight, long girth, long volume,
+                       int best) {
+        if (lo >= hi) {
+            return best;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (minEntries[mid] >= best
+                || maxLimits[0][mid] < shortest || maxLimits[1][mid] < middle
+                || maxLimits[2][mid] < longest || maxLimits[3][mid] < weight
+                || maxGirths != null && (maxGirths[mid] < girth || maxVolumes[mid] < volume)) {
+            return best;
+        }
+        if (entries[mid] < best
+                && limits[0][mid] >= shortest && limits[1][mid] >= middle
+                && limits[2][mid] >= longest && limits[3][mid] >= weight
+                && (girthLimits == null
+                        || girthLimits[entries[mid]] >= girth && volumeLimits[entries[mid]] >= volume)) {
+            best = entries[mid];
+        }
+        // Visit the subtree holding earlier entries first, it prunes the other one more often
+        int leftMin = mid > lo ? minEntries[(lo + mid) >>> 1] : Integer.MAX_VALUE;
+        int rightMin = hi > mid + 1 ? minEntries[(mid + 1 + hi) >>> 1] : Integer.MAX_VALUE;
+        if (leftMin <= rightMin) {
+            best = search(lo, mid, shortest, middle, longest, weight, girth, volume, best);
+            best = search(mid + 1, hi, shortest, middle, longest, weight, girth, volume, best);
+        } else {
+            best = search(mid + 1, hi, shortest, middle, longest, weight, girth, volume, best);
+            best = search(lo, mid, shortest, middle, longest, weight, girth, volume, best);
+        }
+        return best;
+    }
+
+    /**
+     * Finds, among the entries before a given entry that dominate the package, the one with the largest limit on
+     * an axis. Ties go to the earlier entry.
+     *
+     * @param axis     The axis to maximize, {@code 0} to {@code 3}.
+     * @param before   Only entries with a smaller index are considered.
+     * @param shortest The shortest side of the package.
+     * @param middle   The middle side of the package.
+     * @param longest  The longest side of the package.
+     * @param weight   The weight of the package.
+     * @param girth    The girth of the package; {@code 0} ignores the girth limits.
+     * @param volume   The volume of the package; {@code 0} ignores the volume limits.
+     * @return The entry index, or {@code -1} if no earlier entry dominates the package.
+     */
+    int findLargest(int axis, int before, int shortest, int middle, int longest, int weight, long girth,
+                    long volume) {
+        long best = searchLargest(0, entries.length, axis, before, shortest, middle, longest, weight, girth, volume,
+                -1L);
+        return best < 0 ? -1 : Integer.MAX_VALUE - (int) best;
+    }
+
+    /**
+     * Searches the subtree of {@code [lo, hi)} for {@link #findLargest}. Candidates are encoded as the limit on
+     * the axis in the upper and {@code Integer.MAX_VALUE - entry} in the lower half, so the larger key wins.
+     */
+    private long searchLargest(int lo, int hi, int axis, int before, int shortest, int middle, int longest,
+                               int weight, long girth, long volume, long best) {
+        if (lo >= hi) {
+            return best;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (minEntries[mid] >= before
+                || maxLimits[0][mid] < shortest || maxLimits[1][mid] < middle
+                || maxLimits[2][mid] < longest || maxLimits[3][mid] < weight
+                || maxGirths != null && (maxGirths[mid] < girth || maxVolumes[mid] < volume)
+                || best >= 0 && maxLimits[axis][mid] < (int) (best >>> 32)) {
+            return best;
+        }
+        int entry = entries[mid];
+        if (entry < before
+                && limits[0][mid] >= shortest && limits[1][mid] >= middle
+                && limits[2][mid] >= longest && limits[3][mid] >= weight
+                && (girthLimits == null || girthLimits[entry] >= girth && volumeLimits[entry] >= volume)) {
+            best = Math.max(best, (long) limits[axis][mid] << 32 | (Integer.MAX_VALUE - entry));
+        }
+        best = searchLargest(lo, mid, axis, before, shortest, middle, longest, weight, girth, volume, best);
+        return searchLargest(mid + 1, hi, axis, before, shortest, middle, longest, weight, girth, volume, best);
+    }
+
+    /**
+     * Orders {@code entries[lo, hi)} by the split axis of this depth, recurses into both halves and
+     * computes the subtree aggregates of the node.
+     */
+    private void build(int[][] columns, long[] keys, int lo, int hi, int depth) {
+        if (lo >= hi) {
+            return;
+        }
+        int axis = depth % AXES;
+        for (int i = lo; i < hi; i++) {
+            keys[i] = ((long) columns[axis][entries[i]] << 32) | entries[i];
+        }
+        Arrays.sort(keys, lo, hi);
+        for (int i = lo; i < hi; i++) {
+            entries[i] = (int) keys[i];
+        }
+
+        int mid = (lo + hi) >>> 1;
+        build(columns, keys, lo, mid, depth + 1);
+        build(columns, keys, mid + 1, hi, depth + 1);
+
+        int entry = entries[mid];
+        minEntries[mid] = entry;
+        for (int a = 0; a < AXES; a++) {
+            limits[a][mid] = columns[a][entry];
+            maxLimits[a][mid] = columns[a][entry];
+        }
+        if (maxGirths != null) {
+            maxGirths[mid] = girthLimits[entry];
+            maxVolumes[mid] = volumeLimits[entry];
+        }
+        if (mid > lo) {
+            merge(mid, (lo + mid) >>> 1);
+        }
+        if (hi > mid + 1) {
+            merge(mid, (mid + 1 + hi) >>> 1);
+        }
+    }
+
+    private void merge(int node, int child) {
+        minEntries[node] = Math.min(minEntries[node], minEntries[child]);
+        for (int a = 0; a < AXES; a++) {
+            maxLimits[a][node] = Math.max(maxLimits[a][node], maxLimits[a][child]);
+        }
+        if (maxGirths != null) {
+            maxGirths[node] = Math.max(maxGirths[node], maxGirths[child]);
+            maxVolumes[node] = Math.max(maxVolumes[node], maxVolumes[child]);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package control;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with logarithmic buckets in the style of HdrHistogram.
+ *
+ * <p>Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so recorded values keep a
+ * relative precision of about 12.5% over the whole range from one nanosecond to several minutes. Recording is
+ * a single atomic increment and never allocates.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 40; // Up to 2^40 ns, about 18 minutes
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAGNITUDES * SUB_BUCKETS);
+
+    /**
+     * Records a single value.
+     *
+     * @param nanos The measured duration in nanoseconds; negative values are ignored.
+     */
+    public void record(long nanos) {
+        if (nanos >= 0) {
+            counts.incrementAndGet(bucketOf(nanos));
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return The total count.
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the recorded values.
+     *
+     * @param percentile The percentile between 0 and 100.
+     * @return The upper bound of the bucket containing the percentile, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(snapshot.length - 1);
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        int bucket = (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        return Math.min(bucket, MAGNITUDES * SUB_BUCKETS - 1);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long lowerBound = (long) (SUB_BUCKETS + subBucket) << (magnitude - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+}
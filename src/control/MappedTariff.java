@@ -0,0 +1,361 @@
+package control;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A tariff written by {@link TariffFile}, priced directly from a memory-mapped file.
+ *
+ * <p>Opening a tariff maps the file and validates its header; nothing is parsed or copied onto the heap, so
+ * even tariffs with millions of entries open in milliseconds and pages are only read when a lookup touches
+ * them. Lookups follow the same order as {@link RateTable#findEntry(int, int, int, int)}: the grid if the file
+ * contains one, otherwise the dominance index, otherwise a linear scan.</p>
+ *
+ * <p>A mapped tariff may be used by several threads at once. After {@link #close()} the mapping is released
+ * and every further lookup fails.</p>
+ */
+public final class MappedTariff implements AutoCloseable {
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE =
+            ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT =
+            ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final int CHECKSUM_CHUNK = 64 * 1024;
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final int size;
+    private final long centsOffset;
+    private final long pricesOffset;
+    private final long limitsOffset;  // Start of the four limit columns
+    private final long girthsOffset;  // Start of the girth limits, -1 without extra limits
+    private final boolean girthLimited; // Whether an entry limits the girth, which replaces the default girth limit
+    private final long volumesOffset; // Start of the volume limits, -1 without extra limits
+    private final long indexOffset;   // Start of the ten index arrays, -1 without index
+    private final long maxGirthsOffset;  // Start of the subtree girth maxima, -1 without index or extra limits
+    private final long maxVolumesOffset; // Start of the subtree volume maxima, -1 without index or extra limits
+    private final long[] breakpointOffsets; // Start of the breakpoints per axis, null without grid
+    private final int[] breakpointCounts;
+    private final long cellsOffset;
+
+    private MappedTariff(Arena arena, MemorySegment segment) throws IOException {
+        this.arena = arena;
+        this.segment = segment;
+        if (segment.byteSize() < TariffFile.HEADER_SIZE || segment.get(INT, 0) != TariffFile.MAGIC) {
+            throw new IOException("Not a tariff file.");
+        }
+        int version = segment.get(INT, 4);
+        if (version < 1 || version > TariffFile.VERSION) {
+            throw new IOException("Unsupported tariff file version: " + version);
+        }
+        int flags = segment.get(INT, 8);
+        this.girthLimited = (flags & TariffFile.FLAG_GIRTH_LIMITS) != 0;
+        this.size = segment.get(INT, 12);
+        if (size < 0) {
+            throw new IOException("Invalid entry count: " + size);
+        }
+
+        long offset = TariffFile.HEADER_SIZE;
+        this.centsOffset = offset;
+        offset += (long) size * Long.BYTES;
+        this.pricesOffset = offset;
+        offset += (long) size * Double.BYTES;
+        this.limitsOffset = offset;
+        offset += 4L * size * Integer.BYTES;
+        if ((flags & TariffFile.FLAG_EXTRA_LIMITS) != 0) {
+            this.girthsOffset = offset;
+            offset += (long) size * Integer.BYTES;
+            this.volumesOffset = offset;
+            offset += (long) size * Long.BYTES;
+        } else {
+            this.girthsOffset = -1;
+            this.volumesOffset = -1;
+        }
+        if ((flags & TariffFile.FLAG_INDEX) != 0) {
+            this.indexOffset = offset;
+            offset += (long) TariffFile.INDEX_ARRAYS * size * Integer.BYTES;
+        } else {
+            this.indexOffset = -1;
+        }
+        if (indexOffset >= 0 && girthsOffset >= 0) {
+            this.maxGirthsOffset = offset;
+            offset += (long) size * Integer.BYTES;
+            this.maxVolumesOffset = offset;
+            offset += (long) size * Long.BYTES;
+        } else {
+            this.maxGirthsOffset = -1;
+            this.maxVolumesOffset = -1;
+        }
+        if ((flags & TariffFile.FLAG_GRID) != 0) {
+            this.breakpointCounts = new int[4];
+            this.breakpointOffsets = new long[4];
+            long cellCount = 1;
+            for (int axis = 0; axis < 4; axis++) {
+                breakpointCounts[axis] = segment.get(INT, 24 + axis * Integer.BYTES);
+                breakpointOffsets[axis] = offset;
+                offset += (long) breakpointCounts[axis] * Integer.BYTES;
+                cellCount *= breakpointCounts[axis];
+            }
+            this.cellsOffset = offset;
+            offset += cellCount * Short.BYTES;
+        } else {
+            this.breakpointCounts = null;
+            this.breakpointOffsets = null;
+            this.cellsOffset = -1;
+        }
+        if (offset != segment.byteSize()) {
+            throw new IOException("Tariff file is truncated or has trailing data.");
+        }
+    }
+
+    /**
+     * Maps a tariff file and verifies its checksum.
+     *
+     * @param file The file written by {@link TariffFile}.
+     * @return The mapped tariff.
+     * @throws IOException If the file cannot be read, is not a valid tariff file or is corrupted.
+     */
+    public static MappedTariff open(Path file) throws IOException {
+        return open(file, true);
+    }
+
+    /**
+     * Maps a tariff file.
+     *
+     * @param file           The file written by {@link TariffFile}.
+     * @param verifyChecksum Whether to read the whole file once to verify its checksum. Skipping this makes
+     *                       opening independent of the file size.
+     * @return The mapped tariff.
+     * @throws IOException If the file cannot be read, is not a valid tariff file or is corrupted.
+     */
+    public static MappedTariff open(Path file, boolean verifyChecksum) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            MappedTariff tariff = new MappedTariff(arena, segment);
+            if (verifyChecksum && tariff.checksum() != segment.get(LONG, 16)) {
+                throw new IOException("Tariff file checksum mismatch: " + file);
+            }
+            return tariff;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Quotes a package like {@link Calculator#quote(RateTable, int, int, int, int)}.
+     *
+     * @param length The length of the package in millimeters.
+     * @param width  The width of the package in millimeters.
+     * @param height The height of the package in millimeters.
+     * @param weight The weight of the package in grams.
+     * @return The price in Euro cents, or the negated {@link QuoteStatus} if the package is rejected.
+     */
+    public long quote(int length, int width, int height, int weight) {
+        byte status = Calculator.validate(length, width, height, weight, girthLimited);
+        if (status != QuoteStatus.OK) {
+            return -status;
+        }
+        int shortest = Math.min(length, Math.min(width, height));
+        int longest = Math.max(length, Math.max(width, height));
+        int middle = length + width + height - shortest - longest;
+        int entry = findEntry(shortest, middle, longest, weight);
+        return entry < 0 ? -QuoteStatus.NO_MATCHING_ENTRY : getPriceCents(entry);
+    }
+
+    /**
+     * Finds the first entry whose limits accommodate the given sorted package dimensions and weight.
+     *
+     * @param shortest The shortest side of the package.
+     * @param middle   The middle side of the package.
+     * @param longest  The longest side of the package.
+     * @param weight   The weight of the package.
+     * @return The index of the matching entry, or {@code -1} if no entry matches.
+     */
+    public int findEntry(int shortest, int middle, int longest, int weight) {
+        // Girth and volume are only needed if the file has extra limits
+        long girth = girthsOffset >= 0 ? RateTable.girth(shortest, middle, longest) : 0;
+        long volume = girthsOffset >= 0 ? RateTable.volume(shortest, middle, longest) : 0;
+        int first = 0;
+        if (cellsOffset >= 0) {
+            int entry = gridLookup(shortest, middle, longest, weight);
+            if (entry < 0 || accepts(entry, girth, volume)) {
+                return entry;
+            }
+            first = entry + 1;
+        }
+        if (indexOffset >= 0) {
+            int best = search(0, size, shortest, middle, longest, weight, girth, volume, Integer.MAX_VALUE);
+            return best == Integer.MAX_VALUE ? -1 : best;
+        }
+        for (int i = first; i < size; i++) {
+            if (shortest <= limit(0, i) && middle <= limit(1, i) && longest <= limit(2, i) && weight <= limit(3, i)
+                    && accepts(i, girth, volume)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the price of the entry at the given index.
+     *
+     * @param index The entry index.
+     * @return The price in Euros.
+     */
+    public double getPrice(int index) {
+        return segment.get(DOUBLE, pricesOffset + checkIndex(index) * (long) Double.BYTES);
+    }
+
+    /**
+     * Returns the price of the entry at the given index in Euro cents.
+     *
+     * @param index The entry index.
+     * @return The price rounded to whole cents.
+     */
+    public long getPriceCents(int index) {
+        return segment.get(LONG, centsOffset + checkIndex(index) * (long) Long.BYTES);
+    }
+
+    /**
+     * Indicates whether the file contains a precomputed grid.
+     *
+     * @return {@code true} if lookups are answered by the grid.
+     */
+    public boolean hasGrid() {
+        return cellsOffset >= 0;
+    }
+
+    /**
+     * Releases the mapping.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Entry " + index + " of " + size);
+        }
+        return index;
+    }
+
+    private int limit(int axis, int entry) {
+        return segment.get(INT, limitsOffset + ((long) axis * size + entry) * Integer.BYTES);
+    }
+
+    /**
+     * Checks the girth and volume limits of an entry, which every entry passes if the file has none.
+     */
+    private boolean accepts(int entry, long girth, long volume) {
+        return girthsOffset < 0
+                || girth <= segment.get(INT, girthsOffset + (long) entry * Integer.BYTES)
+                && volume <= segment.get(LONG, volumesOffset + (long) entry * Long.BYTES);
+    }
+
+    /**
+     * Reads element {@code node} of index array {@code array} (see {@link DominanceIndex#nodeArrays()}).
+     */
+    private int node(int array, int node) {
+        return segment.get(INT, indexOffset + ((long) array * size + node) * Integer.BYTES);
+    }
+
+    /**
+     * Searches the serialized dominance index like {@code DominanceIndex.search}.
+     */
+    private int search(int lo, int hi, int shortest, int middle, int longest, int weight, long girth, long volume,
+                       int best) {
+        if (lo >= hi) {
+            return best;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (node(9, mid) >= best
+                || node(4, mid) < shortest || node(5, mid) < middle
+                || node(6, mid) < longest || node(7, mid) < weight
+                || maxGirthsOffset >= 0
+                        && (segment.get(INT, maxGirthsOffset + (long) mid * Integer.BYTES) < girth
+                                || segment.get(LONG, maxVolumesOffset + (long) mid * Long.BYTES) < volume)) {
+            return best;
+        }
+        int entry = node(8, mid);
+        if (entry < best
+                && node(0, mid) >= shortest && node(1, mid) >= middle
+                && node(2, mid) >= longest && node(3, mid) >= weight && accepts(entry, girth, volume)) {
+            best = entry;
+        }
+        int leftMin = mid > lo ? node(9, (lo + mid) >>> 1) : Integer.MAX_VALUE;
+        int rightMin = hi > mid + 1 ? node(9, (mid + 1 + hi) >>> 1) : Integer.MAX_VALUE;
+        if (leftMin <= rightMin) {
+            best = search(lo, mid, shortest, middle, longest, weight, girth, volume, best);
+            best = search(mid + 1, hi, shortest, middle, longest, weight, girth, volume, best);
+        } else {
+            best = search(mid + 1, hi, shortest, middle, longest, weight, girth, volume, best);
+            best = search(lo, mid, shortest, middle, longest, weight, girth, volume, best);
+        }
+        return best;
+    }
+
+    private int gridLookup(int shortest, int middle, int longest, int weight) {
+        int a = cellOf(0, shortest);
+        int b = cellOf(1, middle);
+        int c = cellOf(2, longest);
+        int d = cellOf(3, weight);
+        if ((a | b | c | d) < 0) {
+            return -1;
+        }
+        long cell = (((long) a * breakpointCounts[1] + b) * breakpointCounts[2] + c) * breakpointCounts[3] + d;
+        return segment.get(SHORT, cellsOffset + cell * Short.BYTES) - 1;
+    }
+
+    /**
+     * Returns the index of the first breakpoint of an axis greater than or equal to the value.
+     *
+     * @return The cell index, or {@code -1} if the value exceeds all breakpoints.
+     */
+    private int cellOf(int axis, int value) {
+        long base = breakpointOffsets[axis];
+        int lo = 0;
+        int hi = breakpointCounts[axis];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (segment.get(INT, base + (long) mid * Integer.BYTES) < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < breakpointCounts[axis] ? lo : -1;
+    }
+
+    private long checksum() {
+        // Buffers of shared mappings cannot be passed to the CRC directly, so the file is read in heap chunks
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[CHECKSUM_CHUNK];
+        for (long offset = TariffFile.HEADER_SIZE; offset < segment.byteSize(); offset += CHECKSUM_CHUNK) {
+            int length = (int) Math.min(CHECKSUM_CHUNK, segment.byteSize() - offset);
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, chunk, 0, length);
+            crc.update(chunk, 0, length);
+        }
+        return crc.getValue();
+    }
+}
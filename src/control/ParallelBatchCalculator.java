@@ -0,0 +1,193 @@
+package control;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Prices large batches like {@link BatchCalculator}, but splits the input into chunks that are
+ * processed in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>Each package writes only to its own output slot, so results are deterministic and in input order
+ * regardless of scheduling. Chunks default to {@value #DEFAULT_CHUNK_SIZE} packages, which keeps the
+ * input and output slices of one task within the L2 cache.</p>
+ *
+ * <p>A calculator created with a parallelism owns its pool and shuts it down on {@link #close()}; pools passed
+ * in by the caller, and the common pool, are left running.</p>
+ */
+public class ParallelBatchCalculator implements AutoCloseable {
+
+    /** Default number of packages processed by a single task. */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final boolean ownsPool; // Whether the pool was created by this calculator and is shut down on close
+
+    /**
+     * Creates a calculator running on the common pool with the default chunk size.
+     */
+    public ParallelBatchCalculator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a calculator with its own pool of the given parallelism and the default chunk size.
+     *
+     * @param parallelism The number of worker threads.
+     */
+    public ParallelBatchCalculator(int parallelism) {
+        this(new ForkJoinPool(parallelism), DEFAULT_CHUNK_SIZE, true);
+    }
+
+    /**
+     * Creates a calculator running on the given pool.
+     *
+     * @param pool      The pool executing the pricing tasks.
+     * @param chunkSize The maximum number of packages processed by a single task.
+     * @throws IllegalArgumentException if the chunk size is not positive.
+     */
+    public ParallelBatchCalculator(ForkJoinPool pool, int chunkSize) {
+        this(pool, chunkSize, false);
+    }
+
+    private ParallelBatchCalculator(ForkJoinPool pool, int chunkSize, boolean ownsPool) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero.");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.ownsPool = ownsPool;
+    }
+
+    /**
+     * Prices packages given as parallel columns.
+     *
+     * @see BatchCalculator#calcShippingCosts(RateTable, int[], int[], int[], int[], double[], byte[])
+     */
+    public int calcShippingCosts(RateTable rateTable, int[] lengths, int[] widths, int[] heights, int[] weights,
+                                 double[] prices, byte[] status) {
+        BatchCalculator.checkColumns(lengths, widths, heights, weights, prices.length, status);
+        return invoke(new PricingTask(rateTable, lengths, widths, heights, weights, null,
+                0, status.length, prices, null, status));
+    }
+
+    /**
+     * Prices packages given as parallel columns, writing prices in Euro cents.
+     *
+     * @see BatchCalculator#calcShippingCosts(RateTable, int[], int[], int[], int[], long[], byte[])
+     */
+    public int calcShippingCosts(RateTable rateTable, int[] lengths, int[] widths, int[] heights, int[] weights,
+                                 long[] priceCents, byte[] status) {
+        BatchCalculator.checkColumns(lengths, widths, heights, weights, priceCents.length, status);
+        return invoke(new PricingTask(rateTable, lengths, widths, heights, weights, null,
+                0, status.length, null, priceCents, status));
+    }
+
+    /**
+     * Prices packages given in the packed layout.
+     *
+     * @see BatchCalculator#calcShippingCosts(RateTable, int[], double[], byte[])
+     */
+    public int calcShippingCosts(RateTable rateTable, int[] packed, double[] prices, byte[] status) {
+        BatchCalculator.checkPacked(packed, prices.length, status);
+        return invoke(new PricingTask(rateTable, null, null, null, null, packed,
+                0, status.length, prices, null, status));
+    }
+
+    /**
+     * Prices packages given in the packed layout, writing prices in Euro cents.
+     *
+     * @see BatchCalculator#calcShippingCosts(RateTable, int[], long[], byte[])
+     */
+    public int calcShippingCosts(RateTable rateTable, int[] packed, long[] priceCents, byte[] status) {
+        BatchCalculator.checkPacked(packed, priceCents.length, status);
+        return invoke(new PricingTask(rateTable, null, null, null, null, packed,
+                0, status.length, null, priceCents, status));
+    }
+
+    /**
+     * Runs a pricing task on the pool and records it as a batch job.
+     *
+     * @param task The task covering the whole batch.
+     * @return The number of packages priced successfully.
+     */
+    private int invoke(PricingTask task) {
+        BatchJobEvent event = BatchCalculator.begin();
+        int accepted = pool.invoke(task);
+        event.complete("parallel", task.to - task.from, accepted);
+        return accepted;
+    }
+
+    /**
+     * Returns the parallelism of the underlying pool.
+     *
+     * @return The number of worker threads.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Shuts down the pool if this calculator created it, waiting for running batches to finish.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Prices the range {@code [from, to)}, splitting it in halves until it fits into a single chunk.
+     * Either the column arrays or {@code packed} is set, and exactly one of the price arrays.
+     */
+    private class PricingTask extends RecursiveTask<Integer> {
+
+        private final RateTable rateTable;
+        private final int[] lengths;
+        private final int[] widths;
+        private final int[] heights;
+        private final int[] weights;
+        private final int[] packed;
+        private final int from;
+        private final int to;
+        private final double[] prices;
+        private final long[] priceCents;
+        private final byte[] status;
+
+        PricingTask(RateTable rateTable, int[] lengths, int[] widths, int[] heights, int[] weights, int[] packed,
+                    int from, int to, double[] prices, long[] priceCents, byte[] status) {
+            this.rateTable = rateTable;
+            this.lengths = lengths;
+            this.widths = widths;
+            this.heights = heights;
+            this.weights = weights;
+            this.packed = packed;
+            this.from = from;
+            this.to = to;
+            this.prices = prices;
+            this.priceCents = priceCents;
+            this.status = status;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= chunkSize) {
+                return packed != null
+                        ? BatchCalculator.pricePacked(rateTable, packed, from, to, prices, priceCents, status)
+                        : BatchCalculator.priceColumns(rateTable, lengths, widths, heights, weights,
+                        from, to, prices, priceCents, status);
+            }
+            int mid = (from + to) >>> 1;
+            PricingTask left = split(from, mid);
+            PricingTask right = split(mid, to);
+            left.fork();
+            return right.compute() + left.join();
+        }
+
+        private PricingTask split(int newFrom, int newTo) {
+            return new PricingTask(rateTable, lengths, widths, heights, weights, packed,
+                    newFrom, newTo, prices, priceCents, status);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package control;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The headless pricing API: loads and validates a configuration, compiles it into a {@link RateTable} and
+ * quotes packages against it.
+ *
+ * <p>Configurations are compiled with {@link ConfigParser#optimize(RateTable.Columns)}, the same step
+ * {@link ConfigReloader} and {@link ConfigSnapshot} use, so the command line, the servers and the GUI quote a
+ * file identically. It normalizes the entry order and removes entries that can never match because an earlier
+ * entry accepts all their packages, which never changes a quote; {@link #getFindings()} reports them.</p>
+ *
+ * <p>Unlike {@link ConfigHandler}, the engine never touches AWT or Swing, so servers, batch jobs and the
+ * command line start without initializing a toolkit and run on machines without a display. An engine is
+ * immutable and may be used by several threads at once.</p>
+ */
+public final class PricingEngine {
+
+    private static final String[] OPTIONAL_LIMITS = {".girth", ".volumetricDivisor"};
+
+    private final RateTable rateTable;
+    private final List<TariffOptimizer.Finding> findings;
+
+    private PricingEngine(RateTable rateTable, List<TariffOptimizer.Finding> findings) {
+        this.rateTable = rateTable;
+        this.findings = findings;
+    }
+
+    /**
+     * Loads, validates and compiles a configuration file.
+     *
+     * @param file The configuration file in the {@code entry.N.dimensions} / {@code entry.N.price} format.
+     * @return The engine pricing against the file.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the configuration is invalid; the message lists every problem.
+     */
+    public static PricingEngine load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(file.toFile())) {
+            properties.load(inputStream);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Validates and compiles configuration properties.
+     *
+     * @param properties The configuration properties.
+     * @return The engine pricing against the properties.
+     * @throws IllegalArgumentException If the configuration is invalid; the message lists every problem.
+     */
+    public static PricingEngine fromProperties(Properties properties) {
+        List<String> problems = validate(properties);
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid configuration: " + String.join("; ", problems));
+        }
+        ConfigParser.Optimized optimized = ConfigParser.optimize(RateTable.parseColumns(properties));
+        return new PricingEngine(optimized.compile(), optimized.findings());
+    }
+
+    /**
+     * Creates an engine for an already compiled rate table, for example that of a {@link ConfigSnapshot}.
+     *
+     * @param rateTable The compiled rate table.
+     * @return The engine pricing against the rate table.
+     */
+    public static PricingEngine of(RateTable rateTable) {
+        return new PricingEngine(rateTable, List.of());
+    }
+
+    /**
+     * Checks configuration properties without compiling them.
+     *
+     * @param properties The configuration properties.
+     * @return A description of every problem found; empty if the configuration is valid.
+     */
+    public static List<String> validate(Properties properties) {
+        List<String> problems = new ArrayList<>();
+        int size = 0;
+        while (properties.getProperty("entry." + size + ".dimensions") != null) {
+            String prefix = "entry." + size;
+            String[] limits = properties.getProperty(prefix + ".dimensions").split("x");
+            if (limits.length != 4) {
+                problems.add(prefix + ".dimensions must have the format LxWxHxWeight");
+            } else {
+                for (String limit : limits) {
+                    if (!isPositiveInt(limit)) {
+                        problems.add(prefix + ".dimensions contains an invalid limit: " + limit);
+                        break;
+                    }
+                }
+            }
+            for (String key : OPTIONAL_LIMITS) {
+                String limit = properties.getProperty(prefix + key);
+                if (limit != null && !isPositiveInt(limit)) {
+                    problems.add(prefix + key + " must be a positive integer: " + limit);
+                }
+            }
+            String price = properties.getProperty(prefix + ".price");
+            if (price == null) {
+                problems.add(prefix + ".price is missing");
+            } else if (!isValidPrice(price)) {
+                problems.add(prefix + ".price must be a non-negative number: " + price);
+            }
+            size++;
+        }
+        if (size == 0) {
+            problems.add("No entries, entry.0.dimensions is missing");
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("entry.") && entryNumber(key) >= size) {
+                problems.add(key + " is unreachable, entry numbers must be consecutive");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Quotes a package like {@link Calculator#quote(RateTable, int, int, int, int)}.
+     *
+     * @param length The length of the package in millimeters.
+     * @param width  The width of the package in millimeters.
+     * @param height The height of the package in millimeters.
+     * @param weight The weight of the package in grams.
+     * @return The price in Euro cents, or the negated {@link QuoteStatus} if the package is rejected.
+     */
+    public long quote(int length, int width, int height, int weight) {
+        return Calculator.quote(rateTable, length, width, height, weight);
+    }
+
+    /**
+     * Prices a CSV file of shipments with {@link CsvShipmentPricer}.
+     *
+     * @param input  The input file with {@code length,width,height,weight} rows.
+     * @param output The output file to write.
+     * @return The row counts and duration of the run.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public CsvShipmentPricer.Result priceCsv(Path input, Path output) throws IOException {
+        return new CsvShipmentPricer(rateTable).price(input, output);
+    }
+
+    /**
+     * Returns the unreachable and shadowed entries found while compiling a configuration.
+     *
+     * @return The findings with entry numbers of the configuration, in lookup order; empty for an engine created
+     *         with {@link #of(RateTable)}.
+     */
+    public List<TariffOptimizer.Finding> getFindings() {
+        return findings;
+    }
+
+    /**
+     * Returns the number of compiled entries, which excludes unreachable ones.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return rateTable.size();
+    }
+
+    /**
+     * Returns the compiled rate table.
+     *
+     * @return The rate table the engine prices against.
+     */
+    public RateTable getRateTable() {
+        return rateTable;
+    }
+
+    private static boolean isPositiveInt(String text) {
+        try {
+            return Integer.parseInt(text) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isValidPrice(String text) {
+        try {
+            double price = Double.parseDouble(text);
+            return price >= 0 && Double.isFinite(price);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number N of an {@code entry.N.*} key, or {@code -1} if it has none.
+     */
+    private static int entryNumber(String key) {
+        int end = key.indexOf('.', 6);
+        try {
+            return Integer.parseInt(key.substring(6, end < 0 ? key.length() : end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
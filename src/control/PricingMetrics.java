@@ -0,0 +1,256 @@
+package control;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide metrics of the pricing hot path and of configuration loading.
+ *
+ * <p>Counters are striped {@link LongAdder}s so concurrent quotes do not contend, and every quote increments
+ * exactly one of them; the total is derived from the tier and reject counts. Timing every quote would
+ * cost more than the lookup itself, so only one in {@value #SAMPLE_INTERVAL} quotes is timed into the
+ * {@link LatencyHistogram}. When recording is switched off (see {@link #setEnabled(boolean)} or the system
+ * property {@code pricing.metrics=false}) the hot path performs a single volatile read.</p>
+ *
+ * <p>Tier hits are counted per entry index of the rate table that answered the quote; after a configuration
+ * change the indices refer to the new table.</p>
+ */
+public final class PricingMetrics implements PricingMetricsMBean {
+
+    /** JMX name under which {@link #registerMBean()} publishes the metrics. */
+    public static final String OBJECT_NAME = "control:type=PricingMetrics";
+
+    private static final int SAMPLE_INTERVAL = 64; // Power of two
+    private static final int TRACKED_TIERS = 1024;
+
+    private static final PricingMetrics INSTANCE = new PricingMetrics();
+    private static volatile PricingMetrics active =
+            "false".equalsIgnoreCase(System.getProperty("pricing.metrics")) ? null : INSTANCE;
+
+    private final LongAdder[] rejects = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+    private final AtomicReferenceArray<LongAdder> tierHits = new AtomicReferenceArray<>(TRACKED_TIERS);
+    private final LongAdder untrackedTierHits = new LongAdder();
+    private final LatencyHistogram quoteLatency = new LatencyHistogram();
+    private final LongAdder reloadFailures = new LongAdder();
+    private final LatencyHistogram reloadLatency = new LatencyHistogram();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+
+    private PricingMetrics() {
+    }
+
+    /**
+     * Returns the process-wide metrics, regardless of whether recording is enabled.
+     *
+     * @return The metrics instance.
+     */
+    public static PricingMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the metrics to record into, or {@code null} if recording is switched off.
+     *
+     * @return The metrics instance or {@code null}.
+     */
+    static PricingMetrics active() {
+        return active;
+    }
+
+    /**
+     * Publishes the metrics on the platform MBean server. Repeated calls have no effect.
+     *
+     * @throws RuntimeException if the MBean cannot be registered.
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already published
+        } catch (JMException e) {
+            throw new RuntimeException("Error registering pricing metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Decides whether the next quote on the calling thread is timed.
+     *
+     * @return {@code true} if the quote should be timed.
+     */
+    boolean sampleNext() {
+        return (ThreadLocalRandom.current().nextInt() & (SAMPLE_INTERVAL - 1)) == 0;
+    }
+
+    /**
+     * Records the outcome of a quote.
+     *
+     * @param result The entry index, or the negated {@link QuoteStatus} if the package was rejected.
+     * @param nanos  The duration of the quote, or a negative value if it was not timed.
+     */
+    void recordQuote(int result, long nanos) {
+        if (result < 0) {
+            rejects[-result].increment();
+        } else if (result < TRACKED_TIERS) {
+            LongAdder hits = tierHits.get(result);
+            if (hits == null) {
+                tierHits.compareAndSet(result, null, new LongAdder());
+                hits = tierHits.get(result);
+            }
+            hits.increment();
+        } else {
+            untrackedTierHits.increment();
+        }
+        quoteLatency.record(nanos);
+    }
+
+    /**
+     * Records a rate table reload.
+     *
+     * @param nanos   The duration of the reload.
+     * @param success {@code false} if the previous table was kept.
+     */
+    void recordReload(long nanos, boolean success) {
+        if (active == null) {
+            return;
+        }
+        if (success) {
+            reloadLatency.record(nanos);
+        } else {
+            reloadFailures.increment();
+        }
+    }
+
+    /**
+     * Records a configuration file loaded into the editor.
+     *
+     * @param nanos The duration of the load.
+     */
+    void recordConfigLoad(long nanos) {
+        if (active != null) {
+            loadLatency.record(nanos);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return active != null;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        active = enabled ? INSTANCE : null;
+    }
+
+    @Override
+    public long getQuoteCount() {
+        long count = untrackedTierHits.sum();
+        for (LongAdder reject : rejects) {
+            count += reject.sum();
+        }
+        for (long hits : getTierHits()) {
+            count += hits;
+        }
+        return count;
+    }
+
+    @Override
+    public long getRejectedInvalidPacket() {
+        return rejects[QuoteStatus.INVALID_PACKET].sum();
+    }
+
+    @Override
+    public long getRejectedGirthExceeded() {
+        return rejects[QuoteStatus.GIRTH_EXCEEDED].sum();
+    }
+
+    @Override
+    public long getRejectedNoMatchingEntry() {
+        return rejects[QuoteStatus.NO_MATCHING_ENTRY].sum();
+    }
+
+    @Override
+    public long[] getTierHits() {
+        long[] hits = new long[TRACKED_TIERS];
+        int size = 0;
+        for (int i = 0; i < TRACKED_TIERS; i++) {
+            LongAdder adder = tierHits.get(i);
+            if (adder != null) {
+                hits[i] = adder.sum();
+                size = i + 1;
+            }
+        }
+        return Arrays.copyOf(hits, size);
+    }
+
+    @Override
+    public long getUntrackedTierHits() {
+        return untrackedTierHits.sum();
+    }
+
+    @Override
+    public long getSampledQuoteCount() {
+        return quoteLatency.getCount();
+    }
+
+    @Override
+    public long getQuoteLatencyP50Nanos() {
+        return quoteLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getQuoteLatencyP99Nanos() {
+        return quoteLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getQuoteLatencyP999Nanos() {
+        return quoteLatency.getPercentile(99.9);
+    }
+
+    @Override
+    public long getConfigReloadCount() {
+        return reloadLatency.getCount();
+    }
+
+    @Override
+    public long getConfigReloadFailures() {
+        return reloadFailures.sum();
+    }
+
+    @Override
+    public long getConfigReloadP99Nanos() {
+        return reloadLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getConfigLoadCount() {
+        return loadLatency.getCount();
+    }
+
+    @Override
+    public long getConfigLoadP99Nanos() {
+        return loadLatency.getPercentile(99);
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder reject : rejects) {
+            reject.reset();
+        }
+        for (int i = 0; i < TRACKED_TIERS; i++) {
+            tierHits.set(i, null);
+        }
+        untrackedTierHits.reset();
+        quoteLatency.reset();
+        reloadFailures.reset();
+        reloadLatency.reset();
+        loadLatency.reset();
+    }
+}
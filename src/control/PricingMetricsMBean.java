@@ -0,0 +1,131 @@
+package control;
+
+/**
+ * Management interface of {@link PricingMetrics}, published over JMX as {@value PricingMetrics#OBJECT_NAME}.
+ */
+public interface PricingMetricsMBean {
+
+    /**
+     * Returns whether metrics are currently recorded.
+     *
+     * @return {@code true} if recording is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Switches recording on or off. While off, the hot path performs a single volatile read.
+     *
+     * @param enabled {@code true} to record metrics.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the number of quotes, accepted or rejected.
+     *
+     * @return The quote count.
+     */
+    long getQuoteCount();
+
+    /**
+     * Returns the number of quotes rejected with {@link QuoteStatus#INVALID_PACKET}.
+     *
+     * @return The reject count.
+     */
+    long getRejectedInvalidPacket();
+
+    /**
+     * Returns the number of quotes rejected with {@link QuoteStatus#GIRTH_EXCEEDED}.
+     *
+     * @return The reject count.
+     */
+    long getRejectedGirthExceeded();
+
+    /**
+     * Returns the number of quotes rejected with {@link QuoteStatus#NO_MATCHING_ENTRY}.
+     *
+     * @return The reject count.
+     */
+    long getRejectedNoMatchingEntry();
+
+    /**
+     * Returns the number of hits per tariff entry index.
+     *
+     * @return The hit counts, up to the highest entry that was hit.
+     */
+    long[] getTierHits();
+
+    /**
+     * Returns the number of hits of entries beyond the individually tracked ones.
+     *
+     * @return The hit count.
+     */
+    long getUntrackedTierHits();
+
+    /**
+     * Returns the number of quotes whose latency was sampled.
+     *
+     * @return The sample count.
+     */
+    long getSampledQuoteCount();
+
+    /**
+     * Returns the median quote latency.
+     *
+     * @return The latency in nanoseconds.
+     */
+    long getQuoteLatencyP50Nanos();
+
+    /**
+     * Returns the 99th percentile of the quote latency.
+     *
+     * @return The latency in nanoseconds.
+     */
+    long getQuoteLatencyP99Nanos();
+
+    /**
+     * Returns the 99.9th percentile of the quote latency.
+     *
+     * @return The latency in nanoseconds.
+     */
+    long getQuoteLatencyP999Nanos();
+
+    /**
+     * Returns the number of successful rate table reloads.
+     *
+     * @return The reload count.
+     */
+    long getConfigReloadCount();
+
+    /**
+     * Returns the number of reloads that kept the previous table because the file was invalid.
+     *
+     * @return The failure count.
+     */
+    long getConfigReloadFailures();
+
+    /**
+     * Returns the 99th percentile of the reload duration.
+     *
+     * @return The duration in nanoseconds.
+     */
+    long getConfigReloadP99Nanos();
+
+    /**
+     * Returns the number of configuration files loaded into the editor.
+     *
+     * @return The load count.
+     */
+    long getConfigLoadCount();
+
+    /**
+     * Returns the 99th percentile of the configuration load duration.
+     *
+     * @return The duration in nanoseconds.
+     */
+    long getConfigLoadP99Nanos();
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+}
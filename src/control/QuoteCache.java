@@ -0,0 +1,208 @@
+package control;
+
+import data.Packet;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of lookup results for frequently quoted package shapes.
+ *
+ * <p>Keys are the sorted dimensions and the weight packed into a single {@code long} (16 bits each), so
+ * neither {@link Packet} objects nor boxed keys are created. Packages with a value above 65535 bypass the
+ * cache. The cache is split into independently locked segments; within a segment every key maps to a set
+ * of {@value #WAYS} slots that are replaced with the CLOCK (second chance) policy.</p>
+ *
+ * <p>Each segment remembers the {@link RateTable} its results were computed for. When a lookup arrives with
+ * a different table, for example after {@link ConfigReloader} published a new snapshot, the segment is
+ * cleared before it is used again.</p>
+ */
+public class QuoteCache {
+
+    private static final int WAYS = 8;
+    private static final int SEGMENTS = 16;
+    private static final int MAX_PACKED_VALUE = 0xFFFF;
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache holding at most (roughly) the given number of package shapes.
+     *
+     * @param capacity The maximum number of cached shapes; rounded up to a multiple of the set size.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public QuoteCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than zero.");
+        }
+        int setsPerSegment = Math.max(1, (capacity + SEGMENTS * WAYS - 1) / (SEGMENTS * WAYS));
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(setsPerSegment);
+        }
+    }
+
+    /**
+     * Calculates the shipping costs for a package, using cached lookups where possible.
+     *
+     * @param pack      The package containing length, width, height, and weight.
+     * @param rateTable The compiled shipping rates.
+     * @return The calculated shipping cost.
+     * @throws IllegalArgumentException if the girth is too large or no suitable rate is found.
+     * @see Calculator#calcShippingCosts(Packet, RateTable)
+     */
+    public double calcShippingCosts(Packet pack, RateTable rateTable) {
+        byte status = Calculator.validate(pack.length(), pack.width(), pack.height(), pack.weight(),
+                rateTable.hasGirthLimits());
+        if (status != QuoteStatus.OK) {
+            throw new IllegalArgumentException(QuoteStatus.describe(status));
+        }
+        int length = pack.length();
+        int width = pack.width();
+        int height = pack.height();
+        int shortest = Math.min(length, Math.min(width, height));
+        int longest = Math.max(length, Math.max(width, height));
+        int middle = length + width + height - shortest - longest;
+
+        int index = findEntry(rateTable, shortest, middle, longest, pack.weight());
+        if (index < 0) {
+            throw new IllegalArgumentException(QuoteStatus.describe(QuoteStatus.NO_MATCHING_ENTRY));
+        }
+        return rateTable.getPrice(index);
+    }
+
+    /**
+     * Finds the first matching entry like {@link RateTable#findEntry(int, int, int, int)}, serving repeated
+     * package shapes from the cache.
+     *
+     * @param rateTable The compiled shipping rates.
+     * @param shortest  The shortest side of the package.
+     * @param middle    The middle side of the package.
+     * @param longest   The longest side of the package.
+     * @param weight    The weight of the package.
+     * @return The index of the matching entry, or {@code -1} if no entry matches.
+     */
+    public int findEntry(RateTable rateTable, int shortest, int middle, int longest, int weight) {
+        long key = ((long) shortest << 48) | ((long) middle << 32) | ((long) longest << 16) | weight;
+        if ((shortest | middle | longest | weight) < 0 || shortest > MAX_PACKED_VALUE || middle > MAX_PACKED_VALUE
+                || longest > MAX_PACKED_VALUE || weight > MAX_PACKED_VALUE || key == 0) {
+            misses.increment();
+            return rateTable.findEntry(shortest, middle, longest, weight);
+        }
+        long hash = key * 0x9E3779B97F4A7C15L;
+        Segment segment = segments[(int) (hash >>> 60) & (SEGMENTS - 1)];
+        return segment.findEntry(rateTable, key, (int) (hash >>> 32), shortest, middle, longest, weight);
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.reset(null);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to query the rate table.
+     *
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of cached results that were replaced by newer ones.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * A set-associative block of the cache guarded by its own monitor.
+     */
+    private final class Segment {
+
+        private final int setMask;
+        private final long[] keys;       // Packed key per slot, 0 for an empty slot
+        private final int[] entries;     // Cached entry index per slot
+        private final boolean[] referenced; // CLOCK reference bit per slot
+        private final int[] hands;       // CLOCK hand per set
+        private RateTable owner;         // Table the cached results belong to
+
+        Segment(int sets) {
+            int size = Integer.highestOneBit(sets * 2 - 1); // Round up to a power of two
+            setMask = size - 1;
+            keys = new long[size * WAYS];
+            entries = new int[size * WAYS];
+            referenced = new boolean[size * WAYS];
+            hands = new int[size];
+        }
+
+        synchronized int findEntry(RateTable rateTable, long key, int hash, int shortest, int middle, int longest,
+                                   int weight) {
+            if (owner != rateTable) {
+                reset(rateTable);
+            }
+            int set = hash & setMask;
+            int base = set * WAYS;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (keys[slot] == key) {
+                    referenced[slot] = true;
+                    hits.increment();
+                    return entries[slot];
+                }
+            }
+
+            misses.increment();
+            int entry = rateTable.findEntry(shortest, middle, longest, weight);
+            int slot = victim(set, base);
+            if (keys[slot] != 0) {
+                evictions.increment();
+            }
+            keys[slot] = key;
+            entries[slot] = entry;
+            referenced[slot] = false;
+            return entry;
+        }
+
+        /**
+         * Advances the CLOCK hand of a set until it finds an empty or unreferenced slot.
+         */
+        private int victim(int set, int base) {
+            int hand = hands[set];
+            while (true) {
+                int slot = base + hand;
+                hand = (hand + 1) & (WAYS - 1);
+                if (keys[slot] == 0 || !referenced[slot]) {
+                    hands[set] = hand;
+                    return slot;
+                }
+                referenced[slot] = false;
+            }
+        }
+
+        void reset(RateTable rateTable) {
+            Arrays.fill(keys, 0);
+            Arrays.fill(referenced, false);
+            owner = rateTable;
+        }
+    }
+}
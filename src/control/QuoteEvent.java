@@ -0,0 +1,62 @@
+package control;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for a single quote.
+ *
+ * <p>Only the quotes timed by {@link PricingMetrics} create this event, and by default only those slower than
+ * the threshold are recorded, so it can stay enabled in production. Lower the threshold in the recording
+ * settings to see regular quotes as well.</p>
+ */
+@Name("control.Quote")
+@Label("Shipping Quote")
+@Description("A sampled quote against a compiled rate table")
+@Category({"Shipping Cost Calculator", "Pricing"})
+@Threshold("10 us")
+@StackTrace(false)
+final class QuoteEvent extends Event {
+
+    @Label("Length")
+    int length;
+
+    @Label("Width")
+    int width;
+
+    @Label("Height")
+    int height;
+
+    @Label("Weight")
+    int weight;
+
+    @Label("Tier Index")
+    @Description("Index of the matching entry, or -1 if the package was rejected")
+    int tier;
+
+    @Label("Status")
+    String status;
+
+    /**
+     * Ends the event and records it if it exceeds the threshold.
+     *
+     * @param result The entry index, or the negated {@link QuoteStatus} if the package was rejected.
+     */
+    void complete(int length, int width, int height, int weight, int result) {
+        end();
+        if (shouldCommit()) {
+            this.length = length;
+            this.width = width;
+            this.height = height;
+            this.weight = weight;
+            this.tier = Math.max(result, -1);
+            this.status = QuoteStatus.label(result < 0 ? (byte) -result : QuoteStatus.OK);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package control;
+
+/**
+ * Status codes reported for each package priced by {@link BatchCalculator} or
+ * {@link Calculator#quote(RateTable, int, int, int, int)}.
+ */
+public final class QuoteStatus {
+
+    /** The package was priced successfully. */
+    public static final byte OK = 0;
+    /** A dimension or the weight is less than or equal to zero. */
+    public static final byte INVALID_PACKET = 1;
+    /** The girth of the package exceeds 300 cm, the default limit of tariffs without per-entry girth limits. */
+    public static final byte GIRTH_EXCEEDED = 2;
+    /** No configuration entry accommodates the package. */
+    public static final byte NO_MATCHING_ENTRY = 3;
+
+    private QuoteStatus() {
+    }
+
+    /**
+     * Returns the constant name of a status code, e.g. {@code NO_MATCHING_ENTRY}, for machine-readable output.
+     *
+     * @param status The status code.
+     * @return The name of the status.
+     */
+    public static String label(byte status) {
+        return switch (status) {
+            case OK -> "OK";
+            case INVALID_PACKET -> "INVALID_PACKET";
+            case GIRTH_EXCEEDED -> "GIRTH_EXCEEDED";
+            case NO_MATCHING_ENTRY -> "NO_MATCHING_ENTRY";
+            default -> "UNKNOWN";
+        };
+    }
+
+    /**
+     * Returns a human-readable description of a status code, matching the messages of the
+     * exceptions thrown by {@link data.Packet} and {@link Calculator}.
+     *
+     * @param status The status code.
+     * @return The description of the status.
+     */
+    public static String describe(byte status) {
+        return switch (status) {
+            case OK -> "OK";
+            case INVALID_PACKET -> "Dimensions and weight must be greater than zero.";
+            case GIRTH_EXCEEDED -> "The girth of the package must not exceed 300 cm.";
+            case NO_MATCHING_ENTRY -> "The package exceeds the allowed dimensions or weight.";
+            default -> "Unknown status: " + status;
+        };
+    }
+}
@@ -0,0 +1,679 @@
+package control;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * An immutable, compiled snapshot of the shipping rates.
+ *
+ * <p>The configuration is parsed exactly once into primitive limit columns, so looking up a rate
+ * requires neither file access nor any allocation. Entries keep the order in which they were
+ * supplied and are evaluated with the same first-match semantics as
+ * {@link Calculator#calculateCostFromConfig(Properties, int[], int)}.</p>
+ *
+ * <p>Lookups use a precomputed {@link TariffGrid} whenever its cells fit into the grid memory budget,
+ * which makes pricing O(1) for tariffs with coarse breakpoints. Otherwise tables with at least
+ * {@value #INDEX_THRESHOLD} entries are indexed by a {@link DominanceIndex}, so lookups in large contract
+ * tariffs still take sub-linear time, and smaller tables are scanned linearly. Mid-sized tables of up to
+ * {@value #VECTOR_SCAN_LIMIT} entries are instead scanned by a {@link VectorTariffScanner} if the Vector API is
+ * available, which compares a package against a whole vector of entries per instruction and beats the index
+ * at that size. The JVM must be started with {@code --add-modules jdk.incubator.vector} for that, see
+ * {@link VectorTariffScanner}.</p>
+ *
+ * <p>Entries may additionally limit the girth of a package, its longest side plus twice the sum of the other
+ * two, and its volumetric weight, its volume in cubic millimeters divided by the entry's divisor. Carriers
+ * publish the divisor in cm&sup3;/kg, which is the same number. Both limits are compiled into extra columns:
+ * the girth limit as is and the volumetric divisor as the largest volume the weight limit allows, so a
+ * package is still matched by plain comparisons against values computed once per quote. The grid and index
+ * only cover the four axes; the first entry they return is checked against the extra limits and, only if it
+ * fails them, the remaining entries are searched.</p>
+ */
+public final class RateTable {
+
+    /** Minimum number of entries for which a {@link DominanceIndex} is built. */
+    public static final int INDEX_THRESHOLD = 64;
+
+    /** Maximum number of entries for which lookups without a grid use a {@link VectorTariffScanner}. */
+    public static final int VECTOR_SCAN_LIMIT = 512;
+
+    private final int[] lengthLimits; // Smallest side limit per entry in millimeters
+    private final int[] widthLimits;  // Middle side limit per entry in millimeters
+    private final int[] heightLimits; // Largest side limit per entry in millimeters
+    private final int[] weightLimits; // Weight limit per entry in grams
+    private final double[] prices;    // Price per entry in Euros
+    private final long[] priceCents;  // Price per entry in Euro cents
+    private final int[] girths;       // Girth limit per entry in millimeters, 0 if none; null if no entry has extra limits
+    private final int[] divisors;     // Volumetric divisor per entry, 0 if none; null if no entry has extra limits
+    private final int[] girthLimits;  // Girth limits with Integer.MAX_VALUE for none, null if no entry has extra limits
+    private final long[] volumeLimits; // Largest volume per entry in cubic millimeters, null if no entry has extra limits
+    private final boolean girthLimited; // Whether any entry limits the girth, which replaces the default girth limit
+    private final DominanceIndex index; // Null for small tables, which are scanned linearly
+    private final VectorTariffScanner scanner; // Null unless the table is mid-sized and the Vector API is available
+    private final TariffGrid grid;      // Null if the grid exceeds the memory budget
+
+    /**
+     * Constructs a rate table from already parsed columns. All arrays must have the same length.
+     */
+    private RateTable(int[] lengthLimits, int[] widthLimits, int[] heightLimits, int[] weightLimits, double[] prices,
+                      int[] girths, int[] divisors, long gridMemoryBudget) {
+        this(lengthLimits, widthLimits, heightLimits, weightLimits, prices, toCents(prices), girths, divisors,
+                gridMemoryBudget);
+    }
+
+    /**
+     * Constructs a rate table from already parsed columns including the prices in cents.
+     */
+    private RateTable(int[] lengthLimits, int[] widthLimits, int[] heightLimits, int[] weightLimits, double[] prices,
+                      long[] priceCents, int[] girths, int[] divisors, long gridMemoryBudget) {
+        this.lengthLimits = lengthLimits;
+        this.widthLimits = widthLimits;
+        this.heightLimits = heightLimits;
+        this.weightLimits = weightLimits;
+        this.prices = prices;
+        this.priceCents = priceCents;
+        if (anyPositive(girths) || anyPositive(divisors)) {
+            this.girths = girths != null ? girths : new int[prices.length];
+            this.divisors = divisors != null ? divisors : new int[prices.length];
+            this.girthLimits = girthLimits(this.girths);
+            this.volumeLimits = volumeLimits(weightLimits, this.divisors);
+            this.girthLimited = anyPositive(girths);
+        } else {
+            this.girths = null;
+            this.divisors = null;
+            this.girthLimits = null;
+            this.volumeLimits = null;
+            this.girthLimited = false;
+        }
+        this.index = prices.length >= INDEX_THRESHOLD
+                ? new DominanceIndex(lengthLimits, widthLimits, heightLimits, weightLimits, girthLimits, volumeLimits)
+                : null;
+        this.scanner = prices.length >= INDEX_THRESHOLD && prices.length <= VECTOR_SCAN_LIMIT
+                && VectorTariffScanner.laneCount() > 1 ? VectorTariffScanner.of(this) : null;
+        this.grid = TariffGrid.build(lengthLimits, widthLimits, heightLimits, weightLimits, this, gridMemoryBudget);
+    }
+
+    /**
+     * Constructs a rate table sharing the limit columns, index and grid of another table.
+     */
+    private RateTable(RateTable limits, double[] prices, long[] priceCents) {
+        this.lengthLimits = limits.lengthLimits;
+        this.widthLimits = limits.widthLimits;
+        this.heightLimits = limits.heightLimits;
+        this.weightLimits = limits.weightLimits;
+        this.girths = limits.girths;
+        this.divisors = limits.divisors;
+        this.girthLimits = limits.girthLimits;
+        this.volumeLimits = limits.volumeLimits;
+        this.girthLimited = limits.girthLimited;
+        this.index = limits.index;
+        this.scanner = limits.scanner;
+        this.grid = limits.grid;
+        this.prices = prices;
+        this.priceCents = priceCents;
+    }
+
+    /**
+     * Compiles a rate table from parsed columns, which must all have the same length, including the optional
+     * girth and volumetric limits.
+     *
+     * @param columns          The parsed columns; the arrays are used directly and must not be modified afterwards.
+     * @param priceCents       Prices per entry in Euro cents, as returned by {@link #toCents(double[])}.
+     * @param gridMemoryBudget The maximum size of the lookup grid in bytes; {@code 0} disables the grid.
+     * @return The compiled rate table.
+     */
+    static RateTable fromColumns(Columns columns, long[] priceCents, long gridMemoryBudget) {
+        return new RateTable(columns.lengths(), columns.widths(), columns.heights(), columns.weights(),
+                columns.prices(), priceCents, columns.girths(), columns.divisors(), gridMemoryBudget);
+    }
+
+    /**
+     * Creates a table with the limits, index and grid of this table but different prices. Nothing but the
+     * table object itself is allocated; the price arrays are used directly and must not be modified afterwards.
+     *
+     * @param prices     Prices per entry in Euros.
+     * @param priceCents Prices per entry in Euro cents, as returned by {@link #toCents(double[])}.
+     * @return The new table.
+     * @throws IllegalArgumentException if the number of prices does not match the number of entries.
+     */
+    RateTable withPrices(double[] prices, long[] priceCents) {
+        if (prices.length != this.prices.length || priceCents.length != this.prices.length) {
+            throw new IllegalArgumentException("Expected " + this.prices.length + " prices.");
+        }
+        return new RateTable(this, prices, priceCents);
+    }
+
+    /**
+     * Converts prices in Euros to whole Euro cents.
+     *
+     * @param prices Prices in Euros.
+     * @return The rounded prices in cents.
+     */
+    static long[] toCents(double[] prices) {
+        long[] cents = new long[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            cents[i] = Math.round(prices[i] * 100);
+        }
+        return cents;
+    }
+
+    /**
+     * Compiles a rate table from a list of configuration entries, keeping their order.
+     *
+     * @param entries The configuration entries.
+     * @return The compiled rate table.
+     */
+    public static RateTable fromEntries(List<ConfigEntry> entries) {
+        return fromEntries(entries, TariffGrid.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Compiles a rate table from a list of configuration entries with a custom grid memory budget.
+     *
+     * @param entries          The configuration entries.
+     * @param gridMemoryBudget The maximum size of the lookup grid in bytes; {@code 0} disables the grid.
+     * @return The compiled rate table.
+     */
+    public static RateTable fromEntries(List<ConfigEntry> entries, long gridMemoryBudget) {
+        int size = entries.size();
+        int[] lengths = new int[size];
+        int[] widths = new int[size];
+        int[] heights = new int[size];
+        int[] weights = new int[size];
+        double[] prices = new double[size];
+        int[] girths = new int[size];
+        int[] divisors = new int[size];
+        for (int i = 0; i < size; i++) {
+            ConfigEntry entry = entries.get(i);
+            lengths[i] = entry.getLength();
+            widths[i] = entry.getWidth();
+            heights[i] = entry.getHeight();
+            weights[i] = entry.getWeight();
+            prices[i] = entry.getPrice();
+            girths[i] = entry.getGirth();
+            divisors[i] = entry.getVolumetricDivisor();
+        }
+        return new RateTable(lengths, widths, heights, weights, prices, girths, divisors, gridMemoryBudget);
+    }
+
+    /**
+     * Compiles a rate table from configuration properties in the {@code entry.N.dimensions} /
+     * {@code entry.N.price} format, with the optional keys {@code entry.N.girth} and
+     * {@code entry.N.volumetricDivisor}.
+     *
+     * @param properties The configuration properties.
+     * @return The compiled rate table.
+     * @throws RuntimeException if an entry has an invalid format.
+     */
+    public static RateTable fromProperties(Properties properties) {
+        Columns columns = parseColumns(properties);
+        return new RateTable(columns.lengths(), columns.widths(), columns.heights(), columns.weights(),
+                columns.prices(), columns.girths(), columns.divisors(), TariffGrid.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * The parsed primitive columns of a configuration, before compilation.
+     *
+     * @param lengths  Length limits per entry.
+     * @param widths   Width limits per entry.
+     * @param heights  Height limits per entry.
+     * @param weights  Weight limits per entry.
+     * @param prices   Prices per entry in Euros.
+     * @param girths   Girth limits per entry, {@code 0} for none; {@code null} if no entry has one.
+     * @param divisors Volumetric divisors per entry, {@code 0} for none; {@code null} if no entry has one.
+     */
+    record Columns(int[] lengths, int[] widths, int[] heights, int[] weights, double[] prices,
+                   int[] girths, int[] divisors) {
+
+        /**
+         * Creates columns without girth and volumetric limits.
+         *
+         * @param lengths Length limits per entry.
+         * @param widths  Width limits per entry.
+         * @param heights Height limits per entry.
+         * @param weights Weight limits per entry.
+         * @param prices  Prices per entry in Euros.
+         */
+        Columns(int[] lengths, int[] widths, int[] heights, int[] weights, double[] prices) {
+            this(lengths, widths, heights, weights, prices, null, null);
+        }
+
+        /**
+         * Selects entries by index.
+         *
+         * @param indexes The indexes of the entries to keep, in their new order.
+         * @return New columns of the selected entries, or these columns if the indexes select every entry in
+         *         order.
+         */
+        Columns select(int[] indexes) {
+            if (isIdentity(indexes)) {
+                return this;
+            }
+            int size = indexes.length;
+            int[] selectedLengths = new int[size];
+            int[] selectedWidths = new int[size];
+            int[] selectedHeights = new int[size];
+            int[] selectedWeights = new int[size];
+            double[] selectedPrices = new double[size];
+            int[] selectedGirths = girths != null ? new int[size] : null;
+            int[] selectedDivisors = divisors != null ? new int[size] : null;
+            for (int i = 0; i < size; i++) {
+                int entry = indexes[i];
+                selectedLengths[i] = lengths[entry];
+                selectedWidths[i] = widths[entry];
+                selectedHeights[i] = heights[entry];
+                selectedWeights[i] = weights[entry];
+                selectedPrices[i] = prices[entry];
+                if (selectedGirths != null) {
+                    selectedGirths[i] = girths[entry];
+                }
+                if (selectedDivisors != null) {
+                    selectedDivisors[i] = divisors[entry];
+                }
+            }
+            return new Columns(selectedLengths, selectedWidths, selectedHeights, selectedWeights, selectedPrices,
+                    selectedGirths, selectedDivisors);
+        }
+
+        private boolean isIdentity(int[] indexes) {
+            if (indexes.length != prices.length) {
+                return false;
+            }
+            for (int i = 0; i < indexes.length; i++) {
+                if (indexes[i] != i) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Parses configuration properties directly into primitive columns, keeping the entry order.
+     *
+     * @param properties The configuration properties.
+     * @return The parsed columns.
+     * @throws RuntimeException if an entry has an invalid format.
+     */
+    static Columns parseColumns(Properties properties) {
+        int size = 0;
+        while (properties.getProperty("entry." + size + ".dimensions") != null
+                && properties.getProperty("entry." + size + ".price") != null) {
+            size++;
+        }
+
+        int[] lengths = new int[size];
+        int[] widths = new int[size];
+        int[] heights = new int[size];
+        int[] weights = new int[size];
+        double[] prices = new double[size];
+        int[] girths = null;
+        int[] divisors = null;
+        for (int i = 0; i < size; i++) {
+            String dimensionsKey = "entry." + i + ".dimensions";
+            String[] limits = properties.getProperty(dimensionsKey).split("x");
+            if (limits.length != 4) {
+                throw new RuntimeException("Invalid format in configuration file for entry: " + dimensionsKey);
+            }
+            lengths[i] = Integer.parseInt(limits[0]);
+            widths[i] = Integer.parseInt(limits[1]);
+            heights[i] = Integer.parseInt(limits[2]);
+            weights[i] = Integer.parseInt(limits[3]);
+            prices[i] = Double.parseDouble(properties.getProperty("entry." + i + ".price"));
+            String girth = properties.getProperty("entry." + i + ".girth");
+            if (girth != null) {
+                if (girths == null) {
+                    girths = new int[size];
+                }
+                girths[i] = Integer.parseInt(girth);
+            }
+            String divisor = properties.getProperty("entry." + i + ".volumetricDivisor");
+            if (divisor != null) {
+                if (divisors == null) {
+                    divisors = new int[size];
+                }
+                divisors[i] = Integer.parseInt(divisor);
+            }
+        }
+        return new Columns(lengths, widths, heights, weights, prices, girths, divisors);
+    }
+
+    /**
+     * Loads and compiles a rate table from a configuration file.
+     *
+     * @param file The configuration file.
+     * @return The compiled rate table.
+     * @throws RuntimeException if the file cannot be loaded or has an invalid format.
+     */
+    public static RateTable load(File file) {
+        TariffCompileEvent event = new TariffCompileEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Properties properties = loadProperties(file);
+        long parsed = System.nanoTime();
+        RateTable rateTable = fromProperties(properties);
+        event.complete(file.getPath(), rateTable, parsed - start, System.nanoTime() - parsed);
+        return rateTable;
+    }
+
+    /**
+     * Reads the raw configuration properties from a file.
+     *
+     * @param file The configuration file.
+     * @return The loaded properties.
+     * @throws RuntimeException if the file cannot be loaded.
+     */
+    static Properties loadProperties(File file) {
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading configuration file: " + e.getMessage());
+        }
+        return properties;
+    }
+
+    /**
+     * Finds the first entry whose limits accommodate the given package.
+     *
+     * @param shortest The shortest side of the package in millimeters.
+     * @param middle   The middle side of the package in millimeters.
+     * @param longest  The longest side of the package in millimeters.
+     * @param weight   The weight of the package in grams.
+     * @return The index of the matching entry, or {@code -1} if no entry matches.
+     */
+    public int findEntry(int shortest, int middle, int longest, int weight) {
+        if (girthLimits == null) {
+            if (grid != null) {
+                return grid.findEntry(shortest, middle, longest, weight);
+            }
+            if (scanner != null) {
+                return scanner.findEntry(shortest, middle, longest, weight);
+            }
+            return scan(shortest, middle, longest, weight);
+        }
+
+        long girth = girth(shortest, middle, longest);
+        long volume = volume(shortest, middle, longest);
+        int first = 0;
+        if (grid != null) {
+            // No entry before the one of the grid cell accepts the four values, so it is the first candidate
+            int entry = grid.findEntry(shortest, middle, longest, weight);
+            if (entry < 0 || girth <= girthLimits[entry] && volume <= volumeLimits[entry]) {
+                return entry;
+            }
+            first = entry + 1;
+        }
+        if (scanner != null) {
+            return scanner.findEntry(shortest, middle, longest, weight);
+        }
+        if (index != null) {
+            return index.findFirst(shortest, middle, longest, weight, girth, volume);
+        }
+        for (int i = first; i < prices.length; i++) {
+            if (shortest <= lengthLimits[i] && middle <= widthLimits[i] && longest <= heightLimits[i]
+                    && weight <= weightLimits[i] && girth <= girthLimits[i] && volume <= volumeLimits[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first entry whose four limits accommodate the given values, ignoring girth and volumetric
+     * limits and the grid. Used to fill the grid.
+     *
+     * @return The index of the matching entry, or {@code -1} if no entry matches.
+     */
+    int scan(int shortest, int middle, int longest, int weight) {
+        if (index != null) {
+            return index.findFirst(shortest, middle, longest, weight);
+        }
+        for (int i = 0; i < prices.length; i++) {
+            if (shortest <= lengthLimits[i] && middle <= widthLimits[i]
+                    && longest <= heightLimits[i] && weight <= weightLimits[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the girth of a package: its longest side plus twice the sum of the other two sides.
+     *
+     * @param shortest The shortest side in millimeters.
+     * @param middle   The middle side in millimeters.
+     * @param longest  The longest side in millimeters.
+     * @return The girth in millimeters.
+     */
+    static long girth(int shortest, int middle, int longest) {
+        return longest + 2L * shortest + 2L * middle;
+    }
+
+    /**
+     * Returns the volume of a package, saturated at {@link Long#MAX_VALUE}.
+     *
+     * @param shortest The shortest side in millimeters.
+     * @param middle   The middle side in millimeters.
+     * @param longest  The longest side in millimeters.
+     * @return The volume in cubic millimeters.
+     */
+    static long volume(int shortest, int middle, int longest) {
+        long area = (long) shortest * middle;
+        return longest > 0 && area > Long.MAX_VALUE / longest ? Long.MAX_VALUE : area * longest;
+    }
+
+    /**
+     * Indicates whether a column of optional limits sets any limit.
+     */
+    private static boolean anyPositive(int[] values) {
+        if (values != null) {
+            for (int value : values) {
+                if (value > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles girth limits, replacing "no limit" by {@link Integer#MAX_VALUE} so lookups need no extra branch.
+     *
+     * @param girths Girth limits per entry, {@code 0} for none.
+     * @return The compiled limits.
+     */
+    static int[] girthLimits(int[] girths) {
+        int[] limits = new int[girths.length];
+        for (int i = 0; i < girths.length; i++) {
+            limits[i] = girths[i] > 0 ? girths[i] : Integer.MAX_VALUE;
+        }
+        return limits;
+    }
+
+    /**
+     * Compiles volumetric divisors into the largest volume each entry accepts. A package's volumetric weight
+     * {@code volume / divisor} stays within the weight limit exactly if {@code volume <= weight * divisor}.
+     *
+     * @param weights  Weight limits per entry in grams.
+     * @param divisors Volumetric divisors per entry in cubic millimeters per gram, {@code 0} for none.
+     * @return The largest volume per entry in cubic millimeters, {@link Long#MAX_VALUE} for none.
+     */
+    static long[] volumeLimits(int[] weights, int[] divisors) {
+        long[] limits = new long[divisors.length];
+        for (int i = 0; i < divisors.length; i++) {
+            limits[i] = divisors[i] > 0 ? (long) weights[i] * divisors[i] : Long.MAX_VALUE;
+        }
+        return limits;
+    }
+
+    /**
+     * Returns the limit column of the given axis. The array is shared and must not be modified.
+     *
+     * @param axis {@code 0} for the shortest side, {@code 1} for the middle side, {@code 2} for the longest side
+     *             and {@code 3} for the weight.
+     * @return The limits per entry.
+     */
+    int[] limits(int axis) {
+        return switch (axis) {
+            case 0 -> lengthLimits;
+            case 1 -> widthLimits;
+            case 2 -> heightLimits;
+            case 3 -> weightLimits;
+            default -> throw new IllegalArgumentException("Invalid axis: " + axis);
+        };
+    }
+
+    /**
+     * Returns the girth limit column as configured. The array is shared and must not be modified.
+     *
+     * @return The girth limits per entry, {@code 0} for none, or {@code null} if no entry has a girth or
+     *         volumetric limit.
+     */
+    int[] girths() {
+        return girths;
+    }
+
+    /**
+     * Returns the volumetric divisor column as configured. The array is shared and must not be modified.
+     *
+     * @return The divisors per entry, {@code 0} for none, or {@code null} if no entry has a girth or
+     *         volumetric limit.
+     */
+    int[] divisors() {
+        return divisors;
+    }
+
+    /**
+     * Returns the compiled girth limits, see {@link #girthLimits(int[])}. The array is shared and must not be
+     * modified.
+     *
+     * @return The limits per entry, or {@code null} if no entry has a girth or volumetric limit.
+     */
+    int[] girthLimits() {
+        return girthLimits;
+    }
+
+    /**
+     * Returns the compiled volume limits, see {@link #volumeLimits(int[], int[])}. The array is shared and must
+     * not be modified.
+     *
+     * @return The limits per entry, or {@code null} if no entry has a girth or volumetric limit.
+     */
+    long[] volumeLimits() {
+        return volumeLimits;
+    }
+
+    /**
+     * Indicates whether any entry limits the girth or volumetric weight of a package.
+     *
+     * @return {@code true} if lookups check the extra limits.
+     */
+    public boolean hasExtraLimits() {
+        return girthLimits != null;
+    }
+
+    /**
+     * Indicates whether any entry limits the girth of a package. Such tables replace the default girth limit
+     * of {@link Calculator} by their per-entry limits.
+     *
+     * @return {@code true} if at least one entry has a girth limit.
+     */
+    public boolean hasGirthLimits() {
+        return girthLimited;
+    }
+
+    /**
+     * Returns the price column. The array is shared and must not be modified.
+     *
+     * @return The prices per entry in Euros.
+     */
+    double[] prices() {
+        return prices;
+    }
+
+    /**
+     * Returns the dominance index of this table.
+     *
+     * @return The index, or {@code null} if the table is scanned linearly.
+     */
+    DominanceIndex index() {
+        return index;
+    }
+
+    /**
+     * Returns the lookup grid of this table.
+     *
+     * @return The grid, or {@code null} if it exceeded the memory budget.
+     */
+    TariffGrid grid() {
+        return grid;
+    }
+
+    /**
+     * Returns the approximate heap size of the data derived from the limit columns: the extra limits prepared
+     * for lookups, the index and the grid. They are shared with tables created by
+     * {@link #withPrices(double[], long[])}.
+     *
+     * @return The size in bytes.
+     */
+    long derivedMemoryBytes() {
+        return (girthLimits != null ? ((long) Integer.BYTES + Long.BYTES) * girthLimits.length : 0)
+                + (index != null ? index.memoryBytes() : 0)
+                + (scanner != null ? scanner.memoryBytes() : 0)
+                + (grid != null ? grid.memoryBytes() : 0);
+    }
+
+    /**
+     * Indicates whether lookups are answered by a precomputed grid.
+     *
+     * @return {@code true} if the grid fits into the memory budget.
+     */
+    public boolean hasGrid() {
+        return grid != null;
+    }
+
+    /**
+     * Returns the number of entries in this table.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return prices.length;
+    }
+
+    /**
+     * Returns the price of the entry at the given index.
+     *
+     * @param index The entry index.
+     * @return The price in Euros.
+     */
+    public double getPrice(int index) {
+        return prices[index];
+    }
+
+    /**
+     * Returns the price of the entry at the given index in Euro cents.
+     *
+     * @param index The entry index.
+     * @return The price rounded to whole cents.
+     */
+    public long getPriceCents(int index) {
+        return priceCents[index];
+    }
+
+    /**
+     * Returns a copy of the entry at the given index.
+     *
+     * @param index The entry index.
+     * @return A new {@link ConfigEntry} holding the limits and price of the entry.
+     */
+    public ConfigEntry getEntry(int index) {
+        return new ConfigEntry(lengthLimits[index], widthLimits[index], heightLimits[index],
+                weightLimits[index], prices[index], girths != null ? girths[index] : 0,
+                divisors != null ? divisors[index] : 0);
+    }
+}
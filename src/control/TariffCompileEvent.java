@@ -0,0 +1,56 @@
+package control;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for loading a configuration file and compiling it into a {@link RateTable}.
+ */
+@Name("control.TariffCompile")
+@Label("Tariff Compile")
+@Description("Loading and compiling a shipping rate configuration")
+@Category({"Shipping Cost Calculator", "Configuration"})
+final class TariffCompileEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Entry Count")
+    int entries;
+
+    @Label("Grid")
+    @Description("Whether the table was compiled into a breakpoint grid")
+    boolean grid;
+
+    @Label("Parse Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseTime;
+
+    @Label("Compile Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long compileTime;
+
+    /**
+     * Ends the event and records it if enabled.
+     *
+     * @param file         The configuration file.
+     * @param rateTable    The compiled table.
+     * @param parseNanos   The time spent reading and parsing the file.
+     * @param compileNanos The time spent building the table.
+     */
+    void complete(String file, RateTable rateTable, long parseNanos, long compileNanos) {
+        end();
+        if (shouldCommit()) {
+            this.file = file;
+            this.entries = rateTable.size();
+            this.grid = rateTable.hasGrid();
+            this.parseTime = parseNanos;
+            this.compileTime = compileNanos;
+            commit();
+        }
+    }
+}
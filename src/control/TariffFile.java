@@ -0,0 +1,186 @@
+package control;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Writes compiled rate tables in a versioned binary format that {@link MappedTariff} prices from without
+ * parsing.
+ *
+ * <p>All values are little-endian. The file starts with a {@value #HEADER_SIZE} byte header:</p>
+ * <pre>
+ *  0  int    magic "TARF"
+ *  4  int    format version ({@value #VERSION})
+ *  8  int    flags: {@value #FLAG_INDEX} = dominance index present, {@value #FLAG_GRID} = grid present,
+ *            {@value #FLAG_EXTRA_LIMITS} = girth and volume limits present,
+ *            {@value #FLAG_GIRTH_LIMITS} = an entry limits the girth, which replaces the default girth limit
+ * 12  int    entry count n
+ * 16  long   CRC32 of all bytes after the header
+ * 24  int[4] grid breakpoint count per axis (0 without grid)
+ * 40         reserved, zero
+ * </pre>
+ * <p>followed by the sections</p>
+ * <pre>
+ * long[n]      prices in Euro cents
+ * double[n]    prices in Euros
+ * int[4][n]    length, width, height and weight limits
+ * int[n]       girth limits, if present (see {@link RateTable#girthLimits(int[])})
+ * long[n]      volume limits, if present (see {@link RateTable#volumeLimits(int[], int[])})
+ * int[10][n]   dominance index nodes, if present (see {@link DominanceIndex#nodeArrays()})
+ * int[n]       subtree maxima of the girth limits, if index and girth and volume limits are present
+ * long[n]      subtree maxima of the volume limits, likewise
+ * int[]        grid breakpoints of the four axes, if present
+ * short[]      grid cells, if present
+ * </pre>
+ * <p>Version 2 added the girth and volume limits; files of version 1 never have them and are still read.</p>
+ */
+public final class TariffFile {
+
+    /** Size of the file header in bytes. */
+    public static final int HEADER_SIZE = 64;
+    /** Current format version. */
+    public static final int VERSION = 2;
+
+    static final int MAGIC = 0x46524154; // "TARF" in little-endian byte order
+    static final int FLAG_INDEX = 1;
+    static final int FLAG_GRID = 2;
+    static final int FLAG_EXTRA_LIMITS = 4;
+    static final int FLAG_GIRTH_LIMITS = 8;
+    static final int INDEX_ARRAYS = 10;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private TariffFile() {
+    }
+
+    /**
+     * Compiles configuration entries, for example those of {@link ConfigHandler#getConfigEntries()}, and writes
+     * them as a binary tariff file.
+     *
+     * @param entries The configuration entries, in lookup order.
+     * @param file    The file to write; it is created or truncated.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void export(List<ConfigEntry> entries, Path file) throws IOException {
+        write(RateTable.fromEntries(entries), file);
+    }
+
+    /**
+     * Writes a compiled rate table including its index and grid.
+     *
+     * @param rateTable The compiled shipping rates.
+     * @param file      The file to write; it is created or truncated.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(RateTable rateTable, Path file) throws IOException {
+        int size = rateTable.size();
+        DominanceIndex index = rateTable.index();
+        TariffGrid grid = rateTable.grid();
+        int[][] breakpoints = grid != null ? grid.breakpoints() : null;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            BodyWriter body = new BodyWriter(channel);
+            for (int i = 0; i < size; i++) {
+                body.buffer(Long.BYTES).putLong(rateTable.getPriceCents(i));
+            }
+            for (int i = 0; i < size; i++) {
+                body.buffer(Double.BYTES).putDouble(rateTable.getPrice(i));
+            }
+            for (int axis = 0; axis < 4; axis++) {
+                body.putInts(rateTable.limits(axis));
+            }
+            if (rateTable.hasExtraLimits()) {
+                body.putInts(rateTable.girthLimits());
+                body.putLongs(rateTable.volumeLimits());
+            }
+            if (index != null) {
+                for (int[] nodes : index.nodeArrays()) {
+                    body.putInts(nodes);
+                }
+                if (rateTable.hasExtraLimits()) {
+                    body.putInts(index.maxGirths());
+                    body.putLongs(index.maxVolumes());
+                }
+            }
+            if (grid != null) {
+                for (int[] axis : breakpoints) {
+                    body.putInts(axis);
+                }
+                for (short cell : grid.cells()) {
+                    body.buffer(Short.BYTES).putShort(cell);
+                }
+            }
+            long checksum = body.finish();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION)
+                    .putInt((index != null ? FLAG_INDEX : 0) | (grid != null ? FLAG_GRID : 0)
+                            | (rateTable.hasExtraLimits() ? FLAG_EXTRA_LIMITS : 0)
+                            | (rateTable.hasGirthLimits() ? FLAG_GIRTH_LIMITS : 0))
+                    .putInt(size).putLong(checksum);
+            for (int axis = 0; axis < 4; axis++) {
+                header.putInt(breakpoints != null ? breakpoints[axis].length : 0);
+            }
+            header.clear();
+            channel.write(header, 0);
+        }
+    }
+
+    /**
+     * Streams the sections after the header through a direct buffer while computing their checksum.
+     */
+    private static final class BodyWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+
+        BodyWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Returns the buffer after making sure it has room for the given number of bytes.
+         */
+        ByteBuffer buffer(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+            return buffer;
+        }
+
+        void putInts(int[] values) throws IOException {
+            for (int value : values) {
+                buffer(Integer.BYTES).putInt(value);
+            }
+        }
+
+        void putLongs(long[] values) throws IOException {
+            for (long value : values) {
+                buffer(Long.BYTES).putLong(value);
+            }
+        }
+
+        long finish() throws IOException {
+            flush();
+            return crc.getValue();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
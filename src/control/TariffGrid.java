@@ -0,0 +1,188 @@
+package control;
+
+import java.util.Arrays;
+
+/**
+ * A precomputed lookup grid over the breakpoints of a {@link RateTable}.
+ *
+ * <p>Every axis (shortest side, middle side, longest side, weight) is cut at the distinct limits that occur
+ * in the table. A package value {@code v} falls into cell {@code k} of an axis if
+ * {@code breakpoints[k - 1] < v <= breakpoints[k]}; all packages within one 4-D cell are dominated by exactly
+ * the same entries, so the winning entry can be computed once per cell at build time. A lookup is then four
+ * binary searches and one array read. Cells store the entry index plus one in a {@code short}, zero meaning
+ * that no entry matches.</p>
+ */
+final class TariffGrid {
+
+    /** Default upper bound for the cell array of a grid in bytes. */
+    static final long DEFAULT_MEMORY_BUDGET = 16L * 1024 * 1024;
+
+    private final int[][] axes; // Breakpoints of the shortest side, middle side, longest side and weight
+    private final short[] cells;
+
+    private TariffGrid(int[][] axes, short[] cells) {
+        this.axes = axes;
+        this.cells = cells;
+    }
+
+    /**
+     * Builds a grid for the given limit columns if it fits into the memory budget.
+     *
+     * @param lengths      Length limits per entry.
+     * @param widths       Width limits per entry.
+     * @param heights      Height limits per entry.
+     * @param weights      Weight limits per entry.
+     * @param lookup       The table used to determine the winning entry of each cell.
+     * @param memoryBudget The maximum size of the cell array in bytes.
+     * @return The grid, or {@code null} if the table is too large or the grid would exceed the budget.
+     */
+    static TariffGrid build(int[] lengths, int[] widths, int[] heights, int[] weights,
+                            RateTable lookup, long memoryBudget) {
+        if (lengths.length >= Short.MAX_VALUE) {
+            return null;
+        }
+        int[][] axes = {breakpoints(lengths), breakpoints(widths), breakpoints(heights), breakpoints(weights)};
+        int cellCount = cellCount(axes, Short.BYTES, memoryBudget);
+        if (cellCount < 0) {
+            return null;
+        }
+
+        short[] cells = new short[cellCount];
+        int cell = 0;
+        for (int a : axes[0]) {
+            for (int b : axes[1]) {
+                for (int c : axes[2]) {
+                    for (int d : axes[3]) {
+                        // The upper corner of a cell is dominated by exactly the entries dominating the whole cell
+                        cells[cell++] = (short) (lookup.scan(a, b, c, d) + 1);
+                    }
+                }
+            }
+        }
+        return new TariffGrid(axes, cells);
+    }
+
+    /**
+     * Finds the first entry dominating the given package.
+     *
+     * @param shortest The shortest side of the package.
+     * @param middle   The middle side of the package.
+     * @param longest  The longest side of the package.
+     * @param weight   The weight of the package.
+     * @return The matching entry index, or {@code -1} if no entry matches.
+     */
+    int findEntry(int shortest, int middle, int longest, int weight) {
+        int cell = cellIndex(axes, shortest, middle, longest, weight);
+        return cell < 0 ? -1 : cells[cell] - 1;
+    }
+
+    /**
+     * Returns the breakpoints of the four axes. The arrays are shared and must not be modified.
+     *
+     * @return The breakpoints per axis.
+     */
+    int[][] breakpoints() {
+        return axes.clone();
+    }
+
+    /**
+     * Returns the cells in row-major order of the axes. The array is shared and must not be modified.
+     *
+     * @return The entry index plus one per cell.
+     */
+    short[] cells() {
+        return cells;
+    }
+
+    /**
+     * Returns the approximate heap size of the cells and breakpoints.
+     *
+     * @return The size in bytes.
+     */
+    long memoryBytes() {
+        return (long) cells.length * Short.BYTES
+                + (long) Integer.BYTES * (axes[0].length + axes[1].length + axes[2].length + axes[3].length);
+    }
+
+    /**
+     * Returns the number of cells of a grid over the given axes if the cells fit into the memory budget.
+     * The budget is checked after every axis, so the product cannot overflow.
+     *
+     * @param axes         The breakpoints per axis.
+     * @param cellBytes    The size of one cell in bytes.
+     * @param memoryBudget The maximum size of the cell array in bytes.
+     * @return The cell count, or {@code -1} if the cells exceed the budget or the maximum array length.
+     */
+    static int cellCount(int[][] axes, int cellBytes, long memoryBudget) {
+        long cellCount = 1;
+        for (int[] axis : axes) {
+            cellCount *= axis.length;
+            if (cellCount * cellBytes > memoryBudget || cellCount > Integer.MAX_VALUE) {
+                return -1;
+            }
+        }
+        return (int) cellCount;
+    }
+
+    /**
+     * Returns the row-major index of the cell containing the given package.
+     *
+     * @param axes     The breakpoints of the four axes.
+     * @param shortest The shortest side of the package.
+     * @param middle   The middle side of the package.
+     * @param longest  The longest side of the package.
+     * @param weight   The weight of the package.
+     * @return The cell index, or {@code -1} if the package exceeds the last breakpoint of an axis.
+     */
+    static int cellIndex(int[][] axes, int shortest, int middle, int longest, int weight) {
+        int a = cellOf(axes[0], shortest);
+        int b = cellOf(axes[1], middle);
+        int c = cellOf(axes[2], longest);
+        int d = cellOf(axes[3], weight);
+        if ((a | b | c | d) < 0) {
+            return -1;
+        }
+        return ((a * axes[1].length + b) * axes[2].length + c) * axes[3].length + d;
+    }
+
+    /**
+     * Returns the index of the first breakpoint greater than or equal to the value.
+     *
+     * @return The cell index, or {@code -1} if the value exceeds all breakpoints.
+     */
+    private static int cellOf(int[] breakpoints, int value) {
+        int index = Arrays.binarySearch(breakpoints, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < breakpoints.length ? index : -1;
+    }
+
+    /**
+     * Returns the distinct limits of one or more columns in ascending order. Sorts a copy instead of using a
+     * stream, which would cost several milliseconds of class loading on the first compile after JVM start.
+     *
+     * @param columns The limit columns.
+     * @return The breakpoints.
+     */
+    static int[] breakpoints(int[]... columns) {
+        int total = 0;
+        for (int[] column : columns) {
+            total += column.length;
+        }
+        int[] sorted = new int[total];
+        int offset = 0;
+        for (int[] column : columns) {
+            System.arraycopy(column, 0, sorted, offset, column.length);
+            offset += column.length;
+        }
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int limit : sorted) {
+            if (count == 0 || sorted[count - 1] != limit) {
+                sorted[count++] = limit;
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+}
@@ -0,0 +1,205 @@
+package control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds configuration entries that never or only partly take effect under first-match semantics and computes
+ * the minimal equivalent entry set.
+ *
+ * <p>Every entry accepts the packages inside a box anchored at the origin. An entry is unreachable exactly
+ * when an earlier entry dominates it, i.e. has all four limits greater than or equal to its own: a package at
+ * the entry's limits must be accepted by some earlier entry, and that entry then accepts everything the
+ * later one does. Removing unreachable entries therefore never changes a quote, but shortens every scan and
+ * shrinks the index and grid. Both checks are answered by a {@link DominanceIndex} over all entries, so the
+ * analysis stays fast for large imported tariffs.</p>
+ *
+ * <p>Girth and volumetric limits count as two more limits that must be dominated as well. A package at the
+ * entry's limits may then exceed its own girth or volume limit, so an entry covered by several earlier entries
+ * together is not detected; every entry reported as unreachable still is.</p>
+ *
+ * <p>An entry is shadowed on a side axis when earlier entries cover its limits on the other three axes. It then
+ * only wins packages beyond the largest limit of those earlier entries on the axis, which is often a mistake.
+ * The weight axis is not reported: tiers that only differ in weight are exactly how tariffs are meant to be
+ * written.</p>
+ */
+public final class TariffOptimizer {
+
+    private static final String[] AXIS_NAMES = {"shortest side", "middle side", "longest side"};
+
+    private TariffOptimizer() {
+    }
+
+    /**
+     * The kind of a finding.
+     */
+    public enum Kind {
+        /** The entry is dominated by an earlier entry and never matches. */
+        UNREACHABLE,
+        /** The entry only matches packages beyond the limits of earlier entries on one side axis. */
+        SHADOWED
+    }
+
+    /**
+     * A problem found in a configuration.
+     *
+     * @param kind      The kind of the finding.
+     * @param entry     The index of the affected entry.
+     * @param coveredBy The index of the earlier entry responsible; for {@link Kind#SHADOWED} the one with the
+     *                  largest limit on the axis.
+     * @param axis      For {@link Kind#SHADOWED} the side axis the entry still wins on, {@code 0} to {@code 2};
+     *                  {@code -1} for {@link Kind#UNREACHABLE}.
+     * @param limit     For {@link Kind#SHADOWED} the largest limit of the covering entries on that axis, above
+     *                  which the entry applies; {@code -1} otherwise.
+     */
+    public record Finding(Kind kind, int entry, int coveredBy, int axis, int limit) {
+
+        /**
+         * Describes the finding for the operator.
+         *
+         * @return A sentence naming the entries by their position in the configuration.
+         */
+        public String describe() {
+            if (kind == Kind.UNREACHABLE) {
+                return "Entry " + entry + " is unreachable, entry " + coveredBy
+                        + " accepts every package it would accept.";
+            }
+            return "Entry " + entry + " only applies to packages with a " + AXIS_NAMES[axis] + " above "
+                    + limit + " mm, entry " + coveredBy + " accepts the others.";
+        }
+    }
+
+    /**
+     * The result of an analysis.
+     *
+     * @param kept     The indexes of the entries in the minimal equivalent set, in their original order.
+     * @param findings The unreachable and shadowed entries, ordered by entry.
+     */
+    public record Result(int[] kept, List<Finding> findings) {
+
+        /**
+         * Returns the number of entries that can be removed without changing any quote.
+         *
+         * @param total The number of analyzed entries.
+         * @return The number of unreachable entries.
+         */
+        public int unreachableCount(int total) {
+            return total - kept.length;
+        }
+
+        /**
+         * Returns the findings of one kind.
+         *
+         * @param kind The kind to select.
+         * @return An unmodifiable list of the matching findings.
+         */
+        public List<Finding> findings(Kind kind) {
+            return findings.stream().filter(finding -> finding.kind() == kind).toList();
+        }
+
+        /**
+         * Returns the minimal equivalent set of the analyzed entries.
+         *
+         * @param entries The analyzed entries.
+         * @return A new list of the kept entries; the entry objects themselves are shared.
+         */
+        public List<ConfigEntry> apply(List<ConfigEntry> entries) {
+            List<ConfigEntry> optimized = new ArrayList<>(kept.length);
+            for (int index : kept) {
+                optimized.add(entries.get(index));
+            }
+            return optimized;
+        }
+    }
+
+    /**
+     * Analyzes configuration entries in their lookup order.
+     *
+     * @param entries The configuration entries, with normalized dimensions as produced by
+     *                {@link ConfigParser#sortEntries(List)}.
+     * @return The minimal equivalent set and the findings.
+     */
+    public static Result analyze(List<ConfigEntry> entries) {
+        return analyze(ConfigParser.toColumns(entries));
+    }
+
+    /**
+     * Analyzes parsed columns with normalized side limits.
+     *
+     * @param parsed The columns; prices are ignored.
+     * @return The minimal equivalent set and the findings.
+     */
+    static Result analyze(RateTable.Columns parsed) {
+        int[] lengths = parsed.lengths();
+        int[] widths = parsed.widths();
+        int[] heights = parsed.heights();
+        int[] weights = parsed.weights();
+        int size = lengths.length;
+        int[] girthLimits = RateTable.girthLimits(orNone(parsed.girths(), size));
+        long[] volumeLimits = RateTable.volumeLimits(weights, orNone(parsed.divisors(), size));
+        DominanceIndex index = new DominanceIndex(lengths, widths, heights, weights, girthLimits, volumeLimits);
+        int[][] columns = {lengths, widths, heights, weights};
+        int[] corner = new int[4];
+        int[] kept = new int[size];
+        int keptCount = 0;
+        List<Finding> findings = new ArrayList<>();
+
+        for (int entry = 0; entry < size; entry++) {
+            // The entry dominates its own corner, so any smaller result is an earlier dominating entry
+            long girth = girthLimits[entry];
+            long volume = volumeLimits[entry];
+            int first = index.findFirst(lengths[entry], widths[entry], heights[entry], weights[entry], girth, volume);
+            if (first < entry) {
+                findings.add(new Finding(Kind.UNREACHABLE, entry, first, -1, -1));
+                continue;
+            }
+            kept[keptCount++] = entry;
+            for (int axis = 0; axis < 3; axis++) {
+                for (int a = 0; a < 4; a++) {
+                    corner[a] = a == axis ? 0 : columns[a][entry];
+                }
+                int cover = index.findLargest(axis, entry, corner[0], corner[1], corner[2], corner[3], girth, volume);
+                if (cover >= 0) {
+                    findings.add(new Finding(Kind.SHADOWED, entry, cover, axis, columns[axis][cover]));
+                }
+            }
+        }
+        return new Result(Arrays.copyOf(kept, keptCount), Collections.unmodifiableList(findings));
+    }
+
+    /**
+     * Removes the entries not kept by an analysis from parsed columns.
+     *
+     * @param columns The columns that were analyzed.
+     * @param result  The analysis of the columns.
+     * @return The columns of the kept entries, or the given columns if nothing was removed.
+     */
+    static RateTable.Columns prune(RateTable.Columns columns, Result result) {
+        return columns.select(result.kept());
+    }
+
+    /**
+     * Translates the entry indexes of findings from lookup order back to the order of the configuration.
+     *
+     * @param findings The findings of an analysis of reordered entries.
+     * @param order    Per lookup position, the index of the entry in the configuration.
+     * @return The findings with configuration entry numbers, in lookup order.
+     */
+    static List<Finding> renumber(List<Finding> findings, int[] order) {
+        List<Finding> renumbered = new ArrayList<>(findings.size());
+        for (Finding finding : findings) {
+            renumbered.add(new Finding(finding.kind(), order[finding.entry()], order[finding.coveredBy()],
+                    finding.axis(), finding.limit()));
+        }
+        return Collections.unmodifiableList(renumbered);
+    }
+
+    /**
+     * Returns a column of optional limits, or a column without any limit if it is absent.
+     */
+    private static int[] orNone(int[] column, int size) {
+        return column != null ? column : new int[size];
+    }
+}
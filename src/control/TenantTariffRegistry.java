@@ -0,0 +1,341 @@
+package control;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Holds the compiled tariffs of many tenants (merchants) within a memory budget.
+ *
+ * <p>Tariffs are compiled like every other configuration (sorted and pruned by {@link ConfigParser#optimize})
+ * and loaded lazily on first use. Most tenants use small variations of the same base table, so the registry
+ * pools every column by content: tenants share each limit and price column they have in common with another
+ * tenant, even if other columns differ. The {@link DominanceIndex} and {@link TariffGrid} depend on all limits
+ * together; they are pooled per distinct set of limit columns and built on top of the shared columns. Pooled
+ * data is reference counted and released when the last tenant using it is evicted.</p>
+ *
+ * <p>When the pooled data exceeds the memory budget, cold tenants are evicted with the CLOCK (second chance)
+ * policy: a tenant used since the last sweep is skipped once. Lookups of loaded tenants never lock; loading
+ * and eviction are serialized.</p>
+ */
+public class TenantTariffRegistry {
+
+    private final Function<String, Properties> loader;
+    private final long memoryBudget;
+    private final ConcurrentHashMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final ArrayDeque<Tenant> clock = new ArrayDeque<>();           // Guarded by this
+    private final Map<Object, Pooled<Object>> columnPool = new HashMap<>();   // Guarded by this
+    private final Map<Object, Pooled<RateTable>> limitPool = new HashMap<>(); // Guarded by this
+    private long memoryUsage;                                               // Guarded by this
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a registry loading tariffs with the given function.
+     *
+     * @param loader       Returns the configuration properties of a tenant; may throw a {@link RuntimeException}.
+     * @param memoryBudget The maximum size of the pooled tariff data in bytes.
+     * @throws IllegalArgumentException if the budget is negative.
+     */
+    public TenantTariffRegistry(Function<String, Properties> loader, long memoryBudget) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Memory budget must not be negative.");
+        }
+        this.loader = loader;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Creates a registry loading the tariff of tenant {@code id} from the file {@code id.properties} in a directory.
+     *
+     * @param directory    The directory holding the tenant configuration files.
+     * @param memoryBudget The maximum size of the pooled tariff data in bytes.
+     * @return The registry.
+     */
+    public static TenantTariffRegistry forDirectory(Path directory, long memoryBudget) {
+        return new TenantTariffRegistry(tenant -> {
+            if (tenant.isEmpty() || tenant.contains("/") || tenant.contains("\\") || tenant.contains("..")) {
+                throw new IllegalArgumentException("Invalid tenant id: " + tenant);
+            }
+            return RateTable.loadProperties(directory.resolve(tenant + ".properties").toFile());
+        }, memoryBudget);
+    }
+
+    /**
+     * The memory used by a tenant.
+     *
+     * @param entries         The number of tariff entries.
+     * @param referencedBytes The size of all pooled columns, index and grid the tenant uses, including data shared
+     *                        with other tenants.
+     * @param attributedBytes The tenant's share: each pooled piece is split evenly among the tenants using it.
+     */
+    public record Footprint(int entries, long referencedBytes, long attributedBytes) {
+    }
+
+    /**
+     * Returns the tariff of a tenant, loading it on first use.
+     *
+     * @param tenant The tenant id.
+     * @return The compiled tariff.
+     * @throws RuntimeException if the tariff cannot be loaded or has an invalid format.
+     */
+    public RateTable get(String tenant) {
+        Tenant entry = tenants.get(tenant);
+        if (entry == null) {
+            entry = load(tenant);
+        }
+        entry.referenced = true;
+        return entry.table;
+    }
+
+    /**
+     * Indicates whether a tenant is currently loaded.
+     *
+     * @param tenant The tenant id.
+     * @return {@code true} if the tariff is in memory.
+     */
+    public boolean isLoaded(String tenant) {
+        return tenants.containsKey(tenant);
+    }
+
+    /**
+     * Drops the tariff of a tenant, for example after its configuration changed. It is reloaded on next use.
+     *
+     * @param tenant The tenant id.
+     */
+    public synchronized void invalidate(String tenant) {
+        Tenant entry = tenants.get(tenant);
+        if (entry != null) {
+            clock.remove(entry);
+            unload(entry);
+        }
+    }
+
+    /**
+     * Returns the memory footprint of a loaded tenant.
+     *
+     * @param tenant The tenant id.
+     * @return The footprint, or {@code null} if the tenant is not loaded.
+     */
+    public synchronized Footprint getFootprint(String tenant) {
+        Tenant entry = tenants.get(tenant);
+        if (entry == null) {
+            return null;
+        }
+        long referencedBytes = 0;
+        long attributedBytes = 0;
+        for (Pooled<?> piece : entry.pieces) {
+            referencedBytes += piece.bytes;
+            attributedBytes += piece.bytes / piece.references;
+        }
+        return new Footprint(entry.table.size(), referencedBytes, attributedBytes);
+    }
+
+    /**
+     * Returns the size of all pooled tariff data.
+     *
+     * @return The size in bytes.
+     */
+    public synchronized long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    /**
+     * Returns the number of loaded tenants.
+     *
+     * @return The tenant count.
+     */
+    public int getLoadedTenantCount() {
+        return tenants.size();
+    }
+
+    /**
+     * Returns the number of tariffs loaded so far, including reloads after an eviction.
+     *
+     * @return The load count.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * Returns the number of tenants evicted to stay within the memory budget.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Loads a tenant, pooling its columns, and evicts cold tenants if the budget is exceeded.
+     */
+    private synchronized Tenant load(String tenant) {
+        Tenant existing = tenants.get(tenant);
+        if (existing != null) {
+            return existing;
+        }
+        RateTable.Columns columns = ConfigParser.optimize(RateTable.parseColumns(loader.apply(tenant))).columns();
+        int size = columns.prices().length;
+        int[] girths = columns.girths();
+        int[] divisors = columns.divisors();
+        if (!anyPositive(girths) && !anyPositive(divisors)) {
+            girths = null;
+            divisors = null;
+        } else {
+            girths = girths != null ? girths : new int[size];
+            divisors = divisors != null ? divisors : new int[size];
+        }
+
+        List<Pooled<?>> pieces = new ArrayList<>();
+        int[] lengths = share(columns.lengths(), (long) size * Integer.BYTES, pieces);
+        int[] widths = share(columns.widths(), (long) size * Integer.BYTES, pieces);
+        int[] heights = share(columns.heights(), (long) size * Integer.BYTES, pieces);
+        int[] weights = share(columns.weights(), (long) size * Integer.BYTES, pieces);
+        if (girths != null) {
+            girths = share(girths, (long) size * Integer.BYTES, pieces);
+            divisors = share(divisors, (long) size * Integer.BYTES, pieces);
+        }
+        double[] prices = share(columns.prices(), (long) size * Double.BYTES, pieces);
+        long[] cents = share(RateTable.toCents(prices), (long) size * Long.BYTES, pieces);
+
+        // The columns are interned, so equal limit sets now consist of the same arrays
+        Object limitKey = new ContentKey(lengths, widths, heights, weights, girths, divisors);
+        Pooled<RateTable> limits = limitPool.get(limitKey);
+        if (limits == null) {
+            RateTable.Columns shared = new RateTable.Columns(lengths, widths, heights, weights, prices, girths,
+                    divisors);
+            RateTable table = RateTable.fromColumns(shared, cents, TariffGrid.DEFAULT_MEMORY_BUDGET);
+            limits = new Pooled<>(limitKey, table, table.derivedMemoryBytes());
+            limitPool.put(limitKey, limits);
+            memoryUsage += limits.bytes;
+        }
+        limits.references++;
+        pieces.add(limits);
+
+        Tenant entry = new Tenant(tenant, limits.value.withPrices(prices, cents), pieces);
+        tenants.put(tenant, entry);
+        clock.add(entry);
+        loads.increment();
+        evictCold(entry);
+        return entry;
+    }
+
+    /**
+     * Returns the pooled column with the same content as the given one, pooling it if there is none yet, and
+     * records the reference in {@code pieces}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T share(T column, long bytes, List<Pooled<?>> pieces) {
+        Object key = new ContentKey(column);
+        Pooled<Object> pooled = columnPool.get(key);
+        if (pooled == null) {
+            pooled = new Pooled<>(key, column, bytes);
+            columnPool.put(key, pooled);
+            memoryUsage += bytes;
+        }
+        pooled.references++;
+        pieces.add(pooled);
+        return (T) pooled.value;
+    }
+
+    private static boolean anyPositive(int[] values) {
+        if (values != null) {
+            for (int value : values) {
+                if (value > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sweeps the CLOCK until the pooled data fits into the budget, never evicting the given tenant.
+     */
+    private void evictCold(Tenant keep) {
+        while (memoryUsage > memoryBudget && clock.size() > 1) {
+            Tenant candidate = clock.poll();
+            if (candidate == keep || candidate.referenced) {
+                candidate.referenced = false;
+                clock.add(candidate);
+            } else {
+                unload(candidate);
+                evictions.increment();
+            }
+        }
+    }
+
+    private void unload(Tenant entry) {
+        tenants.remove(entry.id);
+        for (Pooled<?> pooled : entry.pieces) {
+            if (--pooled.references == 0) {
+                (pooled.value instanceof RateTable ? limitPool : columnPool).remove(pooled.key);
+                memoryUsage -= pooled.bytes;
+            }
+        }
+    }
+
+    /**
+     * A loaded tenant.
+     */
+    private static final class Tenant {
+        final String id;
+        final RateTable table;
+        final List<Pooled<?>> pieces; // Pooled columns, index and grid the table uses
+        volatile boolean referenced; // CLOCK reference bit
+
+        Tenant(String id, RateTable table, List<Pooled<?>> pieces) {
+            this.id = id;
+            this.table = table;
+            this.pieces = pieces;
+        }
+    }
+
+    /**
+     * Reference counted data in one of the pools: a column, or a table holding the index and grid of a limit set.
+     */
+    private static final class Pooled<T> {
+        final Object key;
+        final T value;
+        final long bytes;
+        int references;
+
+        Pooled(Object key, T value, long bytes) {
+            this.key = key;
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Compares primitive columns by content.
+     */
+    private static final class ContentKey {
+        private final Object[] columns;
+        private final int hash;
+
+        ContentKey(Object... columns) {
+            this.columns = columns;
+            this.hash = Arrays.deepHashCode(columns);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ContentKey key && hash == key.hash && Arrays.deepEquals(columns, key.columns);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package control;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates a {@link RateTable} with a data-parallel first-match scan.
+ *
+ * <p>The limit columns of the table are copied into {@code int} arrays padded to a multiple of
+ * {@value #PADDING} entries. A lookup broadcasts the sorted sides and the weight of the package into vector
+ * registers and compares them against 8 or 16 entries per instruction, depending on the preferred vector size
+ * of the CPU. The comparison masks of all axes are combined and the first set lane is the first matching entry,
+ * so the result is exactly that of {@link RateTable#findEntry(int, int, int, int)}. Padding entries have
+ * limits of {@link Integer#MIN_VALUE} and never match, so the loop needs no tail.</p>
+ *
+ * <p>Girth limits are compared in the same way. Volume limits are {@code long} values and are only checked for
+ * the lanes that accept all other limits, in entry order.</p>
+ *
+ * <p>The vector code uses the incubating {@code jdk.incubator.vector} module, which the JVM only resolves when
+ * started with {@code --add-modules jdk.incubator.vector}. Without it the scanner falls back to a scalar loop
+ * over the same columns; the vector classes are then never loaded. {@link RateTable} only creates a scanner for
+ * mid-sized tables and if the Vector API is available.</p>
+ *
+ * <p>To enable it, pass the flag to {@code java}, set {@code JDK_JAVA_OPTIONS="--add-modules jdk.incubator.vector"}
+ * for launchers that cannot take JVM options, or start an entry point with
+ * {@code mvn compile exec:exec -Dapp.mainClass=server.PricingServer}, which passes the flag already. The tests and
+ * benchmarks run with the module as well.</p>
+ */
+public final class VectorTariffScanner {
+
+    /** Number of entries the columns are padded to a multiple of, the lane count of a 512 bit int vector. */
+    public static final int PADDING = 16;
+
+    /** Indicates whether the Vector API is available in this JVM and its preferred lane count divides the padding. */
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && PADDING % Lanes.SPECIES.length() == 0;
+
+    private final int size;           // Number of entries without padding
+    private final int[] lengths;      // Smallest side limit per entry, padded
+    private final int[] widths;       // Middle side limit per entry, padded
+    private final int[] heights;      // Largest side limit per entry, padded
+    private final int[] weights;      // Weight limit per entry, padded
+    private final int[] girths;       // Girth limit per entry, padded; null if the table has no extra limits
+    private final long[] volumes;     // Volume limit per entry, padded; null if the table has no extra limits
+    private final boolean vectorized; // Whether lookups use the Vector API
+
+    /**
+     * Copies the limit columns of a table into padded arrays.
+     */
+    private VectorTariffScanner(RateTable table, boolean vectorized) {
+        this.size = table.size();
+        this.lengths = pad(table.limits(0));
+        this.widths = pad(table.limits(1));
+        this.heights = pad(table.limits(2));
+        this.weights = pad(table.limits(3));
+        this.girths = table.hasExtraLimits() ? pad(table.girthLimits()) : null;
+        this.volumes = table.hasExtraLimits() ? pad(table.volumeLimits()) : null;
+        this.vectorized = vectorized;
+    }
+
+    /**
+     * Creates a scanner for the given table that uses the Vector API if it is available.
+     *
+     * @param table The table to evaluate.
+     * @return The new scanner.
+     */
+    public static VectorTariffScanner of(RateTable table) {
+        return new VectorTariffScanner(table, VECTOR_API);
+    }
+
+    /**
+     * Creates a scanner for the given table that always uses the scalar loop.
+     *
+     * @param table The table to evaluate.
+     * @return The new scanner.
+     */
+    public static VectorTariffScanner scalar(RateTable table) {
+        return new VectorTariffScanner(table, false);
+    }
+
+    /**
+     * Copies a column into an array padded with limits that never match.
+     */
+    private static int[] pad(int[] column) {
+        int[] padded = Arrays.copyOf(column, paddedLength(column.length));
+        Arrays.fill(padded, column.length, padded.length, Integer.MIN_VALUE);
+        return padded;
+    }
+
+    /**
+     * Copies a column into an array padded with limits that never match.
+     */
+    private static long[] pad(long[] column) {
+        long[] padded = Arrays.copyOf(column, paddedLength(column.length));
+        Arrays.fill(padded, column.length, padded.length, Long.MIN_VALUE);
+        return padded;
+    }
+
+    /**
+     * Rounds a column length up to the next multiple of {@link #PADDING}.
+     */
+    private static int paddedLength(int length) {
+        return (length + PADDING - 1) / PADDING * PADDING;
+    }
+
+    /**
+     * Finds the first entry whose limits accommodate the given package.
+     *
+     * @param shortest The shortest side of the package in millimeters.
+     * @param middle   The middle side of the package in millimeters.
+     * @param longest  The longest side of the package in millimeters.
+     * @param weight   The weight of the package in grams.
+     * @return The index of the matching entry, or {@code -1} if no entry matches.
+     */
+    public int findEntry(int shortest, int middle, int longest, int weight) {
+        int girth = 0;
+        long volume = 0;
+        if (girths != null) {
+            girth = (int) Math.min(RateTable.girth(shortest, middle, longest), Integer.MAX_VALUE);
+            volume = RateTable.volume(shortest, middle, longest);
+        }
+        if (vectorized) {
+            return Lanes.findEntry(this, shortest, middle, longest, weight, girth, volume);
+        }
+        return scan(shortest, middle, longest, weight, girth, volume);
+    }
+
+    /**
+     * Finds the first matching entry with a scalar loop.
+     */
+    private int scan(int shortest, int middle, int longest, int weight, int girth, long volume) {
+        for (int i = 0; i < size; i++) {
+            if (shortest <= lengths[i] && middle <= widths[i] && longest <= heights[i] && weight <= weights[i]
+                    && (girths == null || girth <= girths[i] && volume <= volumes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Indicates whether lookups use the Vector API or the scalar fallback.
+     *
+     * @return {@code true} if entries are compared with vector instructions.
+     */
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Returns the number of entries compared per vector instruction.
+     *
+     * @return The lane count, or {@code 1} if the Vector API is not available.
+     */
+    public static int laneCount() {
+        return VECTOR_API ? Lanes.SPECIES.length() : 1;
+    }
+
+    /**
+     * Returns the approximate heap size of the padded columns.
+     *
+     * @return The size in bytes.
+     */
+    long memoryBytes() {
+        return (long) lengths.length * (4 * Integer.BYTES + (girths != null ? Integer.BYTES + Long.BYTES : 0));
+    }
+
+    /**
+     * Returns the number of entries of the scanned table.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The vectorized scan. Only loaded if the Vector API is available.
+     */
+    private static final class Lanes {
+
+        private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+        /**
+         * Finds the first matching entry by comparing {@link #SPECIES} entries per step.
+         */
+        static int findEntry(VectorTariffScanner scanner, int shortest, int middle, int longest, int weight,
+                             int girth, long volume) {
+            IntVector shortestLanes = IntVector.broadcast(SPECIES, shortest);
+            IntVector middleLanes = IntVector.broadcast(SPECIES, middle);
+            IntVector longestLanes = IntVector.broadcast(SPECIES, longest);
+            IntVector weightLanes = IntVector.broadcast(SPECIES, weight);
+            IntVector girthLanes = IntVector.broadcast(SPECIES, girth);
+            int[] girths = scanner.girths;
+            long[] volumes = scanner.volumes;
+            for (int i = 0; i < scanner.lengths.length; i += SPECIES.length()) {
+                VectorMask<Integer> matches = IntVector.fromArray(SPECIES, scanner.lengths, i)
+                        .compare(VectorOperators.GE, shortestLanes)
+                        .and(IntVector.fromArray(SPECIES, scanner.widths, i).compare(VectorOperators.GE, middleLanes))
+                        .and(IntVector.fromArray(SPECIES, scanner.heights, i).compare(VectorOperators.GE, longestLanes))
+                        .and(IntVector.fromArray(SPECIES, scanner.weights, i).compare(VectorOperators.GE, weightLanes));
+                if (girths == null) {
+                    if (matches.anyTrue()) {
+                        return i + matches.firstTrue();
+                    }
+                    continue;
+                }
+                matches = matches.and(IntVector.fromArray(SPECIES, girths, i).compare(VectorOperators.GE, girthLanes));
+                // Check the volume of the candidates in entry order
+                for (long lanes = matches.toLong(); lanes != 0; lanes &= lanes - 1) {
+                    int entry = i + Long.numberOfTrailingZeros(lanes);
+                    if (volume <= volumes[entry]) {
+                        return entry;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -12,7 +12,24 @@
  * <p>Key Classes:</p>
  * <ul>
  *   <li>{@link control.Calculator} - Performs shipping cost calculations using package data.</li>
+ *   <li>{@link control.RateTable} - An immutable, compiled snapshot of the shipping rates used for fast lookups.</li>
+ *   <li>{@link control.VectorTariffScanner} - Scans mid-sized tariffs with the Vector API, comparing many entries per instruction.</li>
+ *   <li>{@link control.PricingEngine} - Loads, validates and quotes against a configuration without any GUI dependency.</li>
+ *   <li>{@link control.TariffOptimizer} - Finds unreachable and shadowed entries and computes the minimal equivalent entry set.</li>
+ *   <li>{@link control.CarrierRegistry} - Finds the cheapest carrier across several tariffs using a fused lookup grid.</li>
+ *   <li>{@link control.TenantTariffRegistry} - Loads tenant tariffs lazily and deduplicates them within a memory budget.</li>
+ *   <li>{@link control.TariffFile} - Writes compiled rate tables in a binary, checksummed format.</li>
+ *   <li>{@link control.MappedTariff} - Prices directly from a memory-mapped binary tariff file.</li>
+ *   <li>{@link control.QuoteCache} - Caches lookup results for frequently quoted package shapes.</li>
+ *   <li>{@link control.BatchCalculator} - Prices large batches of packages stored as primitive columns.</li>
+ *   <li>{@link control.ParallelBatchCalculator} - Prices batches in parallel chunks on a fork/join pool.</li>
+ *   <li>{@link control.CsvShipmentPricer} - Streams a CSV file of shipments through the pricer.</li>
+ *   <li>{@link control.PricingMetrics} - Records quote latencies, tier hits and rejects and publishes them over JMX.</li>
+ *   <li>{@link control.ConfigReloader} - Keeps a compiled rate table in sync with the configuration file.</li>
+ *   <li>{@link control.ConfigSnapshot} - An immutable, versioned configuration that readers can use without locking.</li>
+ *   <li>{@link control.ConfigPersistence} - Writes configuration files atomically and only when their content changes.</li>
  *   <li>{@link control.ConfigHandler} - Handles the management and persistence of configuration entries.</li>
+ *   <li>{@link control.ColumnarConfigTableModel} - A column-store table model for editing and viewing large configurations.</li>
  *   <li>{@link control.ConfigEntry} - Represents individual configuration entries, such as package cost information.</li>
  * </ul>
  *
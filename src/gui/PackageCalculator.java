@@ -1,25 +1,39 @@
 package gui;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 import control.Calculator;
-import control.ConfigEntry;
+import control.ColumnarConfigTableModel;
 import control.ConfigHandler;
-import data.Packet;
+import control.ConfigSnapshot;
+import control.QuoteStatus;
 
 /**
  * PackageCalculator is a GUI-based application to calculate package shipping costs.
  * It provides functionalities for managing configurations, displaying package cost information,
  * and calculating shipping costs based on user input.
+ *
+ * <p>Prices are updated live while the user types. Keystrokes are coalesced by a short timer, and the quote is
+ * computed by a {@link SwingWorker} against the in-memory {@link ConfigSnapshot}, so the event dispatch thread
+ * never reads files or waits for a configuration reload. Every quote carries a sequence number; a newer quote
+ * cancels the running one, and only the result of the latest quote is shown.</p>
  */
 public class PackageCalculator {
 
+	private static final int QUOTE_DELAY_MILLIS = 200; // Quiet period after the last keystroke
+
 	private JLabel resultLabel;
 	private final ConfigHandler configHandler;
+	private Timer quoteTimer; // Coalesces keystrokes, only used on the event dispatch thread
+	private SwingWorker<Long, Void> quoteWorker; // The running quote, only used on the event dispatch thread
+	private long quoteSequence; // Number of the latest quote, only used on the event dispatch thread
 
 	/**
 	 * Main entry point of the application.
@@ -154,32 +168,21 @@ public class PackageCalculator {
 	}
 
 	/**
-	 * Displays configured package costs in a table dialog.
+	 * Displays configured package costs in a table dialog. The table shows the current configuration snapshot
+	 * without copying it, and prices are only formatted for the rows on screen.
 	 */
 	public void showPackageCosts() {
-		List<ConfigEntry> configEntries = configHandler.getConfigEntries();
+		ConfigSnapshot snapshot = configHandler.getSnapshot();
 
-		if (configEntries.isEmpty()) {
+		if (snapshot.size() == 0) {
 			JOptionPane.showMessageDialog(null, "No package costs configured.", "Package Costs", JOptionPane.INFORMATION_MESSAGE);
 			return;
 		}
 
-		// Column names for the table
-		String[] columnNames = {"Length (mm)", "Width (mm)", "Height (mm)", "Weight (g)", "Price (€)"};
-
-		// Data for the table
-		Object[][] tableData = new Object[configEntries.size()][columnNames.length];
-		for (int i = 0; i < configEntries.size(); i++) {
-			ConfigEntry entry = configEntries.get(i);
-			tableData[i][0] = entry.getLength();
-			tableData[i][1] = entry.getWidth();
-			tableData[i][2] = entry.getHeight();
-			tableData[i][3] = entry.getWeight();
-			tableData[i][4] = String.format("%.2f", entry.getPrice());
-		}
-
 		// Create the table
-		JTable table = new JTable(tableData, columnNames);
+		ColumnarConfigTableModel model = ColumnarConfigTableModel.of(snapshot.getRateTable());
+		JTable table = new JTable(model);
+		model.installRenderers(table);
 		table.setFillsViewportHeight(true);
 
 		// Add the table to a scroll pane
@@ -220,6 +223,13 @@ public class PackageCalculator {
 		gbc.gridwidth = 2;
 		inputPanel.add(createCalculateButton(lengthField, widthField, heightField, weightField), gbc);
 
+		quoteTimer = new Timer(QUOTE_DELAY_MILLIS, _ -> startQuote(lengthField, widthField, heightField, weightField, false));
+		quoteTimer.setRepeats(false);
+		DocumentListener liveQuote = createLiveQuoteListener();
+		for (JTextField field : new JTextField[]{lengthField, widthField, heightField, weightField}) {
+			field.getDocument().addDocumentListener(liveQuote);
+		}
+
 		resultLabel = new JLabel(" ");
 		resultLabel.setHorizontalAlignment(SwingConstants.CENTER);
 		resultLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
@@ -269,36 +279,128 @@ public class PackageCalculator {
 		calculateButton.setFocusPainted(false);
 		calculateButton.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
 
-		calculateButton.addActionListener(_ -> calculateShippingCost(lengthField, widthField, heightField, weightField));
+		calculateButton.addActionListener(_ -> {
+			quoteTimer.stop();
+			startQuote(lengthField, widthField, heightField, weightField, true);
+		});
 
 		return calculateButton;
 	}
 
 	/**
-	 * Parses input fields, calculates the shipping cost, and updates the result label.
+	 * Creates a listener that restarts the quote timer on every change of an input field.
+	 *
+	 * @return A DocumentListener instance
+	 */
+	private DocumentListener createLiveQuoteListener() {
+		return new DocumentListener() {
+			@Override
+			public void insertUpdate(DocumentEvent e) {
+				quoteTimer.restart();
+			}
+
+			@Override
+			public void removeUpdate(DocumentEvent e) {
+				quoteTimer.restart();
+			}
+
+			@Override
+			public void changedUpdate(DocumentEvent e) {
+				quoteTimer.restart();
+			}
+		};
+	}
+
+	/**
+	 * Parses the input fields and starts quoting them in the background, cancelling any quote still running.
+	 * Incomplete input clears the result while typing and is reported in a dialog when the user asked
+	 * explicitly.
 	 *
 	 * @param lengthField Input for length
 	 * @param widthField  Input for width
 	 * @param heightField Input for height
 	 * @param weightField Input for weight
+	 * @param explicit    Whether the user pressed the button rather than typing
 	 */
-	private void calculateShippingCost(JTextField lengthField, JTextField widthField, JTextField heightField, JTextField weightField) {
-		try {
-			int length = Integer.parseInt(lengthField.getText());
-			int width = Integer.parseInt(widthField.getText());
-			int height = Integer.parseInt(heightField.getText());
-			int weight = Integer.parseInt(weightField.getText());
-
-			Packet packet = new Packet(length, width, height, weight);
-			double price = Calculator.calcShippingCosts(packet);
+	private void startQuote(JTextField lengthField, JTextField widthField, JTextField heightField, JTextField weightField,
+							boolean explicit) {
+		long sequence = ++quoteSequence;
+		if (quoteWorker != null) {
+			quoteWorker.cancel(true);
+			quoteWorker = null;
+		}
 
-			resultLabel.setText(String.format("Shipping Cost: %.2f €", price));
+		int length;
+		int width;
+		int height;
+		int weight;
+		try {
+			length = Integer.parseInt(lengthField.getText().trim());
+			width = Integer.parseInt(widthField.getText().trim());
+			height = Integer.parseInt(heightField.getText().trim());
+			weight = Integer.parseInt(weightField.getText().trim());
 		} catch (NumberFormatException ex) {
-			JOptionPane.showMessageDialog(null, "Please enter valid numerical values.", "Input Error", JOptionPane.ERROR_MESSAGE);
-			resultLabel.setText(" ");
-		} catch (IllegalArgumentException ex) {
-			JOptionPane.showMessageDialog(null, ex.getMessage(), "Input Error", JOptionPane.ERROR_MESSAGE);
 			resultLabel.setText(" ");
+			if (explicit) {
+				JOptionPane.showMessageDialog(null, "Please enter valid numerical values.", "Input Error", JOptionPane.ERROR_MESSAGE);
+			}
+			return;
 		}
+
+		quoteWorker = new SwingWorker<>() {
+			@Override
+			protected Long doInBackground() {
+				// The snapshot is immutable and published atomically, so this never waits for a reload
+				ConfigSnapshot snapshot = configHandler.getSnapshot();
+				return Calculator.quote(snapshot.getRateTable(), length, width, height, weight);
+			}
+
+			@Override
+			protected void done() {
+				if (sequence != quoteSequence || isCancelled()) {
+					return; // A newer quote has been started
+				}
+				quoteWorker = null;
+				try {
+					showQuote(get(), explicit);
+				} catch (ExecutionException ex) {
+					resultLabel.setText(" ");
+					if (explicit) {
+						showError(ex.getCause());
+					}
+				} catch (InterruptedException | CancellationException ex) {
+					resultLabel.setText(" ");
+				}
+			}
+		};
+		quoteWorker.execute();
+	}
+
+	/**
+	 * Shows a quote in the result label, or the reason it was rejected.
+	 *
+	 * @param result   The price in Euro cents, or the negated {@link QuoteStatus}
+	 * @param explicit Whether the user pressed the button rather than typing
+	 */
+	private void showQuote(long result, boolean explicit) {
+		if (result >= 0) {
+			resultLabel.setText(String.format("Shipping Cost: %.2f €", result / 100.0));
+			return;
+		}
+		resultLabel.setText(" ");
+		if (explicit) {
+			JOptionPane.showMessageDialog(null, QuoteStatus.describe((byte) -result), "Input Error", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Shows the reason a quote failed, for example a configuration that cannot be read.
+	 *
+	 * @param cause The exception thrown while quoting
+	 */
+	private static void showError(Throwable cause) {
+		String message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+		String title = cause instanceof IllegalArgumentException ? "Input Error" : "Error";
+		JOptionPane.showMessageDialog(null, message, title, JOptionPane.ERROR_MESSAGE);
 	}
 }
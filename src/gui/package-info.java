@@ -5,7 +5,7 @@
  * <ul>
  *   <li><b>Window Management:</b> Creates and manages the main application window and its components.</li>
  *   <li><b>User Interaction:</b> Handles user inputs, including package dimensions and weight, 
- *       and displays calculated shipping costs.</li>
+ *       and displays calculated shipping costs live while the user types.</li>
  *   <li><b>Toolbars and Menus:</b> Provides a toolbar with actions such as configuration management,
  *       application information, and exit functionality.</li>
  *   <li><b>Dialogs:</b> Displays informational dialogs for package costs, application details, and error messages.</li>
@@ -0,0 +1,113 @@
+package server;
+
+import control.BatchCalculator;
+import control.QuoteStatus;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * A blocking client for the {@link BinaryPricingServer} protocol.
+ *
+ * <p>Batches are pipelined: up to {@value #WINDOW} requests are written before their responses are read, so a
+ * burst of thousands of quotes needs only a handful of round trips. Buffers are allocated once per client.
+ * A client instance must not be used by several threads at once.</p>
+ */
+public class BinaryPricingClient implements AutoCloseable {
+
+    /** Maximum number of requests in flight. */
+    public static final int WINDOW = 4096;
+
+    private final SocketChannel channel;
+    private final ByteBuffer requests = ByteBuffer.allocateDirect(WINDOW * BinaryPricingServer.REQUEST_SIZE);
+    private final ByteBuffer responses = ByteBuffer.allocateDirect(WINDOW * BinaryPricingServer.RESPONSE_SIZE);
+
+    /**
+     * Connects to a pricing server.
+     *
+     * @param address The address of the server.
+     * @throws IOException If the connection cannot be established.
+     */
+    public BinaryPricingClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Quotes a single package.
+     *
+     * @param length The length of the package in millimeters.
+     * @param width  The width of the package in millimeters.
+     * @param height The height of the package in millimeters.
+     * @param weight The weight of the package in grams.
+     * @return The price in Euro cents, or the negated {@link QuoteStatus} if the package is rejected.
+     * @throws IOException If the server cannot be reached.
+     */
+    public long quote(int length, int width, int height, int weight) throws IOException {
+        requests.clear();
+        requests.putInt(length).putInt(width).putInt(height).putInt(weight);
+        exchange(1);
+        return result(responses.getInt(), responses.getInt());
+    }
+
+    /**
+     * Quotes many packages given in the packed layout of {@link BatchCalculator}.
+     *
+     * @param packed  Packed package values, {@value BatchCalculator#PACKED_STRIDE} per package.
+     * @param results Output: price in Euro cents or the negated {@link QuoteStatus} per package.
+     * @throws IOException              If the server cannot be reached.
+     * @throws IllegalArgumentException if the array sizes do not match.
+     */
+    public void quoteBatch(int[] packed, long[] results) throws IOException {
+        if (packed.length != results.length * BatchCalculator.PACKED_STRIDE) {
+            throw new IllegalArgumentException("Packed input must hold " + BatchCalculator.PACKED_STRIDE
+                    + " values per result.");
+        }
+        for (int from = 0; from < results.length; from += WINDOW) {
+            int count = Math.min(WINDOW, results.length - from);
+            requests.clear();
+            for (int i = from * BatchCalculator.PACKED_STRIDE; i < (from + count) * BatchCalculator.PACKED_STRIDE; i++) {
+                requests.putInt(packed[i]);
+            }
+            exchange(count);
+            for (int i = from; i < from + count; i++) {
+                results[i] = result(responses.getInt(), responses.getInt());
+            }
+        }
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException If the connection cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Sends the filled request buffer and reads the given number of responses.
+     */
+    private void exchange(int count) throws IOException {
+        requests.flip();
+        while (requests.hasRemaining()) {
+            channel.write(requests);
+        }
+        responses.clear().limit(count * BinaryPricingServer.RESPONSE_SIZE);
+        while (responses.hasRemaining()) {
+            if (channel.read(responses) < 0) {
+                throw new EOFException("Pricing server closed the connection.");
+            }
+        }
+        responses.flip();
+    }
+
+    private static long result(int priceCents, int status) {
+        return status == QuoteStatus.OK ? priceCents : -status;
+    }
+}
@@ -0,0 +1,259 @@
+package server;
+
+import control.Calculator;
+import control.QuoteStatus;
+import control.RateTable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * A compact binary pricing protocol for high-throughput internal clients such as warehouse sorters.
+ *
+ * <p>Requests are fixed-width frames of {@value #REQUEST_SIZE} bytes holding four big-endian ints in the order
+ * of {@link data.Packet}: length, width, height and weight. Every request is answered in order with a
+ * {@value #RESPONSE_SIZE} byte frame holding the price in Euro cents (or {@code -1}) and the
+ * {@link QuoteStatus}. Clients may pipeline any number of requests; a connection is served by one of a small
+ * number of selector threads, reads as many frames as fit into its reusable direct buffers and stops reading
+ * while the client does not consume its responses.</p>
+ *
+ * @see BinaryPricingClient
+ */
+public class BinaryPricingServer implements AutoCloseable {
+
+    /** Size of a request frame in bytes. */
+    public static final int REQUEST_SIZE = 16;
+    /** Size of a response frame in bytes. */
+    public static final int RESPONSE_SIZE = 8;
+
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = INPUT_BUFFER_SIZE / REQUEST_SIZE * RESPONSE_SIZE;
+
+    private final ServerSocketChannel serverChannel;
+    private final Supplier<RateTable> rateTables;
+    private final Worker[] workers;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a server bound to the given address. Call {@link #start()} to accept connections.
+     *
+     * @param address         The address to bind to; port 0 picks a free port.
+     * @param rateTables      Supplies the rate table to price each request against.
+     * @param selectorThreads The number of threads serving connections.
+     * @throws IOException If the address cannot be bound.
+     */
+    public BinaryPricingServer(InetSocketAddress address, Supplier<RateTable> rateTables, int selectorThreads)
+            throws IOException {
+        if (selectorThreads <= 0) {
+            throw new IllegalArgumentException("At least one selector thread is required.");
+        }
+        this.rateTables = rateTables;
+        this.serverChannel = ServerSocketChannel.open().bind(address, 1024);
+        this.workers = new Worker[selectorThreads];
+        for (int i = 0; i < selectorThreads; i++) {
+            workers[i] = new Worker(Selector.open(), "binary-pricing-" + i);
+        }
+        this.acceptor = new Thread(this::accept, "binary-pricing-acceptor");
+        this.acceptor.setDaemon(true);
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    public void start() {
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return The local port.
+     * @throws IOException If the port cannot be determined.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Stops the server and closes all connections.
+     *
+     * @throws IOException If the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverChannel.close();
+        for (Worker worker : workers) {
+            worker.selector.wakeup();
+        }
+    }
+
+    /**
+     * Accepts connections and hands them to the workers in round-robin order. A connection that fails to be set
+     * up is closed on its own; only closing the server ends the loop.
+     */
+    private void accept() {
+        int next = 0;
+        while (running) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (ClosedChannelException e) {
+                return; // Server was closed
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Binary pricing server failed to accept a connection: " + e.getMessage());
+                }
+                continue;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                workers[next].register(channel);
+                next = (next + 1) % workers.length;
+            } catch (IOException e) {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    /**
+     * Closes a channel, ignoring errors because the connection is given up anyway.
+     */
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Connection is gone anyway
+        }
+    }
+
+    /**
+     * Buffers of a single client connection, reused for its whole lifetime.
+     */
+    private static final class Connection {
+        final ByteBuffer input = ByteBuffer.allocateDirect(INPUT_BUFFER_SIZE);
+        final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+    }
+
+    /**
+     * A selector thread serving a share of the connections.
+     */
+    private final class Worker implements Runnable {
+
+        final Selector selector;
+        final Thread thread;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+
+        Worker(Selector selector, String name) {
+            this.selector = selector;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try (selector) {
+                while (running) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        try {
+                            channel.register(selector, SelectionKey.OP_READ, new Connection());
+                        } catch (ClosedChannelException e) {
+                            // The client disconnected before it was registered
+                        }
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        try {
+                            serve(key);
+                        } catch (IOException e) {
+                            closeQuietly(key);
+                        }
+                    }
+                }
+                for (SelectionKey key : selector.keys()) {
+                    closeQuietly(key);
+                }
+            } catch (IOException e) {
+                System.err.println("Binary pricing worker stopped: " + e.getMessage());
+            }
+        }
+
+        private void serve(SelectionKey key) throws IOException {
+            SocketChannel channel = (SocketChannel) key.channel();
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable() && channel.read(connection.input) < 0) {
+                closeQuietly(key);
+                return;
+            }
+            // Pricing may be limited by free output space, so alternate until no progress is made
+            boolean drained;
+            do {
+                process(connection);
+                drained = flush(channel, connection);
+            } while (drained && connection.input.position() >= REQUEST_SIZE);
+            key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        }
+
+        /**
+         * Prices all complete request frames for which there is room in the output buffer.
+         */
+        private void process(Connection connection) {
+            ByteBuffer input = connection.input.flip();
+            ByteBuffer output = connection.output;
+            RateTable rateTable = rateTables.get();
+            while (input.remaining() >= REQUEST_SIZE && output.remaining() >= RESPONSE_SIZE) {
+                long result = Calculator.quote(rateTable, input.getInt(), input.getInt(), input.getInt(), input.getInt());
+                if (result < 0) {
+                    output.putInt(-1).putInt((int) -result);
+                } else {
+                    output.putInt((int) result).putInt(QuoteStatus.OK);
+                }
+            }
+            input.compact();
+        }
+
+        /**
+         * Writes pending responses.
+         *
+         * @return {@code true} if all responses were written.
+         */
+        private boolean flush(SocketChannel channel, Connection connection) throws IOException {
+            ByteBuffer output = connection.output.flip();
+            channel.write(output);
+            boolean drained = !output.hasRemaining();
+            output.compact();
+            return drained;
+        }
+
+        private void closeQuietly(SelectionKey key) {
+            key.cancel();
+            BinaryPricingServer.closeQuietly(key.channel());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import control.BatchCalculator;
+import control.Calculator;
+import control.ConfigReloader;
+import control.PricingMetrics;
+import control.QuoteStatus;
+import control.RateTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * A headless HTTP server answering shipping cost quotes, handling every request on its own virtual thread.
+ *
+ * <p>Endpoints:</p>
+ * <ul>
+ *   <li>{@code GET /quote?length=..&width=..&height=..&weight=..} - Quotes a single package and answers with
+ *       {@code {"price":3.89,"cents":389,"status":"OK"}}. Rejected packages are answered with status 422.</li>
+ *   <li>{@code POST /quote/batch} - Quotes one package per line ({@code length,width,height,weight}) and answers
+ *       with one {@code price,status} line per package in the same order.</li>
+ * </ul>
+ *
+ * <p>Every request is priced against the rate table returned by the supplier at that moment, typically
+ * {@link ConfigReloader#current()}, so configuration changes apply without a restart.</p>
+ *
+ * <p>Start the server with {@code mvn compile exec:exec -Dapp.mainClass=server.PricingServer}, or with
+ * {@code java --add-modules jdk.incubator.vector} so mid-sized tariffs are scanned with the Vector API.</p>
+ */
+public class PricingServer implements AutoCloseable {
+
+    private static final int MAX_BATCH_BYTES = 64 * 1024 * 1024;
+
+    static {
+        // Without TCP_NODELAY small responses wait for delayed ACKs, adding ~40 ms per request
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final Supplier<RateTable> rateTables;
+
+    /**
+     * Creates a server bound to the given address. Call {@link #start()} to accept requests.
+     *
+     * @param address    The address to bind to; port 0 picks a free port.
+     * @param rateTables Supplies the rate table to price each request against.
+     * @throws IOException If the address cannot be bound.
+     */
+    public PricingServer(InetSocketAddress address, Supplier<RateTable> rateTables) throws IOException {
+        this.rateTables = rateTables;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpServer = HttpServer.create(address, 1024);
+        this.httpServer.setExecutor(executor);
+        this.httpServer.createContext("/quote", this::handleQuote);
+        this.httpServer.createContext("/quote/batch", this::handleBatch);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        httpServer.start();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return The local port.
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server and its executor.
+     */
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executor.shutdown();
+    }
+
+    private void handleQuote(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "application/json", "{\"error\":\"Use GET.\"}");
+                return;
+            }
+            int[] values = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (values == null) {
+                send(exchange, 400, "application/json",
+                        "{\"error\":\"Parameters length, width, height and weight must be integers.\"}");
+                return;
+            }
+
+            long result = Calculator.quote(rateTables.get(), values[0], values[1], values[2], values[3]);
+            if (result < 0) {
+                byte status = (byte) -result;
+                send(exchange, 422, "application/json", "{\"status\":\"" + QuoteStatus.label(status)
+                        + "\",\"error\":\"" + QuoteStatus.describe(status) + "\"}");
+            } else {
+                send(exchange, 200, "application/json", "{\"price\":" + formatCents(result)
+                        + ",\"cents\":" + result + ",\"status\":\"OK\"}");
+            }
+        }
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, "text/plain", "Use POST.\n");
+                return;
+            }
+            int[] packed = parseBatch(exchange.getRequestBody());
+            if (packed == null) {
+                send(exchange, 400, "text/plain", "Every line must hold length,width,height,weight.\n");
+                return;
+            }
+
+            int count = packed.length / BatchCalculator.PACKED_STRIDE;
+            long[] cents = new long[count];
+            byte[] status = new byte[count];
+            BatchCalculator.calcShippingCosts(rateTables.get(), packed, cents, status);
+
+            StringBuilder body = new StringBuilder(count * 24);
+            for (int i = 0; i < count; i++) {
+                if (status[i] == QuoteStatus.OK) {
+                    body.append(formatCents(cents[i]));
+                }
+                body.append(',').append(QuoteStatus.label(status[i])).append('\n');
+            }
+            send(exchange, 200, "text/csv", body.toString());
+        }
+    }
+
+    /**
+     * Parses the four package parameters of a query string.
+     *
+     * @return The values in the order length, width, height, weight, or {@code null} if one is missing or invalid.
+     */
+    static int[] parseQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        int[] values = new int[4];
+        int found = 0;
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                continue;
+            }
+            int slot = switch (parameter.substring(0, separator)) {
+                case "length" -> 0;
+                case "width" -> 1;
+                case "height" -> 2;
+                case "weight" -> 3;
+                default -> -1;
+            };
+            if (slot < 0) {
+                continue;
+            }
+            try {
+                values[slot] = Integer.parseInt(parameter.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            found |= 1 << slot;
+        }
+        return found == 0b1111 ? values : null;
+    }
+
+    /**
+     * Parses a request body of {@code length,width,height,weight} lines into the packed layout.
+     *
+     * @return The packed values, or {@code null} if a line is malformed or the body is too large.
+     */
+    static int[] parseBatch(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(MAX_BATCH_BYTES + 1);
+        if (bytes.length > MAX_BATCH_BYTES) {
+            return null;
+        }
+        int[] packed = new int[256];
+        int size = 0;
+        int fieldsInLine = 0;
+        int value = 0;
+        boolean digits = false;
+        for (int i = 0; i <= bytes.length; i++) {
+            byte b = i < bytes.length ? bytes[i] : (byte) '\n';
+            if (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                digits = true;
+                if (value > 100_000_000) {
+                    return null;
+                }
+            } else if (b == ',' || b == '\n') {
+                if (!digits) {
+                    if (b == '\n' && fieldsInLine == 0) {
+                        continue; // Empty line
+                    }
+                    return null;
+                }
+                if (size == packed.length) {
+                    packed = Arrays.copyOf(packed, size * 2);
+                }
+                packed[size++] = value;
+                fieldsInLine++;
+                value = 0;
+                digits = false;
+                if (b == '\n') {
+                    if (fieldsInLine != BatchCalculator.PACKED_STRIDE) {
+                        return null;
+                    }
+                    fieldsInLine = 0;
+                }
+            } else if (b != '\r' && b != ' ') {
+                return null;
+            }
+        }
+        return Arrays.copyOf(packed, size);
+    }
+
+    private static String formatCents(long cents) {
+        long fraction = cents % 100;
+        return (cents / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static void send(HttpExchange exchange, int code, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    /**
+     * Starts the server on the command line.
+     *
+     * @param args Optional port (default 8080) and configuration file (default {@code config.properties}).
+     * @throws IOException If the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        Path configFile = Path.of(args.length > 1 ? args[1] : "config.properties");
+        ConfigReloader reloader = new ConfigReloader(configFile);
+        PricingMetrics.registerMBean();
+        PricingServer server = new PricingServer(new InetSocketAddress(port), reloader::current);
+        server.start();
+        System.out.println("Pricing server listening on port " + server.getPort());
+    }
+}
@@ -0,0 +1,16 @@
+/**
+ * Provides headless network services for the Package Cost Calculator application.
+ *
+ * <p>The {@code server} package exposes the pricing logic of the {@code control} package to other services
+ * without any GUI dependencies.</p>
+ *
+ * <p>Key Classes:</p>
+ * <ul>
+ *   <li>{@link server.PricingServer} - An HTTP server answering single and batch quotes on virtual threads.</li>
+ *   <li>{@link server.BinaryPricingServer} - A selector based server for the compact binary pricing protocol.</li>
+ *   <li>{@link server.BinaryPricingClient} - A pipelining client for the binary pricing protocol.</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+package server;
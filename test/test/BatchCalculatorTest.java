@@ -0,0 +1,106 @@
+package test;
+
+import control.BatchCalculator;
+import control.Calculator;
+import control.ConfigHandler;
+import control.QuoteStatus;
+import control.RateTable;
+import data.Packet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BatchCalculator} class.
+ */
+public class BatchCalculatorTest {
+
+    private RateTable rateTable;
+
+    /**
+     * Loads the default configuration file and compiles it before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        new ConfigHandler("default.properties");
+        rateTable = RateTable.load(new File("default.properties"));
+    }
+
+    /**
+     * Verifies prices and status codes for accepted and rejected packages in the column layout.
+     */
+    @Test
+    public void testColumns() {
+        int[] lengths = {300, 600, 0, 2000, 300};
+        int[] widths = {300, 300, 100, 300, 300};
+        int[] heights = {150, 150, 100, 300, 300};
+        int[] weights = {1000, 2000, 5000, 5000, 32000};
+        double[] prices = new double[5];
+        byte[] status = new byte[5];
+
+        int accepted = BatchCalculator.calcShippingCosts(rateTable, lengths, widths, heights, weights, prices, status);
+
+        assertEquals(2, accepted);
+        assertEquals(3.89, prices[0]);
+        assertEquals(4.39, prices[1]);
+        assertEquals(QuoteStatus.INVALID_PACKET, status[2]);
+        assertEquals(QuoteStatus.NO_MATCHING_ENTRY, status[3]); // The default configuration limits the girth per entry
+        assertEquals(QuoteStatus.NO_MATCHING_ENTRY, status[4]);
+        assertTrue(Double.isNaN(prices[4]));
+    }
+
+    /**
+     * Verifies the packed layout with prices in cents.
+     */
+    @Test
+    public void testPackedCents() {
+        int[] packed = {300, 300, 150, 1000, 1000, 400, 400, 10000};
+        long[] cents = new long[2];
+        byte[] status = new byte[2];
+
+        assertEquals(2, BatchCalculator.calcShippingCosts(rateTable, packed, cents, status));
+        assertArrayEquals(new long[]{389, 799}, cents);
+    }
+
+    /**
+     * Verifies that mismatching array sizes are rejected.
+     */
+    @Test
+    public void testMismatchedColumns() {
+        assertThrows(IllegalArgumentException.class, () -> BatchCalculator.calcShippingCosts(rateTable,
+                new int[2], new int[2], new int[1], new int[2], new double[2], new byte[2]));
+        assertThrows(IllegalArgumentException.class, () -> BatchCalculator.calcShippingCosts(rateTable,
+                new int[7], new double[2], new byte[2]));
+    }
+
+    /**
+     * Verifies that batch results match single-package pricing for random packages.
+     */
+    @Test
+    public void testMatchesSinglePricing() {
+        Random random = new Random(7);
+        int n = 2000;
+        int[] packed = new int[n * BatchCalculator.PACKED_STRIDE];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = random.nextInt(i % 4 == 3 ? 32000 : 1300);
+        }
+        double[] prices = new double[n];
+        byte[] status = new byte[n];
+        BatchCalculator.calcShippingCosts(rateTable, packed, prices, status);
+
+        for (int i = 0; i < n; i++) {
+            int base = i * BatchCalculator.PACKED_STRIDE;
+            try {
+                Packet packet = new Packet(packed[base], packed[base + 1], packed[base + 2], packed[base + 3]);
+                assertEquals(Calculator.calcShippingCosts(packet), prices[i]);
+                assertEquals(QuoteStatus.OK, status[i]);
+            } catch (IllegalArgumentException e) {
+                assertEquals(e.getMessage(), QuoteStatus.describe(status[i]));
+            }
+        }
+    }
+}
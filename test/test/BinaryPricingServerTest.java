@@ -0,0 +1,106 @@
+package test;
+
+import control.BatchCalculator;
+import control.Calculator;
+import control.QuoteStatus;
+import control.RateTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.BinaryPricingClient;
+import server.BinaryPricingServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link BinaryPricingServer} and {@link BinaryPricingClient} classes.
+ */
+public class BinaryPricingServerTest {
+
+    private final RateTable rateTable = RateTable.load(new File("default.properties"));
+    private BinaryPricingServer server;
+    private BinaryPricingClient client;
+
+    /**
+     * Starts a server on a free port and connects a client.
+     *
+     * @throws IOException If the server cannot be started
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new BinaryPricingServer(new InetSocketAddress("127.0.0.1", 0), () -> rateTable, 2);
+        server.start();
+        client = new BinaryPricingClient(new InetSocketAddress("127.0.0.1", server.getPort()));
+    }
+
+    /**
+     * Disconnects the client and stops the server.
+     *
+     * @throws IOException If a socket cannot be closed
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    /**
+     * Verifies single quotes for an accepted and a rejected package.
+     *
+     * @throws IOException If the server cannot be reached
+     */
+    @Test
+    public void testSingleQuote() throws IOException {
+        assertEquals(389, client.quote(300, 300, 150, 1000));
+        assertEquals(-QuoteStatus.NO_MATCHING_ENTRY, client.quote(2000, 300, 300, 1000));
+    }
+
+    /**
+     * Verifies that a pipelined batch larger than the client window matches local pricing in order.
+     *
+     * @throws IOException If the server cannot be reached
+     */
+    @Test
+    public void testPipelinedBatch() throws IOException {
+        Random random = new Random(13);
+        int n = 3 * BinaryPricingClient.WINDOW + 17;
+        int[] packed = new int[n * BatchCalculator.PACKED_STRIDE];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = random.nextInt(i % 4 == 3 ? 32000 : 1300);
+        }
+        long[] results = new long[n];
+
+        client.quoteBatch(packed, results);
+
+        for (int i = 0; i < n; i++) {
+            int base = i * BatchCalculator.PACKED_STRIDE;
+            assertEquals(Calculator.quote(rateTable, packed[base], packed[base + 1], packed[base + 2], packed[base + 3]),
+                    results[i]);
+        }
+    }
+
+    /**
+     * Verifies that clients which reset their connection right after connecting do not stop the server from
+     * accepting further connections.
+     *
+     * @throws IOException If the server cannot be reached
+     */
+    @Test
+    public void testKeepsAcceptingAfterResetConnections() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+                socket.setSoLinger(true, 0); // Close with a reset instead of a FIN
+            }
+        }
+        try (BinaryPricingClient other = new BinaryPricingClient(new InetSocketAddress("127.0.0.1", server.getPort()))) {
+            assertEquals(389, other.quote(300, 300, 150, 1000));
+        }
+        assertEquals(389, client.quote(300, 300, 150, 1000));
+    }
+}
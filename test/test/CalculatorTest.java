@@ -1,11 +1,16 @@
 package test;
 
 import control.Calculator;
+import control.ConfigEntry;
 import control.ConfigHandler;
+import control.QuoteStatus;
+import control.RateTable;
 import data.Packet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.util.List;
 import java.util.Properties;
 
 import static control.Calculator.calculateCostFromConfig;
@@ -149,4 +154,45 @@ public class CalculatorTest {
         properties.setProperty("entry.0.dimensions","10x10x10x100");
         assertThrows(IllegalArgumentException.class,() -> calculateCostFromConfig(properties,null,0));
     }
+
+    /**
+     * Verifies the allocation-free quote path for accepted packages in any orientation.
+     */
+    @Test
+    public void testQuote() {
+        RateTable rateTable = RateTable.load(new File("default.properties"));
+        assertEquals(389, Calculator.quote(rateTable, 300, 150, 300, 1000));
+        assertEquals(439, Calculator.quote(rateTable, 600, 150, 300, 2000));
+        assertEquals(799, Calculator.quote(rateTable, 1000, 400, 400, 10000));
+    }
+
+    /**
+     * Verifies that the quote path reports rejects as negative status codes instead of throwing.
+     */
+    @Test
+    public void testQuoteRejects() {
+        RateTable rateTable = RateTable.load(new File("default.properties"));
+        assertEquals(-QuoteStatus.INVALID_PACKET, Calculator.quote(rateTable, 0, 100, 100, 5000));
+        assertEquals(-QuoteStatus.INVALID_PACKET, Calculator.quote(rateTable, 100, 100, 100, -1));
+        assertEquals(-QuoteStatus.NO_MATCHING_ENTRY, Calculator.quote(rateTable, 2000, 300, 300, 1000));
+        assertEquals(-QuoteStatus.NO_MATCHING_ENTRY, Calculator.quote(rateTable, 300, 300, 300, 32000));
+    }
+
+    /**
+     * Verifies that the default girth limit applies to the sorted sides and only to tariffs without per-entry
+     * girth limits, which may then also allow a larger girth.
+     */
+    @Test
+    public void testGirthLimits() {
+        RateTable unlimited = RateTable.fromEntries(List.of(new ConfigEntry(700, 700, 1200, 5000, 5.89)));
+        assertFalse(unlimited.hasGirthLimits());
+        assertEquals(589, Calculator.quote(unlimited, 1200, 600, 50, 1000)); // Girth 2500 mm
+        assertEquals(589, Calculator.quote(unlimited, 50, 600, 1200, 1000));
+        assertEquals(-QuoteStatus.GIRTH_EXCEEDED, Calculator.quote(unlimited, 300, 700, 1100, 1000)); // 3100 mm
+
+        RateTable limited = RateTable.fromEntries(List.of(new ConfigEntry(700, 700, 1200, 5000, 5.89, 3500, 0)));
+        assertTrue(limited.hasGirthLimits());
+        assertEquals(589, Calculator.quote(limited, 300, 700, 1100, 1000));
+        assertEquals(-QuoteStatus.NO_MATCHING_ENTRY, Calculator.quote(limited, 700, 700, 1200, 1000)); // 4000 mm
+    }
 }
@@ -0,0 +1,190 @@
+package test;
+
+import control.BatchCalculator;
+import control.Calculator;
+import control.CarrierRegistry;
+import control.ConfigEntry;
+import control.QuoteStatus;
+import control.RateTable;
+import data.Packet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CarrierRegistry} class.
+ */
+public class CarrierRegistryTest {
+
+    private final RateTable standard = RateTable.fromEntries(List.of(
+            new ConfigEntry(150, 300, 300, 1000, 3.89),
+            new ConfigEntry(150, 300, 600, 2000, 4.39),
+            new ConfigEntry(600, 600, 1200, 5000, 5.89),
+            new ConfigEntry(600, 600, 1200, 10000, 7.99),
+            new ConfigEntry(600, 600, 1200, 31000, 14.99)));
+    private final RateTable express = RateTable.fromEntries(List.of(
+            new ConfigEntry(150, 300, 300, 1000, 4.99),
+            new ConfigEntry(600, 600, 1200, 2000, 4.99),
+            new ConfigEntry(600, 600, 1200, 50000, 24.99)));
+
+    /**
+     * Verifies that the cheapest eligible carrier is chosen and ties go to the first carrier.
+     */
+    @Test
+    public void testCheapestQuote() {
+        CarrierRegistry registry = CarrierRegistry.of(carriers());
+
+        assertTrue(registry.hasGrid());
+        assertEquals(new CarrierRegistry.CarrierQuote("standard", 3.89), registry.cheapestQuote(new Packet(300, 300, 150, 1000)));
+        assertEquals(new CarrierRegistry.CarrierQuote("express", 4.99), registry.cheapestQuote(new Packet(600, 600, 500, 2000)));
+        assertEquals(new CarrierRegistry.CarrierQuote("express", 24.99), registry.cheapestQuote(new Packet(600, 600, 500, 40000)));
+        assertThrows(IllegalArgumentException.class, () -> registry.cheapestQuote(new Packet(600, 600, 500, 60000)));
+        assertThrows(IllegalArgumentException.class, () -> registry.cheapestQuote(new Packet(2000, 300, 300, 1000)));
+    }
+
+    /**
+     * Verifies that all carriers are quoted and rejections are marked per carrier.
+     */
+    @Test
+    public void testQuoteAll() {
+        CarrierRegistry registry = CarrierRegistry.of(carriers());
+        long[] cents = new long[2];
+
+        assertEquals(QuoteStatus.OK, registry.quoteAll(600, 600, 500, 2000, cents));
+        assertArrayEquals(new long[]{589, 499}, cents);
+        assertEquals(QuoteStatus.OK, registry.quoteAll(600, 600, 500, 40000, cents));
+        assertArrayEquals(new long[]{-1, 2499}, cents);
+        assertEquals(QuoteStatus.NO_MATCHING_ENTRY, registry.quoteAll(600, 600, 500, 60000, cents));
+        assertEquals(QuoteStatus.INVALID_PACKET, registry.quoteAll(0, 600, 500, 1000, cents));
+        assertArrayEquals(new long[]{-1, -1}, cents);
+    }
+
+    /**
+     * Verifies the batch variants against single quotes.
+     */
+    @Test
+    public void testBatches() {
+        CarrierRegistry registry = CarrierRegistry.of(carriers());
+        int[] packed = {300, 300, 150, 1000, 600, 600, 500, 40000, 2000, 300, 300, 1000};
+        int[] carriers = new int[3];
+        long[] cents = new long[3];
+        byte[] status = new byte[3];
+
+        assertEquals(2, registry.cheapest(packed, carriers, cents, status));
+        assertArrayEquals(new int[]{0, 1, -1}, carriers);
+        assertArrayEquals(new long[]{389, 2499, -1}, cents);
+        assertEquals(QuoteStatus.GIRTH_EXCEEDED, status[2]);
+
+        long[] all = new long[3 * registry.size()];
+        assertEquals(2, registry.quoteAll(packed, all, status));
+        assertArrayEquals(new long[]{389, 499, -1, 2499, -1, -1}, all);
+        assertThrows(IllegalArgumentException.class, () -> registry.quoteAll(packed, new long[3], status));
+    }
+
+    /**
+     * Verifies that the fused grid and the per-carrier evaluation agree on random tariffs and packages.
+     */
+    @Test
+    public void testGridMatchesScan() {
+        Random random = new Random(15);
+        Map<String, RateTable> tables = new LinkedHashMap<>();
+        for (int c = 0; c < 6; c++) {
+            List<ConfigEntry> entries = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                entries.add(new ConfigEntry(100 + random.nextInt(500), 200 + random.nextInt(600),
+                        300 + random.nextInt(900), 1000 + random.nextInt(30000), 1 + random.nextInt(2000) / 100.0));
+            }
+            tables.put("carrier" + c, RateTable.fromEntries(entries));
+        }
+        CarrierRegistry withGrid = CarrierRegistry.of(tables);
+        CarrierRegistry withoutGrid = CarrierRegistry.of(tables, 0);
+        assertTrue(withGrid.hasGrid());
+        assertFalse(withoutGrid.hasGrid());
+
+        int count = 5000;
+        int[] packed = new int[count * BatchCalculator.PACKED_STRIDE];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = 1 + random.nextInt(i % 4 == 3 ? 32000 : 700);
+        }
+        for (int i = 0; i < count; i++) {
+            int base = i * BatchCalculator.PACKED_STRIDE;
+            int expected = cheapestByHand(tables, packed[base], packed[base + 1], packed[base + 2], packed[base + 3]);
+            assertEquals(expected, withGrid.findCheapest(packed[base], packed[base + 1], packed[base + 2], packed[base + 3]));
+            assertEquals(expected, withoutGrid.findCheapest(packed[base], packed[base + 1], packed[base + 2], packed[base + 3]));
+        }
+    }
+
+    /**
+     * Verifies that a grid whose cell count overflows a {@code long} is rejected instead of wrapping around to an
+     * empty grid: four axes of 2^16 breakpoints have 2^64 cells.
+     */
+    @Test
+    public void testGridCellCountDoesNotOverflow() {
+        List<ConfigEntry> entries = new ArrayList<>();
+        for (int i = 1; i <= 1 << 16; i++) {
+            entries.add(new ConfigEntry(i, i, i, i, 1.0));
+        }
+        CarrierRegistry registry = CarrierRegistry.of(Map.of("huge", RateTable.fromEntries(entries)), Long.MAX_VALUE);
+
+        assertFalse(registry.hasGrid());
+        assertEquals(0, registry.findCheapest(500, 500, 500, 500));
+        assertEquals(-QuoteStatus.NO_MATCHING_ENTRY, registry.findCheapest(500, 500, 500, 70000));
+    }
+
+    /**
+     * Verifies that a carrier with a girth limit disables the fused grid and is skipped for packages beyond it.
+     */
+    @Test
+    public void testCarrierWithGirthLimit() {
+        Map<String, RateTable> tables = carriers();
+        tables.put("bulky", RateTable.fromEntries(List.of(new ConfigEntry(600, 600, 1200, 31000, 3.00, 2000, 0))));
+        CarrierRegistry registry = CarrierRegistry.of(tables);
+
+        assertFalse(registry.hasGrid());
+        assertEquals(new CarrierRegistry.CarrierQuote("bulky", 3.00), registry.cheapestQuote(new Packet(600, 300, 200, 2000)));
+        assertEquals(new CarrierRegistry.CarrierQuote("express", 4.99), registry.cheapestQuote(new Packet(600, 600, 500, 2000)));
+        assertThrows(IllegalArgumentException.class, () -> registry.cheapestQuote(new Packet(1200, 600, 400, 1000)));
+
+        // Only carriers with girth limits of their own accept a package above the default girth limit
+        tables.put("oversize", RateTable.fromEntries(List.of(new ConfigEntry(600, 600, 1200, 31000, 9.00, 4000, 0))));
+        CarrierRegistry oversize = CarrierRegistry.of(tables);
+        assertEquals(new CarrierRegistry.CarrierQuote("oversize", 9.00), oversize.cheapestQuote(new Packet(1200, 600, 400, 1000)));
+        long[] cents = new long[4];
+        assertEquals(QuoteStatus.OK, oversize.quoteAll(1200, 600, 400, 1000, cents));
+        assertArrayEquals(new long[]{-1, -1, -1, 900}, cents);
+    }
+
+    private Map<String, RateTable> carriers() {
+        Map<String, RateTable> carriers = new LinkedHashMap<>();
+        carriers.put("standard", standard);
+        carriers.put("express", express);
+        return carriers;
+    }
+
+    /**
+     * Determines the cheapest carrier by quoting every carrier separately.
+     */
+    private static int cheapestByHand(Map<String, RateTable> tables, int length, int width, int height, int weight) {
+        int best = -QuoteStatus.NO_MATCHING_ENTRY;
+        long bestCents = Long.MAX_VALUE;
+        int carrier = 0;
+        for (RateTable table : tables.values()) {
+            long cents = Calculator.quote(table, length, width, height, weight);
+            if (cents < 0 && cents != -QuoteStatus.NO_MATCHING_ENTRY) {
+                return (int) cents;
+            }
+            if (cents >= 0 && cents < bestCents) {
+                best = carrier;
+                bestCents = cents;
+            }
+            carrier++;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,151 @@
+package test;
+
+import control.ColumnarConfigTableModel;
+import control.ConfigEntry;
+import control.RateTable;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ColumnarConfigTableModel} class.
+ */
+public class ColumnarConfigTableModelTest {
+
+    /**
+     * Verifies that cells are read and written like in {@code ConfigTableModel}.
+     */
+    @Test
+    public void testGetAndSetValueAt() {
+        ColumnarConfigTableModel model = new ColumnarConfigTableModel(entries(3));
+        model.setValueAt(7, 1, 0);
+        model.setValueAt(2.5, 1, 4);
+        assertEquals(7, model.getValueAt(1, 0));
+        assertEquals(2.5, model.getValueAt(1, 4));
+        assertEquals(Integer.class, model.getColumnClass(3));
+        assertEquals(Double.class, model.getColumnClass(4));
+        model.setValueAt(3000, 1, 5);
+        assertEquals(3000, model.getValueAt(1, 5));
+        assertEquals(0, model.getValueAt(1, 6));
+        assertEquals(3000, model.getEntry(1).getGirth());
+        assertEquals("3000", model.toProperties().getProperty("entry.1.girth"));
+        assertNull(model.toProperties().getProperty("entry.1.volumetricDivisor"));
+        assertNull(model.getValueAt(0, 7));
+        assertThrows(IllegalArgumentException.class, () -> model.setValueAt(0, 0, 7));
+        assertThrows(IndexOutOfBoundsException.class, () -> model.getValueAt(3, 0));
+    }
+
+    /**
+     * Verifies that bulk insertions and deletions fire exactly one event.
+     */
+    @Test
+    public void testBulkOperationsFireOneEvent() {
+        ColumnarConfigTableModel model = new ColumnarConfigTableModel(entries(10));
+        List<TableModelEvent> events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+
+        model.addEntries(entries(100_000));
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.INSERT, events.get(0).getType());
+        assertEquals(10, events.get(0).getFirstRow());
+        assertEquals(100_009, events.get(0).getLastRow());
+        assertEquals(100_010, model.getRowCount());
+
+        model.removeRows(5, 3, 100_009);
+        assertEquals(2, events.size());
+        assertEquals(100_007, model.getRowCount());
+        assertEquals(4, model.getValueAt(3, 0)); // Rows 0, 1, 2, 4 remain at the start
+        assertEquals(6, model.getValueAt(4, 0));
+
+        model.removeRows(0, 1);
+        assertEquals(3, events.size());
+        assertEquals(TableModelEvent.DELETE, events.get(2).getType());
+        assertEquals(2, model.getValueAt(0, 0));
+    }
+
+    /**
+     * Verifies that sorting and filtering change the view and not the model order.
+     */
+    @Test
+    public void testSortAndFilter() {
+        List<ConfigEntry> entries = List.of(
+                new ConfigEntry(30, 30, 30, 300, 3.0),
+                new ConfigEntry(10, 10, 10, 100, 9.0),
+                new ConfigEntry(20, 20, 20, 200, 1.0),
+                new ConfigEntry(10, 10, 10, 400, 5.0));
+        ColumnarConfigTableModel model = new ColumnarConfigTableModel(entries);
+
+        model.sortBy(0, true);
+        assertEquals(List.of(10, 10, 20, 30), column(model, 0));
+        assertEquals(100, model.getValueAt(0, 3)); // Stable for equal lengths
+        assertEquals(3, model.convertRowIndexToModel(1));
+
+        model.sortBy(4, false);
+        assertEquals(9.0, model.getValueAt(0, 4));
+        assertEquals(1.0, model.getValueAt(3, 4));
+
+        model.setFilter(row -> model.getModelValue(row, 3) >= 200);
+        assertEquals(3, model.getRowCount());
+        assertEquals(List.of(400, 300, 200), column(model, 3));
+
+        model.removeEntry(0); // The 400 g entry, by view row
+        assertEquals(List.of(300, 200), column(model, 3));
+
+        model.setFilter(null);
+        model.sortBy(-1, true);
+        assertEquals(List.of(300, 100, 200), column(model, 3));
+        assertEquals("30x30x30x300", model.toProperties().getProperty("entry.0.dimensions"));
+        assertEquals(3, model.toEntries().size());
+    }
+
+    /**
+     * Verifies that a read-only model shares the rate table's columns and copies them before a change.
+     */
+    @Test
+    public void testReadOnlyModelCopiesOnWrite() {
+        RateTable rateTable = RateTable.load(new File("default.properties"));
+        ColumnarConfigTableModel model = ColumnarConfigTableModel.of(rateTable);
+        assertFalse(model.isCellEditable(0, 0));
+        assertEquals(5, model.getRowCount());
+        assertEquals(3.89, model.getValueAt(0, 4));
+
+        model.setValueAt(1.0, 0, 4);
+        model.removeRows(4);
+        assertEquals(1.0, model.getValueAt(0, 4));
+        assertEquals(4, model.getRowCount());
+        assertEquals(3.89, rateTable.getPrice(0));
+        assertEquals(5, rateTable.size());
+
+        Properties properties = model.toProperties();
+        assertEquals("1.0", properties.getProperty("entry.0.price"));
+        assertNull(properties.getProperty("entry.4.price"));
+    }
+
+    /**
+     * Creates entries whose length is their index, so rows can be identified.
+     */
+    private static List<ConfigEntry> entries(int count) {
+        List<ConfigEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new ConfigEntry(i, 100, 100, 1000, 1.0));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the visible values of a column.
+     */
+    private static List<Object> column(ColumnarConfigTableModel model, int column) {
+        List<Object> values = new ArrayList<>();
+        for (int row = 0; row < model.getRowCount(); row++) {
+            values.add(model.getValueAt(row, column));
+        }
+        return values;
+    }
+}
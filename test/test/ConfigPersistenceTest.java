@@ -0,0 +1,229 @@
+package test;
+
+import control.ConfigPersistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ConfigPersistence} class.
+ */
+public class ConfigPersistenceTest {
+
+    private Path directory;
+    private Path file;
+
+    /**
+     * Creates a temporary directory for each test.
+     *
+     * @throws IOException If the directory cannot be created.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("persistence");
+        file = directory.resolve("config.properties");
+    }
+
+    /**
+     * Deletes the temporary directory.
+     *
+     * @throws IOException If a file cannot be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Verifies that saving unchanged content does not touch the file and that changes are written.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testSkipsUnchangedContent() throws IOException {
+        ConfigPersistence persistence = ConfigPersistence.forFile(file);
+        assertTrue(persistence.save(config(5, 3.89)));
+        String written = Files.readString(file);
+
+        assertFalse(persistence.save(config(5, 3.89)));
+        assertEquals(written, Files.readString(file));
+        assertEquals(1, persistence.getWrites());
+        assertEquals(1, persistence.getSkipped());
+
+        assertTrue(persistence.save(config(5, 4.99)));
+        assertEquals("4.99", load().getProperty("entry.4.price"));
+        assertEquals(2, persistence.getWrites());
+    }
+
+    /**
+     * Verifies that a file written by someone else is compared by its entries, not by its date comment or order,
+     * and that later edits by someone else are noticed.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testDetectsExistingContent() throws IOException {
+        Files.writeString(file, "#Written elsewhere\nentry.0.price=3.89\nentry.0.dimensions=150x300x300x1000\n");
+        Properties properties = new Properties();
+        properties.setProperty("entry.0.dimensions", "150x300x300x1000");
+        properties.setProperty("entry.0.price", "3.89");
+
+        ConfigPersistence persistence = ConfigPersistence.forFile(file);
+        assertFalse(persistence.save(properties));
+        assertTrue(Files.readString(file).startsWith("#Written elsewhere"));
+
+        Files.writeString(file, "entry.0.dimensions=1x1x1x1\nentry.0.price=1.0\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+        assertTrue(persistence.save(properties));
+        assertEquals("3.89", load().getProperty("entry.0.price"));
+    }
+
+    /**
+     * Verifies that the same instance is shared by paths naming the same file and that no temporary files remain.
+     *
+     * @throws IOException If the file cannot be written or the directory cannot be listed.
+     */
+    @Test
+    public void testSharedInstanceLeavesNoTemporaryFiles() throws IOException {
+        assertSame(ConfigPersistence.forFile(file), ConfigPersistence.forFile(directory.resolve("./config.properties")));
+        for (int i = 1; i <= 10; i++) {
+            ConfigPersistence.forFile(file).save(config(i, i));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    /**
+     * Verifies that a save keeps the POSIX permissions of the file and creates new files with the default
+     * permissions instead of owner-only ones.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Test
+    public void testKeepsPermissions() throws IOException {
+        if (Files.getFileAttributeView(directory, PosixFileAttributeView.class) == null) {
+            return; // No POSIX permissions on this file system
+        }
+        ConfigPersistence persistence = ConfigPersistence.forFile(file);
+        persistence.save(config(1, 1.0));
+        Path probe = Files.createFile(directory.resolve("probe"));
+        assertEquals(Files.getPosixFilePermissions(probe), Files.getPosixFilePermissions(file));
+        Files.delete(probe);
+
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(file, permissions);
+        persistence.save(config(2, 2.0));
+        assertEquals(permissions, Files.getPosixFilePermissions(file));
+    }
+
+    /**
+     * Verifies that concurrent saves are coalesced and each caller returns once its content or newer content is
+     * written.
+     *
+     * @throws Exception If a save fails or a thread is interrupted.
+     */
+    @Test
+    public void testCoalescesConcurrentSaves() throws Exception {
+        ConfigPersistence persistence = ConfigPersistence.forFile(file);
+        List<Thread> threads = new ArrayList<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    for (int i = 0; i < 25; i++) {
+                        persistence.save(config(100, thread * 100 + i));
+                        assertEquals(100, load().size() / 2);
+                    }
+                } catch (Exception | AssertionError e) {
+                    failure.set(new Exception(e));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertTrue(persistence.getWrites() >= 1);
+        assertTrue(persistence.getWrites() + persistence.getSkipped() <= 200);
+    }
+
+    /**
+     * Verifies that a concurrent reader never observes a partially written file.
+     *
+     * @throws Exception If a save fails or the reader is interrupted.
+     */
+    @Test
+    public void testReaderNeverSeesTornFile() throws Exception {
+        ConfigPersistence persistence = ConfigPersistence.forFile(file);
+        persistence.save(config(2000, 1.0));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                try {
+                    Properties properties = load();
+                    String price = properties.getProperty("entry.0.price");
+                    if (properties.size() != 4000 || !price.equals(properties.getProperty("entry.1999.price"))) {
+                        failure.set("Torn file with " + properties.size() + " properties");
+                    }
+                } catch (IOException e) {
+                    failure.set(e.getMessage());
+                }
+            }
+        });
+        for (int i = 0; i < 50; i++) {
+            persistence.save(config(2000, i % 2 == 0 ? 2.0 : 3.0));
+        }
+        running.set(false);
+        reader.join();
+        assertNull(failure.get());
+    }
+
+    /**
+     * Builds a configuration whose entries all have the given price.
+     */
+    private static Properties config(int entries, double price) {
+        Properties properties = new Properties();
+        for (int i = 0; i < entries; i++) {
+            properties.setProperty("entry." + i + ".dimensions", "150x300x300x" + (1000 + i));
+            properties.setProperty("entry." + i + ".price", String.valueOf(price));
+        }
+        return properties;
+    }
+
+    /**
+     * Reads the file under test.
+     */
+    private Properties load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,109 @@
+package test;
+
+import control.ConfigReloader;
+import control.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ConfigReloader} class.
+ */
+public class ConfigReloaderTest {
+
+    /**
+     * Verifies that the initial configuration is loaded and normalized.
+     *
+     * @throws IOException If the temporary config file cannot be written
+     */
+    @Test
+    public void testInitialLoad() throws IOException {
+        Path file = writeConfig(Files.createTempDirectory("reloader"), "30x10x20x40", "9.99");
+        try (ConfigReloader reloader = new ConfigReloader(file)) {
+            RateTable table = reloader.current();
+            assertEquals(1, table.size());
+            assertEquals(10, table.getEntry(0).getLength());
+            assertEquals(30, table.getEntry(0).getHeight());
+        }
+    }
+
+    /**
+     * Verifies that the served table is pruned of entries an earlier entry always wins over.
+     *
+     * @throws IOException If the temporary config file cannot be written
+     */
+    @Test
+    public void testPrunesUnreachableEntries() throws IOException {
+        Path file = Files.createTempDirectory("reloader").resolve("config.properties");
+        Files.writeString(file, """
+                entry.0.dimensions=150x300x300x1000
+                entry.0.price=3.89
+                entry.1.dimensions=300x300x150x1000
+                entry.1.price=4.99
+                entry.2.dimensions=600x600x1200x31000
+                entry.2.price=14.99
+                """);
+        try (ConfigReloader reloader = new ConfigReloader(file)) {
+            RateTable table = reloader.current();
+            assertEquals(2, table.size());
+            assertEquals(3.89, table.getPrice(0));
+            assertEquals(14.99, table.getPrice(1));
+        }
+    }
+
+    /**
+     * Verifies that a modified file is picked up by the background watcher.
+     *
+     * @throws Exception If the file cannot be written or the wait is interrupted
+     */
+    @Test
+    public void testPicksUpChanges() throws Exception {
+        Path file = writeConfig(Files.createTempDirectory("reloader"), "10x20x30x40", "1.0");
+        try (ConfigReloader reloader = new ConfigReloader(file)) {
+            RateTable initial = reloader.current();
+            writeConfig(file.getParent(), "10x20x30x40", "2.0");
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (reloader.current() == initial && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(2.0, reloader.current().getPrice(0));
+        }
+    }
+
+    /**
+     * Verifies that an invalid file keeps the previous table active.
+     *
+     * @throws IOException If the temporary config file cannot be written
+     */
+    @Test
+    public void testInvalidFileKeepsPreviousTable() throws IOException {
+        Path file = writeConfig(Files.createTempDirectory("reloader"), "10x20x30x40", "1.0");
+        try (ConfigReloader reloader = new ConfigReloader(file)) {
+            RateTable initial = reloader.current();
+            writeConfig(file.getParent(), "10x20x30x40", "not-a-price");
+
+            assertFalse(reloader.reload());
+            assertSame(initial, reloader.current());
+        }
+    }
+
+    /**
+     * Writes a single-entry configuration file into the given directory.
+     *
+     * @param directory  The target directory
+     * @param dimensions The dimensions value of the entry
+     * @param price      The price value of the entry
+     * @return The written file
+     * @throws IOException If the file cannot be written
+     */
+    private static Path writeConfig(Path directory, String dimensions, String price) throws IOException {
+        Path file = directory.resolve("config.properties");
+        Files.writeString(file, "entry.0.dimensions=" + dimensions + "\nentry.0.price=" + price + "\n");
+        return file;
+    }
+}
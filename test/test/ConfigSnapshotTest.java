@@ -0,0 +1,115 @@
+package test;
+
+import control.Calculator;
+import control.ConfigEntry;
+import control.ConfigHandler;
+import control.ConfigSnapshot;
+import control.TariffOptimizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ConfigSnapshot} class and its publication by {@link ConfigHandler}.
+ */
+public class ConfigSnapshotTest {
+
+    /**
+     * Verifies that a snapshot is unaffected by later changes to its source entries.
+     */
+    @Test
+    public void testSnapshotIsImmutable() {
+        List<ConfigEntry> entries = new ArrayList<>(List.of(new ConfigEntry(150, 300, 300, 1000, 3.89)));
+        ConfigSnapshot snapshot = ConfigSnapshot.of(entries);
+
+        entries.get(0).setPrice(99.0);
+        entries.add(new ConfigEntry(600, 600, 1200, 31000, 14.99));
+        snapshot.getEntry(0).setPrice(42.0);
+
+        assertEquals(1, snapshot.size());
+        assertEquals(3.89, snapshot.getEntry(0).getPrice());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getEntries().clear());
+        assertEquals(389, Calculator.quote(snapshot.getRateTable(), 300, 300, 150, 1000));
+    }
+
+    /**
+     * Verifies that a snapshot prices with the normalized table without unreachable entries and reports them.
+     */
+    @Test
+    public void testSnapshotIsOptimized() {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(List.of(
+                new ConfigEntry(600, 600, 1200, 31000, 14.99),
+                new ConfigEntry(300, 300, 150, 1000, 3.89),
+                new ConfigEntry(150, 300, 300, 1000, 4.99)));
+
+        assertEquals(2, snapshot.size());
+        assertEquals(389, Calculator.quote(snapshot.getRateTable(), 300, 300, 150, 1000));
+        assertEquals(150, snapshot.getEntry(0).getLength());
+        assertEquals(List.of(new TariffOptimizer.Finding(TariffOptimizer.Kind.UNREACHABLE, 2, 1, -1, -1)),
+                snapshot.getFindings());
+    }
+
+    /**
+     * Verifies that versions increase monotonically.
+     */
+    @Test
+    public void testVersionsIncrease() {
+        ConfigSnapshot first = ConfigSnapshot.of(List.of());
+        ConfigSnapshot second = ConfigSnapshot.of(List.of());
+        assertTrue(second.getVersion() > first.getVersion());
+    }
+
+    /**
+     * Verifies that the handler publishes a new snapshot when loading and not when the working copy is edited.
+     */
+    @Test
+    public void testHandlerPublishesOnLoad() {
+        ConfigHandler configHandler = new ConfigHandler("default.properties");
+        ConfigSnapshot loaded = configHandler.getSnapshot();
+        assertEquals(5, loaded.size());
+
+        configHandler.getConfigEntries().get(0).setPrice(1.0);
+        configHandler.getConfigEntries().clear();
+        assertSame(loaded, configHandler.getSnapshot());
+        assertEquals(3.89, configHandler.getSnapshot().getEntry(0).getPrice());
+
+        configHandler.loadFile(new File("default.properties"));
+        assertTrue(configHandler.getSnapshot().getVersion() > loaded.getVersion());
+        assertEquals(5, configHandler.getSnapshot().size());
+    }
+
+    /**
+     * Verifies that a concurrent reader always sees a complete snapshot while new versions are published.
+     *
+     * @throws InterruptedException If the reader thread is interrupted.
+     */
+    @Test
+    public void testConcurrentReader() throws InterruptedException {
+        ConfigHandler configHandler = new ConfigHandler("default.properties");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            long lastVersion = 0;
+            while (running.get()) {
+                ConfigSnapshot snapshot = configHandler.getSnapshot();
+                if (snapshot.getVersion() < lastVersion || snapshot.size() != 5) {
+                    failure.set("Inconsistent snapshot " + snapshot.getVersion() + " of size " + snapshot.size());
+                }
+                lastVersion = snapshot.getVersion();
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20; i++) {
+            configHandler.loadFile(new File("default.properties"));
+        }
+        running.set(false);
+        reader.join();
+        assertNull(failure.get());
+    }
+}
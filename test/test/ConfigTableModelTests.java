@@ -41,9 +41,15 @@ public class ConfigTableModelTests {
         model.setValueAt(0.0,0,4);
         assertEquals(0.0,model.getValueAt(0,4));
 
-        assertNull(model.getValueAt(0, 5));
+        model.setValueAt(3000,0,5);
+        assertEquals(3000,model.getValueAt(0,5));
 
-        assertThrows(IllegalArgumentException.class, () -> model.setValueAt(0,0, 5));
+        model.setValueAt(5000,0,6);
+        assertEquals(5000,model.getValueAt(0,6));
+
+        assertNull(model.getValueAt(0, 7));
+
+        assertThrows(IllegalArgumentException.class, () -> model.setValueAt(0,0, 7));
     }
 
     @Test
@@ -65,6 +71,8 @@ public class ConfigTableModelTests {
         assertEquals(Integer.class, model.getColumnClass(2));
         assertEquals(Integer.class, model.getColumnClass(3));
         assertEquals(Double.class, model.getColumnClass(4));
-        assertEquals(Object.class, model.getColumnClass(5));
+        assertEquals(Integer.class, model.getColumnClass(5));
+        assertEquals(Integer.class, model.getColumnClass(6));
+        assertEquals(Object.class, model.getColumnClass(7));
     }
 }
@@ -0,0 +1,99 @@
+package test;
+
+import control.CsvShipmentPricer;
+import control.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link CsvShipmentPricer} class.
+ */
+public class CsvShipmentPricerTest {
+
+    private final CsvShipmentPricer pricer = new CsvShipmentPricer(RateTable.load(new File("default.properties")));
+
+    /**
+     * Verifies pricing of valid, rejected and malformed rows including a header and a missing trailing newline.
+     *
+     * @throws IOException If the temporary files cannot be accessed
+     */
+    @Test
+    public void testPriceFile() throws IOException {
+        Path input = Files.createTempFile("shipments", ".csv");
+        Path output = Files.createTempFile("priced", ".csv");
+        Files.writeString(input, "length,width,height,weight\n"
+                + "300,300,150,1000\r\n"
+                + "\n"
+                + "1000;400;400;10000\n"
+                + "0,10,10,10\n"
+                + "10,x,10,10\n"
+                + "300,300,300,32000");
+
+        CsvShipmentPricer.Result result = pricer.price(input, output);
+
+        assertEquals(5, result.rows());
+        assertEquals(3, result.rejected());
+        assertEquals(List.of(
+                "length,width,height,weight,price,status",
+                "300,300,150,1000,3.89,OK",
+                "1000,400,400,10000,7.99,OK",
+                "0,10,10,10,,INVALID_PACKET",
+                ",,,,,MALFORMED",
+                "300,300,300,32000,,NO_MATCHING_ENTRY"), Files.readAllLines(output));
+    }
+
+    /**
+     * Verifies that a bad first row of a file without header is reported instead of being skipped as a header.
+     *
+     * @throws IOException If the temporary files cannot be accessed
+     */
+    @Test
+    public void testMalformedFirstRowWithoutHeader() throws IOException {
+        Path input = Files.createTempFile("shipments", ".csv");
+        Path output = Files.createTempFile("priced", ".csv");
+        Files.writeString(input, "300,300\n"
+                + "300,300,150,1000\n");
+
+        CsvShipmentPricer.Result result = pricer.price(input, output);
+
+        assertEquals(2, result.rows());
+        assertEquals(1, result.rejected());
+        assertEquals(List.of(
+                "length,width,height,weight,price,status",
+                ",,,,,MALFORMED",
+                "300,300,150,1000,3.89,OK"), Files.readAllLines(output));
+
+        Files.writeString(input, "10,x,10,10\n");
+        assertEquals(1, pricer.price(input, output).rejected());
+    }
+
+    /**
+     * Verifies that a large file is priced completely and the throughput is reported.
+     *
+     * @throws IOException If the temporary files cannot be accessed
+     */
+    @Test
+    public void testLargeFile() throws IOException {
+        Path input = Files.createTempFile("shipments", ".csv");
+        Path output = Files.createTempFile("priced", ".csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            content.append("300,300,150,1000\n");
+        }
+        Files.writeString(input, content);
+
+        CsvShipmentPricer.Result result = pricer.price(input, output);
+
+        assertEquals(100_000, result.rows());
+        assertEquals(0, result.rejected());
+        assertTrue(result.rowsPerSecond() > 0);
+        assertEquals(100_001, Files.readAllLines(output).size());
+    }
+}
@@ -0,0 +1,99 @@
+package test;
+
+import control.BatchCalculator;
+import control.Calculator;
+import control.RateTable;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Flight Recorder events of the {@code control} package.
+ */
+public class FlightRecorderEventsTest {
+
+    /**
+     * Verifies that loading a rate table records a compile event with its statistics.
+     *
+     * @throws Exception If the recording cannot be written or read.
+     */
+    @Test
+    public void testTariffCompileEvent() throws Exception {
+        List<RecordedEvent> events = record("control.TariffCompile", () -> RateTable.load(new File("default.properties")));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("default.properties", event.getString("file"));
+        assertEquals(5, event.getInt("entries"));
+        assertTrue(event.getDuration("parseTime").toNanos() > 0);
+    }
+
+    /**
+     * Verifies that sampled quotes are recorded with their dimensions and outcome.
+     *
+     * @throws Exception If the recording cannot be written or read.
+     */
+    @Test
+    public void testQuoteEventsAreSampled() throws Exception {
+        RateTable rateTable = RateTable.load(new File("default.properties"));
+        int count = 10_000;
+        List<RecordedEvent> events = record("control.Quote", () -> {
+            for (int i = 0; i < count; i++) {
+                Calculator.quote(rateTable, 300, 300, 150, 1000);
+            }
+        });
+
+        assertFalse(events.isEmpty());
+        assertTrue(events.size() < count / 10);
+        RecordedEvent event = events.get(0);
+        assertEquals(150, event.getInt("height"));
+        assertEquals(0, event.getInt("tier"));
+        assertEquals("OK", event.getString("status"));
+    }
+
+    /**
+     * Verifies that a batch records its row counts and throughput.
+     *
+     * @throws Exception If the recording cannot be written or read.
+     */
+    @Test
+    public void testBatchJobEvent() throws Exception {
+        RateTable rateTable = RateTable.load(new File("default.properties"));
+        int[] packed = {300, 300, 150, 1000, 300, 300, 300, 32000};
+        List<RecordedEvent> events = record("control.BatchJob",
+                () -> BatchCalculator.calcShippingCosts(rateTable, packed, new long[2], new byte[2]));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("packed", event.getString("source"));
+        assertEquals(2, event.getLong("rows"));
+        assertEquals(1, event.getLong("rejected"));
+        assertTrue(event.getDouble("rowsPerSecond") > 0);
+    }
+
+    /**
+     * Records the given action with a single event type enabled without threshold.
+     */
+    private static List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+        Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package test;
+
+import control.Calculator;
+import control.ConfigEntry;
+import control.MappedTariff;
+import control.RateTable;
+import control.TariffFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TariffFile} format and the {@link MappedTariff} class.
+ */
+public class MappedTariffTest {
+
+    private Path file;
+
+    /**
+     * Creates a temporary file for each test.
+     *
+     * @throws IOException If the file cannot be created.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("tariff", ".bin");
+    }
+
+    /**
+     * Deletes the temporary file.
+     *
+     * @throws IOException If the file cannot be deleted.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Verifies that the default configuration prices identically after a round trip.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testRoundTripDefault() throws IOException {
+        RateTable rateTable = RateTable.load(new File("default.properties"));
+        TariffFile.write(rateTable, file);
+
+        try (MappedTariff tariff = MappedTariff.open(file)) {
+            assertTrue(tariff.hasGrid());
+            assertEquals(5, tariff.size());
+            assertEquals(14.99, tariff.getPrice(4));
+            assertEquals(389, tariff.quote(300, 300, 150, 1000));
+            assertEquals(Calculator.quote(rateTable, 2000, 300, 300, 1000), tariff.quote(2000, 300, 300, 1000));
+            assertEquals(Calculator.quote(rateTable, 300, 300, 300, 32000), tariff.quote(300, 300, 300, 32000));
+            assertEquals(-1, tariff.findEntry(600, 600, 1200, 31001));
+        }
+    }
+
+    /**
+     * Verifies that a large tariff without grid is searched through the serialized index.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testIndexedTariff() throws IOException {
+        Random random = new Random(17);
+        List<ConfigEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            entries.add(new ConfigEntry(1 + random.nextInt(600), 1 + random.nextInt(600), 1 + random.nextInt(1200),
+                    1 + random.nextInt(31000), (1 + random.nextInt(3000)) / 100.0));
+        }
+        RateTable rateTable = RateTable.fromEntries(entries, 0);
+        TariffFile.write(rateTable, file);
+
+        try (MappedTariff tariff = MappedTariff.open(file)) {
+            assertFalse(tariff.hasGrid());
+            for (int i = 0; i < 2000; i++) {
+                int shortest = 1 + random.nextInt(600);
+                int middle = shortest + random.nextInt(600);
+                int longest = middle + random.nextInt(1200);
+                int weight = 1 + random.nextInt(32000);
+                assertEquals(rateTable.findEntry(shortest, middle, longest, weight),
+                        tariff.findEntry(shortest, middle, longest, weight));
+            }
+        }
+    }
+
+    /**
+     * Verifies that girth and volumetric limits are written and checked after grid and index lookups.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testExtraLimits() throws IOException {
+        Random random = new Random(19);
+        List<ConfigEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            entries.add(new ConfigEntry(100 * (1 + random.nextInt(6)), 100 * (1 + random.nextInt(6)),
+                    200 * (1 + random.nextInt(6)), 1000 * (1 + random.nextInt(31)), i / 100.0,
+                    random.nextBoolean() ? 500 * (1 + random.nextInt(6)) : 0,
+                    random.nextBoolean() ? 5000 : 0));
+        }
+        for (long gridMemoryBudget : new long[]{1L << 24, 0}) {
+            RateTable rateTable = RateTable.fromEntries(entries, gridMemoryBudget);
+            TariffFile.write(rateTable, file);
+
+            try (MappedTariff tariff = MappedTariff.open(file)) {
+                assertEquals(gridMemoryBudget > 0, tariff.hasGrid());
+                for (int i = 0; i < 2000; i++) {
+                    int length = 1 + random.nextInt(700);
+                    int width = 1 + random.nextInt(700);
+                    int height = 1 + random.nextInt(1300);
+                    int weight = 1 + random.nextInt(32000);
+                    assertEquals(Calculator.quote(rateTable, length, width, height, weight),
+                            tariff.quote(length, width, height, weight));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that configuration entries can be exported directly.
+     *
+     * @throws IOException If the file cannot be written or read.
+     */
+    @Test
+    public void testExportEntries() throws IOException {
+        TariffFile.export(List.of(new ConfigEntry(10, 20, 30, 40, 1.5)), file);
+
+        try (MappedTariff tariff = MappedTariff.open(file)) {
+            assertEquals(0, tariff.findEntry(10, 20, 30, 40));
+            assertEquals(150, tariff.getPriceCents(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> tariff.getPrice(1));
+        }
+    }
+
+    /**
+     * Verifies that corrupted, truncated and foreign files are rejected.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Test
+    public void testInvalidFiles() throws IOException {
+        TariffFile.write(RateTable.load(new File("default.properties")), file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(TariffFile.HEADER_SIZE);
+            raf.write(0x7F);
+        }
+        assertThrows(IOException.class, () -> MappedTariff.open(file));
+        MappedTariff.open(file, false).close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        assertThrows(IOException.class, () -> MappedTariff.open(file, false));
+
+        Files.writeString(file, "entry.0.dimensions=150x300x300x1000");
+        assertThrows(IOException.class, () -> MappedTariff.open(file));
+    }
+}
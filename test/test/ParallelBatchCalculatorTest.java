@@ -0,0 +1,99 @@
+package test;
+
+import control.BatchCalculator;
+import control.ParallelBatchCalculator;
+import control.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ParallelBatchCalculator} class.
+ */
+public class ParallelBatchCalculatorTest {
+
+    private final RateTable rateTable = RateTable.load(new File("default.properties"));
+
+    /**
+     * Verifies that parallel pricing yields exactly the sequential results in input order.
+     */
+    @Test
+    public void testMatchesSequentialPricing() {
+        Random random = new Random(11);
+        int n = 100_000;
+        int[] lengths = new int[n];
+        int[] widths = new int[n];
+        int[] heights = new int[n];
+        int[] weights = new int[n];
+        for (int i = 0; i < n; i++) {
+            lengths[i] = random.nextInt(700);
+            widths[i] = random.nextInt(700);
+            heights[i] = random.nextInt(1300);
+            weights[i] = random.nextInt(32000);
+        }
+
+        long[] expected = new long[n];
+        byte[] expectedStatus = new byte[n];
+        int expectedAccepted = BatchCalculator.calcShippingCosts(rateTable, lengths, widths, heights, weights,
+                expected, expectedStatus);
+
+        ParallelBatchCalculator calculator = new ParallelBatchCalculator(new ForkJoinPool(4), 1000);
+        long[] actual = new long[n];
+        byte[] actualStatus = new byte[n];
+        int actualAccepted = calculator.calcShippingCosts(rateTable, lengths, widths, heights, weights,
+                actual, actualStatus);
+
+        assertEquals(expectedAccepted, actualAccepted);
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expectedStatus, actualStatus);
+    }
+
+    /**
+     * Verifies the packed layout on the common pool.
+     */
+    @Test
+    public void testPacked() {
+        int[] packed = {300, 300, 150, 1000, 0, 1, 1, 1};
+        double[] prices = new double[2];
+        byte[] status = new byte[2];
+
+        assertEquals(1, new ParallelBatchCalculator().calcShippingCosts(rateTable, packed, prices, status));
+        assertEquals(3.89, prices[0]);
+    }
+
+    /**
+     * Verifies that closing shuts down an owned pool but leaves a pool passed in by the caller running.
+     */
+    @Test
+    public void testClosesOwnedPoolOnly() {
+        int[] packed = {300, 300, 150, 1000};
+        double[] prices = new double[1];
+        byte[] status = new byte[1];
+
+        ParallelBatchCalculator owning = new ParallelBatchCalculator(2);
+        assertEquals(1, owning.calcShippingCosts(rateTable, packed, prices, status));
+        owning.close();
+        assertThrows(RejectedExecutionException.class,
+                () -> owning.calcShippingCosts(rateTable, packed, prices, status));
+
+        try (ForkJoinPool pool = new ForkJoinPool(2)) {
+            try (ParallelBatchCalculator borrowing = new ParallelBatchCalculator(pool, 1000)) {
+                assertEquals(1, borrowing.calcShippingCosts(rateTable, packed, prices, status));
+            }
+            assertFalse(pool.isShutdown());
+        }
+    }
+
+    /**
+     * Verifies that a non-positive chunk size is rejected.
+     */
+    @Test
+    public void testInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBatchCalculator(ForkJoinPool.commonPool(), 0));
+    }
+}
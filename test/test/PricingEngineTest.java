@@ -0,0 +1,158 @@
+package test;
+
+import cli.PricingCli;
+import control.Calculator;
+import control.ConfigReloader;
+import control.PricingEngine;
+import control.QuoteStatus;
+import control.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PricingEngine} class and the {@link PricingCli} command line interface.
+ */
+public class PricingEngineTest {
+
+    /**
+     * Verifies that the default configuration is loaded and quoted like the calculator does.
+     *
+     * @throws IOException If the configuration cannot be read.
+     */
+    @Test
+    public void testLoadAndQuote() throws IOException {
+        PricingEngine engine = PricingEngine.load(Path.of("default.properties"));
+        assertEquals(5, engine.size());
+        assertEquals(389, engine.quote(300, 300, 150, 1000));
+        assertEquals(1499, engine.quote(1200, 600, 300, 31000));
+        assertEquals(-QuoteStatus.NO_MATCHING_ENTRY, engine.quote(300, 300, 150, 32000));
+        assertEquals(-QuoteStatus.INVALID_PACKET, engine.quote(0, 300, 150, 1000));
+    }
+
+    /**
+     * Verifies that side limits given in any order are matched against the sorted package sides.
+     */
+    @Test
+    public void testNormalizesSideLimits() {
+        Properties properties = new Properties();
+        properties.setProperty("entry.0.dimensions", "300x150x300x1000");
+        properties.setProperty("entry.0.price", "3.89");
+        assertEquals(389, PricingEngine.fromProperties(properties).quote(300, 300, 150, 1000));
+    }
+
+    /**
+     * Verifies that a hand-edited file with unsorted entries is quoted identically by the command line and by
+     * the {@link ConfigReloader} feeding the servers, which both normalize the entry order.
+     *
+     * @throws IOException If the temporary config file cannot be written.
+     */
+    @Test
+    public void testQuotesUnsortedFileLikeReloader() throws IOException {
+        Path directory = Files.createTempDirectory("engine");
+        Path file = directory.resolve("config.properties");
+        Files.writeString(file, """
+                entry.0.dimensions=1200x600x600x31000
+                entry.0.price=14.99
+                entry.1.dimensions=300x300x150x1000
+                entry.1.price=3.89
+                entry.2.dimensions=600x300x150x2000
+                entry.2.price=4.39
+                """);
+        PricingEngine engine = PricingEngine.load(file);
+        assertEquals(389, engine.quote(300, 300, 150, 1000));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(PricingCli.EXIT_OK, PricingCli.run(new String[]{"quote", file.toString(), "300", "300", "150",
+                "1000"}, new PrintStream(out, true), new PrintStream(new ByteArrayOutputStream(), true)));
+        assertEquals("3.89", out.toString().trim());
+
+        try (ConfigReloader reloader = new ConfigReloader(file)) {
+            RateTable served = reloader.current();
+            for (int[] pack : new int[][]{{300, 300, 150, 1000}, {500, 300, 150, 1500}, {300, 150, 150, 5000},
+                    {1200, 600, 600, 31000}, {1300, 600, 600, 1000}}) {
+                assertEquals(Calculator.quote(served, pack[0], pack[1], pack[2], pack[3]),
+                        engine.quote(pack[0], pack[1], pack[2], pack[3]));
+            }
+        }
+    }
+
+    /**
+     * Verifies that validation reports every problem instead of stopping at the first.
+     */
+    @Test
+    public void testValidation() {
+        Properties properties = new Properties();
+        properties.setProperty("entry.0.dimensions", "150x300x300");
+        properties.setProperty("entry.0.price", "3.89");
+        properties.setProperty("entry.1.dimensions", "150x300x-1x1000");
+        properties.setProperty("entry.1.price", "abc");
+        properties.setProperty("entry.2.dimensions", "150x300x300x1000");
+        properties.setProperty("entry.4.price", "1.00");
+
+        List<String> problems = PricingEngine.validate(properties);
+        assertEquals(5, problems.size(), problems.toString());
+        assertTrue(problems.contains("entry.2.price is missing"));
+        assertTrue(problems.contains("entry.4.price is unreachable, entry numbers must be consecutive"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> PricingEngine.fromProperties(properties));
+        assertTrue(e.getMessage().startsWith("Invalid configuration: "));
+        assertTrue(PricingEngine.validate(new Properties()).contains("No entries, entry.0.dimensions is missing"));
+    }
+
+    /**
+     * Verifies the quote, batch and validate commands and their exit statuses.
+     *
+     * @throws IOException If a temporary file cannot be written or read.
+     */
+    @Test
+    public void testCli() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream outStream = new PrintStream(out, true);
+        PrintStream errStream = new PrintStream(err, true);
+
+        assertEquals(PricingCli.EXIT_OK, PricingCli.run(
+                new String[]{"quote", "default.properties", "300", "300", "150", "1000"}, outStream, errStream));
+        assertEquals("3.89", out.toString().trim());
+        out.reset();
+        assertEquals(PricingCli.EXIT_OK, PricingCli.run(
+                new String[]{"quote", "default.properties", "1200", "600", "300", "5000"}, outStream, errStream));
+        assertEquals("5.89", out.toString().trim());
+
+        assertEquals(PricingCli.EXIT_REJECTED, PricingCli.run(
+                new String[]{"quote", "default.properties", "300", "300", "150", "99999"}, outStream, errStream));
+        assertEquals(PricingCli.EXIT_USAGE, PricingCli.run(new String[]{"quote"}, outStream, errStream));
+        assertEquals(PricingCli.EXIT_USAGE, PricingCli.run(
+                new String[]{"quote", "default.properties", "x", "300", "150", "1000"}, outStream, errStream));
+        assertEquals(PricingCli.EXIT_INVALID_CONFIG, PricingCli.run(
+                new String[]{"quote", "missing.properties", "300", "300", "150", "1000"}, outStream, errStream));
+        assertEquals(PricingCli.EXIT_OK, PricingCli.run(
+                new String[]{"validate", "default.properties"}, outStream, errStream));
+
+        Path input = Files.createTempFile("shipments", ".csv");
+        Path output = Files.createTempFile("prices", ".csv");
+        try {
+            Files.writeString(input, "300,300,150,1000\n300,300,150,99999\n");
+            assertEquals(PricingCli.EXIT_OK, PricingCli.run(
+                    new String[]{"batch", "default.properties", input.toString(), output.toString()},
+                    outStream, errStream));
+            List<String> lines = Files.readAllLines(output);
+            assertEquals(3, lines.size());
+            assertTrue(lines.get(1).endsWith("3.89,OK"));
+            assertTrue(lines.get(2).endsWith("NO_MATCHING_ENTRY"));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+}
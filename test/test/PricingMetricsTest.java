@@ -0,0 +1,132 @@
+package test;
+
+import control.BatchCalculator;
+import control.Calculator;
+import control.ConfigEntry;
+import control.LatencyHistogram;
+import control.PricingMetrics;
+import control.RateTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link PricingMetrics} and {@link LatencyHistogram} classes.
+ */
+public class PricingMetricsTest {
+
+    private final RateTable rateTable = RateTable.load(new File("default.properties"));
+    private final PricingMetrics metrics = PricingMetrics.get();
+
+    /**
+     * Starts every test with enabled, empty metrics.
+     */
+    @BeforeEach
+    public void setUp() {
+        metrics.setEnabled(true);
+        metrics.reset();
+    }
+
+    /**
+     * Leaves recording enabled for the following tests.
+     */
+    @AfterEach
+    public void tearDown() {
+        metrics.setEnabled(true);
+    }
+
+    /**
+     * Verifies that quotes are counted per tier and rejects per reason.
+     */
+    @Test
+    public void testCountsTiersAndRejects() {
+        Calculator.quote(rateTable, 300, 300, 150, 1000);
+        Calculator.quote(rateTable, 300, 300, 150, 1000);
+        Calculator.quote(rateTable, 0, 300, 150, 1000);
+        Calculator.quote(RateTable.fromEntries(List.of(new ConfigEntry(600, 600, 1200, 5000, 5.89))), 1200, 600, 400, 1000);
+        Calculator.quote(rateTable, 300, 300, 300, 32000);
+
+        assertEquals(5, metrics.getQuoteCount());
+        assertEquals(2, metrics.getTierHits()[0]);
+        assertEquals(1, metrics.getRejectedInvalidPacket());
+        assertEquals(1, metrics.getRejectedGirthExceeded());
+        assertEquals(1, metrics.getRejectedNoMatchingEntry());
+    }
+
+    /**
+     * Verifies that batch pricing is recorded as well and that only a share of the quotes is timed.
+     */
+    @Test
+    public void testBatchesAreSampled() {
+        int count = 10_000;
+        int[] packed = new int[count * BatchCalculator.PACKED_STRIDE];
+        for (int i = 0; i < packed.length; i += BatchCalculator.PACKED_STRIDE) {
+            packed[i] = 300;
+            packed[i + 1] = 300;
+            packed[i + 2] = 150;
+            packed[i + 3] = 1000;
+        }
+        BatchCalculator.calcShippingCosts(rateTable, packed, new long[count], new byte[count]);
+
+        assertEquals(count, metrics.getQuoteCount());
+        assertTrue(metrics.getSampledQuoteCount() > 0);
+        assertTrue(metrics.getSampledQuoteCount() < count / 10);
+        assertTrue(metrics.getQuoteLatencyP50Nanos() <= metrics.getQuoteLatencyP999Nanos());
+    }
+
+    /**
+     * Verifies that nothing is recorded while metrics are switched off.
+     */
+    @Test
+    public void testDisabled() {
+        metrics.setEnabled(false);
+        Calculator.quote(rateTable, 300, 300, 150, 1000);
+
+        assertFalse(metrics.isEnabled());
+        assertEquals(0, metrics.getQuoteCount());
+        assertEquals(0, metrics.getTierHits().length);
+    }
+
+    /**
+     * Verifies that the metrics can be read through JMX.
+     *
+     * @throws Exception If the MBean cannot be queried.
+     */
+    @Test
+    public void testMBean() throws Exception {
+        PricingMetrics.registerMBean();
+        PricingMetrics.registerMBean();
+        Calculator.quote(rateTable, 300, 300, 150, 1000);
+
+        Object count = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(PricingMetrics.OBJECT_NAME), "QuoteCount");
+        assertEquals(1L, count);
+    }
+
+    /**
+     * Verifies that percentiles stay within the precision of the histogram buckets.
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        histogram.record(-1);
+
+        assertEquals(1000, histogram.getCount());
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "Median was " + median);
+        long max = histogram.getPercentile(100);
+        assertTrue(max >= 1_000_000 && max <= 1_000_000 * 1.125, "Maximum was " + max);
+        histogram.reset();
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
@@ -0,0 +1,96 @@
+package test;
+
+import control.RateTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import server.PricingServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link PricingServer} class over a loopback connection.
+ */
+public class PricingServerTest {
+
+    private PricingServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Starts a server on a free port with the default configuration.
+     *
+     * @throws IOException If the server cannot be started
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        RateTable rateTable = RateTable.load(new File("default.properties"));
+        server = new PricingServer(new InetSocketAddress("127.0.0.1", 0), () -> rateTable);
+        server.start();
+    }
+
+    /**
+     * Stops the server after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    /**
+     * Verifies a successful single quote.
+     *
+     * @throws Exception If the request fails
+     */
+    @Test
+    public void testSingleQuote() throws Exception {
+        HttpResponse<String> response = get("/quote?length=300&width=300&height=150&weight=1000");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"price\":3.89,\"cents\":389,\"status\":\"OK\"}", response.body());
+    }
+
+    /**
+     * Verifies that rejected and malformed single quotes are reported with the proper status codes.
+     *
+     * @throws Exception If the request fails
+     */
+    @Test
+    public void testSingleQuoteErrors() throws Exception {
+        HttpResponse<String> rejected = get("/quote?length=300&width=300&height=300&weight=32000");
+        assertEquals(422, rejected.statusCode());
+        assertTrue(rejected.body().contains("NO_MATCHING_ENTRY"));
+
+        assertEquals(400, get("/quote?length=300&width=abc&height=150&weight=1000").statusCode());
+        assertEquals(400, get("/quote?length=300").statusCode());
+    }
+
+    /**
+     * Verifies a batch quote with an accepted and a rejected package.
+     *
+     * @throws Exception If the request fails
+     */
+    @Test
+    public void testBatchQuote() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/quote/batch"))
+                .POST(HttpRequest.BodyPublishers.ofString("300,300,150,1000\r\n2000,300,300,1000\n"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals("3.89,OK\n,NO_MATCHING_ENTRY\n", response.body());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
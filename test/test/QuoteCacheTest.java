@@ -0,0 +1,112 @@
+package test;
+
+import control.Calculator;
+import control.ConfigEntry;
+import control.QuoteCache;
+import control.RateTable;
+import data.Packet;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link QuoteCache} class.
+ */
+public class QuoteCacheTest {
+
+    private final RateTable rateTable = RateTable.load(new File("default.properties"));
+
+    /**
+     * Verifies that repeated shapes are served from the cache and counted as hits.
+     */
+    @Test
+    public void testHitsAndMisses() {
+        QuoteCache cache = new QuoteCache(128);
+
+        assertEquals(3.89, cache.calcShippingCosts(new Packet(300, 300, 150, 1000), rateTable));
+        assertEquals(3.89, cache.calcShippingCosts(new Packet(150, 300, 300, 1000), rateTable));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    /**
+     * Verifies that rejected packages keep throwing like the calculator.
+     */
+    @Test
+    public void testRejectedPackages() {
+        QuoteCache cache = new QuoteCache(128);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.calcShippingCosts(new Packet(2000, 300, 300, 1000), rateTable));
+        assertThrows(IllegalArgumentException.class, () -> cache.calcShippingCosts(new Packet(300, 300, 300, 32000), rateTable));
+        assertThrows(IllegalArgumentException.class, () -> cache.calcShippingCosts(new Packet(300, 300, 300, 32000), rateTable));
+        assertEquals(1, cache.getHits());
+    }
+
+    /**
+     * Verifies that the cache applies the same girth rule as the calculator: the default limit on the sorted
+     * sides for tariffs without girth limits, and only the per-entry limits otherwise.
+     */
+    @Test
+    public void testGirthMatchesCalculator() {
+        RateTable withoutGirth = RateTable.fromEntries(List.of(new ConfigEntry(700, 700, 1200, 31000, 5.89)));
+        RateTable withGirth = RateTable.fromEntries(List.of(new ConfigEntry(700, 700, 1200, 31000, 5.89, 4000, 0)));
+        QuoteCache cache = new QuoteCache(128);
+
+        for (Packet pack : List.of(new Packet(100, 600, 1100, 1000), new Packet(600, 600, 1000, 1000),
+                new Packet(700, 700, 1200, 1000))) {
+            for (RateTable table : List.of(withoutGirth, withGirth)) {
+                String expected;
+                try {
+                    expected = String.valueOf(Calculator.calcShippingCosts(pack, table));
+                } catch (IllegalArgumentException e) {
+                    expected = e.getMessage();
+                }
+                String actual;
+                try {
+                    actual = String.valueOf(cache.calcShippingCosts(pack, table));
+                } catch (IllegalArgumentException e) {
+                    actual = e.getMessage();
+                }
+                assertEquals(expected, actual, pack + " with " + table.size() + " entries");
+            }
+        }
+        assertEquals(5.89, cache.calcShippingCosts(new Packet(100, 600, 1100, 1000), withoutGirth));
+        assertEquals(5.89, cache.calcShippingCosts(new Packet(600, 600, 1000, 1000), withGirth));
+    }
+
+    /**
+     * Verifies that a new rate table invalidates the cached results.
+     */
+    @Test
+    public void testInvalidationOnNewTable() {
+        QuoteCache cache = new QuoteCache(128);
+        RateTable cheaper = RateTable.fromEntries(List.of(new ConfigEntry(150, 300, 300, 1000, 1.0)));
+
+        assertEquals(0, cache.findEntry(rateTable, 150, 300, 300, 1000));
+        assertEquals(3.89, cache.calcShippingCosts(new Packet(150, 300, 300, 1000), rateTable));
+        assertEquals(1.0, cache.calcShippingCosts(new Packet(150, 300, 300, 1000), cheaper));
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * Verifies that the cache stays bounded, evicts entries and still returns correct results.
+     */
+    @Test
+    public void testEvictionKeepsResultsCorrect() {
+        QuoteCache cache = new QuoteCache(256);
+        Random random = new Random(9);
+        for (int i = 0; i < 20_000; i++) {
+            int a = random.nextInt(700);
+            int b = random.nextInt(700);
+            int c = random.nextInt(1300);
+            int w = random.nextInt(70_000);
+            assertEquals(rateTable.findEntry(a, b, c, w), cache.findEntry(rateTable, a, b, c, w));
+        }
+        assertTrue(cache.getEvictions() > 0);
+        assertEquals(20_000, cache.getHits() + cache.getMisses());
+    }
+}
@@ -57,10 +57,10 @@ public class RandomPackageTests {
      * @return Das erwartete Porto.
      */
     private double calculateExpectedShippingCost(Packet packet) {
-        int girth = packet.length() + 2 * packet.width() + 2 * packet.height();
-
         int[] dimensions = {packet.length(), packet.width(), packet.height()};
         Arrays.sort(dimensions);
+        // Gurtmaß: längste Seite plus zweimal die Summe der beiden anderen Seiten
+        int girth = dimensions[2] + 2 * (dimensions[0] + dimensions[1]);
 
         if (dimensions[0] <= 150 && dimensions[1] <= 300 && dimensions[2] <= 300 && packet.weight() <= 1000) {
             return 3.89;
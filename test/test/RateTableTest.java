@@ -0,0 +1,232 @@
+package test;
+
+import control.Calculator;
+import control.ConfigEntry;
+import control.ConfigHandler;
+import control.ConfigParser;
+import control.RateTable;
+import data.Packet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link RateTable} class and the compiled pricing path of {@link Calculator}.
+ */
+public class RateTableTest {
+
+    private RateTable rateTable;
+
+    /**
+     * Loads the default configuration file and compiles it before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        new ConfigHandler("default.properties");
+        rateTable = RateTable.load(new File("default.properties"));
+    }
+
+    /**
+     * Verifies that all entries of the default configuration are compiled in order.
+     */
+    @Test
+    public void testLoadDefaultConfig() {
+        assertEquals(5, rateTable.size());
+        assertEquals(3.89, rateTable.getPrice(0));
+        assertEquals(14.99, rateTable.getPrice(4));
+        assertEquals(600, rateTable.getEntry(2).getLength());
+        assertEquals(5000, rateTable.getEntry(2).getWeight());
+    }
+
+    /**
+     * Verifies first-match lookup including a package that fits no entry.
+     */
+    @Test
+    public void testFindEntry() {
+        assertEquals(0, rateTable.findEntry(150, 300, 300, 1000));
+        assertEquals(1, rateTable.findEntry(150, 300, 301, 1000));
+        assertEquals(4, rateTable.findEntry(600, 600, 1200, 31000));
+        assertEquals(-1, rateTable.findEntry(600, 600, 1200, 31001));
+    }
+
+    /**
+     * Verifies that tables compiled from entries and from properties behave identically.
+     */
+    @Test
+    public void testFromEntries() {
+        RateTable fromEntries = RateTable.fromEntries(List.of(new ConfigEntry(10, 20, 30, 40, 1.5)));
+        assertEquals(1, fromEntries.size());
+        assertEquals(0, fromEntries.findEntry(10, 20, 30, 40));
+        assertEquals(-1, fromEntries.findEntry(10, 20, 31, 40));
+    }
+
+    /**
+     * Verifies that an invalid entry format is rejected when compiling.
+     */
+    @Test
+    public void testInvalidFormat() {
+        Properties properties = new Properties();
+        properties.setProperty("entry.0.dimensions", "10x10x10x100x100");
+        properties.setProperty("entry.0.price", "50.0");
+        assertThrows(RuntimeException.class, () -> RateTable.fromProperties(properties));
+    }
+
+    /**
+     * Verifies that the compiled path matches the configuration-file path for random packages.
+     */
+    @Test
+    public void testMatchesFilePath() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            Packet packet = new Packet(random.nextInt(700) + 1, random.nextInt(700) + 1,
+                    random.nextInt(1300) + 1, random.nextInt(32000) + 1);
+            double expected;
+            try {
+                expected = Calculator.calcShippingCosts(packet);
+            } catch (IllegalArgumentException e) {
+                assertThrows(IllegalArgumentException.class, () -> Calculator.calcShippingCosts(packet, rateTable));
+                continue;
+            }
+            assertEquals(expected, Calculator.calcShippingCosts(packet, rateTable), "Mismatch for " + packet);
+        }
+    }
+
+    /**
+     * Verifies that indexed lookups in a large tariff match a linear first-match scan.
+     */
+    @Test
+    public void testIndexedLookupMatchesLinearScan() {
+        Random random = new Random(3);
+        List<ConfigEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            entries.add(new ConfigEntry(random.nextInt(600), random.nextInt(600), random.nextInt(1200),
+                    random.nextInt(31000), i));
+        }
+        RateTable indexed = RateTable.fromEntries(entries);
+        assertTrue(indexed.size() >= RateTable.INDEX_THRESHOLD);
+
+        for (int q = 0; q < 5000; q++) {
+            int a = random.nextInt(650);
+            int b = random.nextInt(650);
+            int c = random.nextInt(1250);
+            int w = random.nextInt(32000);
+            int expected = -1;
+            for (int i = 0; i < entries.size(); i++) {
+                ConfigEntry e = entries.get(i);
+                if (a <= e.getLength() && b <= e.getWidth() && c <= e.getHeight() && w <= e.getWeight()) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertEquals(expected, indexed.findEntry(a, b, c, w));
+        }
+    }
+
+    /**
+     * Verifies that the default configuration is answered by the grid and identically without it.
+     */
+    @Test
+    public void testGridLookupMatchesScan() {
+        List<ConfigEntry> entries = new ArrayList<>();
+        for (int i = 0; i < rateTable.size(); i++) {
+            entries.add(rateTable.getEntry(i));
+        }
+        RateTable withoutGrid = RateTable.fromEntries(entries, 0);
+        assertTrue(rateTable.hasGrid());
+        assertFalse(withoutGrid.hasGrid());
+
+        Random random = new Random(5);
+        for (int q = 0; q < 10_000; q++) {
+            int a = random.nextInt(700);
+            int b = random.nextInt(700);
+            int c = random.nextInt(1300);
+            int w = random.nextInt(32000);
+            assertEquals(withoutGrid.findEntry(a, b, c, w), rateTable.findEntry(a, b, c, w));
+        }
+    }
+
+    /**
+     * Verifies that girth and volumetric limits of an entry make packages fall through to later entries.
+     */
+    @Test
+    public void testGirthAndVolumetricLimits() {
+        Properties properties = new Properties();
+        properties.setProperty("entry.0.dimensions", "600x600x1200x5000");
+        properties.setProperty("entry.0.price", "5.89");
+        properties.setProperty("entry.0.girth", "1500");
+        properties.setProperty("entry.1.dimensions", "600x600x1200x5000");
+        properties.setProperty("entry.1.price", "7.99");
+        properties.setProperty("entry.1.volumetricDivisor", "5000");
+        properties.setProperty("entry.2.dimensions", "600x600x1200x31000");
+        properties.setProperty("entry.2.price", "14.99");
+        RateTable limited = RateTable.fromProperties(properties);
+        assertTrue(limited.hasExtraLimits());
+        assertTrue(limited.hasGrid());
+        assertEquals(1500, limited.getEntry(0).getGirth());
+        assertEquals(5000, limited.getEntry(1).getVolumetricDivisor());
+
+        assertEquals(0, limited.findEntry(100, 100, 100, 1000));  // Girth 500 mm
+        assertEquals(1, limited.findEntry(100, 200, 1000, 1000)); // Girth 1600 mm, volumetric weight 4000 g
+        assertEquals(2, limited.findEntry(300, 400, 600, 1000));  // Girth 2000 mm, volumetric weight 14400 g
+        assertEquals(-1, limited.findEntry(300, 400, 600, 31001));
+        assertTrue(rateTable.hasGirthLimits()); // The default configuration limits the girth of entries 2 and 3
+        assertFalse(RateTable.fromEntries(List.of(new ConfigEntry(600, 600, 1200, 5000, 5.89, 0, 5000))).hasGirthLimits());
+
+        List<ConfigEntry> entries = ConfigParser.parseEntries(properties);
+        assertEquals(7.99, Calculator.calculateCostFromConfig(properties, new int[]{100, 200, 1000}, 1000));
+        assertEquals(14.99, Calculator.calculateCostFromConfig(properties, new int[]{300, 400, 600}, 1000));
+        RateTable withoutGrid = RateTable.fromEntries(entries, 0);
+        assertFalse(withoutGrid.hasGrid());
+        assertEquals(1, withoutGrid.findEntry(100, 200, 1000, 1000));
+    }
+
+    /**
+     * Verifies that grid, index and linear lookups with girth and volumetric limits match a first-match scan.
+     */
+    @Test
+    public void testExtraLimitsMatchLinearScan() {
+        Random random = new Random(11);
+        for (int size : new int[]{8, 2000}) {
+            List<ConfigEntry> entries = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                entries.add(new ConfigEntry(100 * (1 + random.nextInt(6)), 100 * (1 + random.nextInt(6)),
+                        200 * (1 + random.nextInt(6)), 1000 * (1 + random.nextInt(31)), i,
+                        random.nextBoolean() ? 500 * (1 + random.nextInt(6)) : 0,
+                        random.nextBoolean() ? 4000 + 1000 * random.nextInt(3) : 0));
+            }
+            ConfigParser.sortEntries(entries);
+            RateTable compiled = RateTable.fromEntries(entries);
+            RateTable withoutGrid = RateTable.fromEntries(entries, 0); // Indexed or scanned linearly
+            assertTrue(compiled.hasGrid());
+
+            for (int q = 0; q < 5000; q++) {
+                int[] sides = {1 + random.nextInt(650), 1 + random.nextInt(650), 1 + random.nextInt(1250)};
+                Arrays.sort(sides);
+                int w = 1 + random.nextInt(32000);
+                int expected = -1;
+                for (int i = 0; i < entries.size(); i++) {
+                    ConfigEntry e = entries.get(i);
+                    long girth = sides[2] + 2L * (sides[0] + sides[1]);
+                    long volume = (long) sides[0] * sides[1] * sides[2];
+                    if (sides[0] <= e.getLength() && sides[1] <= e.getWidth() && sides[2] <= e.getHeight()
+                            && w <= e.getWeight() && (e.getGirth() == 0 || girth <= e.getGirth())
+                            && (e.getVolumetricDivisor() == 0
+                                    || volume <= (long) e.getWeight() * e.getVolumetricDivisor())) {
+                        expected = i;
+                        break;
+                    }
+                }
+                assertEquals(expected, compiled.findEntry(sides[0], sides[1], sides[2], w));
+                assertEquals(expected, withoutGrid.findEntry(sides[0], sides[1], sides[2], w));
+            }
+        }
+    }
+}
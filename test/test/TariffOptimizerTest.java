@@ -0,0 +1,183 @@
+package test;
+
+import control.ConfigEntry;
+import control.ConfigParser;
+import control.PricingEngine;
+import control.QuoteStatus;
+import control.TariffOptimizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TariffOptimizer} class and the pruning done by {@link PricingEngine}.
+ */
+public class TariffOptimizerTest {
+
+    /**
+     * Verifies that the default configuration has no findings: its heavy tiers only differ in weight, which is
+     * intended and not reported.
+     */
+    @Test
+    public void testDefaultConfiguration() {
+        List<ConfigEntry> entries = List.of(
+                new ConfigEntry(150, 300, 300, 1000, 3.89),
+                new ConfigEntry(150, 300, 600, 2000, 4.39),
+                new ConfigEntry(600, 600, 1200, 5000, 5.89, 3000, 0),
+                new ConfigEntry(600, 600, 1200, 10000, 7.99, 3000, 0),
+                new ConfigEntry(600, 600, 1200, 31000, 14.99));
+        TariffOptimizer.Result result = TariffOptimizer.analyze(entries);
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, result.kept());
+        assertTrue(result.findings().isEmpty(), result.findings().toString());
+    }
+
+    /**
+     * Verifies that a shadowed entry is reported with the largest limit of the earlier entries covering it.
+     */
+    @Test
+    public void testShadowedReportsLargestCoveringLimit() {
+        List<ConfigEntry> entries = List.of(
+                new ConfigEntry(100, 200, 300, 5000, 3.0),
+                new ConfigEntry(100, 200, 400, 5000, 4.0),
+                new ConfigEntry(100, 200, 600, 5000, 5.0));
+        List<TariffOptimizer.Finding> shadowed = TariffOptimizer.analyze(entries).findings(TariffOptimizer.Kind.SHADOWED);
+
+        assertEquals(List.of(new TariffOptimizer.Finding(TariffOptimizer.Kind.SHADOWED, 1, 0, 2, 300),
+                new TariffOptimizer.Finding(TariffOptimizer.Kind.SHADOWED, 2, 1, 2, 400)), shadowed);
+        assertEquals("Entry 2 only applies to packages with a longest side above 400 mm, entry 1 accepts the others.",
+                shadowed.get(1).describe());
+    }
+
+    /**
+     * Verifies that entries dominated by an earlier entry are removed and everything else is kept in order.
+     */
+    @Test
+    public void testDominatedEntriesArePruned() {
+        List<ConfigEntry> entries = List.of(
+                new ConfigEntry(100, 200, 300, 5000, 4.0),
+                new ConfigEntry(100, 100, 100, 1000, 2.0),
+                new ConfigEntry(100, 200, 300, 5000, 3.0),
+                new ConfigEntry(50, 300, 300, 1000, 5.0));
+        TariffOptimizer.Result result = TariffOptimizer.analyze(entries);
+
+        assertArrayEquals(new int[]{0, 3}, result.kept());
+        assertEquals(2, result.unreachableCount(entries.size()));
+        List<TariffOptimizer.Finding> unreachable = result.findings(TariffOptimizer.Kind.UNREACHABLE);
+        assertEquals(List.of(1, 2), unreachable.stream().map(TariffOptimizer.Finding::entry).toList());
+        assertEquals(0, unreachable.get(1).coveredBy());
+        assertEquals(List.of(4.0, 5.0), result.apply(entries).stream().map(ConfigEntry::getPrice).toList());
+
+        // The engine sorts the entries first, so only the duplicate limits remain unreachable
+        PricingEngine engine = PricingEngine.fromProperties(toProperties(entries));
+        assertEquals(3, engine.size());
+        assertEquals(List.of(new TariffOptimizer.Finding(TariffOptimizer.Kind.UNREACHABLE, 2, 0, -1, -1)),
+                engine.getFindings().stream()
+                        .filter(finding -> finding.kind() == TariffOptimizer.Kind.UNREACHABLE).toList());
+        assertEquals(200, engine.quote(100, 100, 100, 1000));
+    }
+
+    /**
+     * Verifies that an earlier entry only dominates if its girth and volumetric limits are not stricter.
+     */
+    @Test
+    public void testExtraLimitsAreDominatedToo() {
+        List<ConfigEntry> entries = List.of(
+                new ConfigEntry(600, 600, 1200, 5000, 5.89, 2000, 0),
+                new ConfigEntry(600, 600, 1200, 5000, 7.99),
+                new ConfigEntry(600, 600, 1200, 5000, 9.99, 1800, 5000),
+                new ConfigEntry(600, 600, 1200, 31000, 14.99, 0, 5000));
+        TariffOptimizer.Result result = TariffOptimizer.analyze(entries);
+
+        assertArrayEquals(new int[]{0, 1, 3}, result.kept());
+        assertEquals(0, result.findings(TariffOptimizer.Kind.UNREACHABLE).get(0).coveredBy());
+
+        Properties properties = toProperties(entries);
+        PricingEngine engine = PricingEngine.fromProperties(properties);
+        assertEquals(3, engine.size());
+        assertEquals(589, engine.quote(600, 300, 200, 1000));
+        assertEquals(799, engine.quote(600, 600, 500, 1000));
+
+        properties.setProperty("entry.1.girth", "-1");
+        assertEquals(List.of("entry.1.girth must be a positive integer: -1"), PricingEngine.validate(properties));
+    }
+
+    /**
+     * Verifies on random tariffs and packages, half of them with girth and volumetric limits, that the pruned
+     * engine quotes exactly like a first-match scan over all entries in normalized order.
+     */
+    @Test
+    public void testPruningNeverChangesAQuote() {
+        Random random = new Random(23);
+        int pruned = 0;
+        for (int tariff = 0; tariff < 50; tariff++) {
+            List<ConfigEntry> entries = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                entries.add(new ConfigEntry(limit(random), limit(random), limit(random),
+                        1000 * (1 + random.nextInt(10)), 1 + random.nextInt(2000) / 100.0,
+                        tariff % 2 == 0 ? 0 : 1000 * random.nextInt(3), tariff % 2 == 0 ? 0 : 5000 * random.nextInt(2)));
+            }
+            PricingEngine engine = PricingEngine.fromProperties(toProperties(entries));
+            pruned += entries.size() - engine.size();
+            List<ConfigEntry> normalized = ConfigParser.parseEntries(toProperties(entries));
+            ConfigParser.sortEntries(normalized);
+
+            for (int i = 0; i < 500; i++) {
+                int length = 1 + random.nextInt(600);
+                int width = 1 + random.nextInt(600);
+                int height = 1 + random.nextInt(600);
+                int weight = 1 + random.nextInt(11000);
+                assertEquals(scan(normalized, length, width, height, weight),
+                        engine.quote(length, width, height, weight));
+            }
+        }
+        assertTrue(pruned > 0);
+    }
+
+    /**
+     * Returns a side limit from a small set, so that random entries often dominate each other.
+     */
+    private static int limit(Random random) {
+        return 100 * (1 + random.nextInt(6));
+    }
+
+    /**
+     * Quotes a package by scanning all entries in order, as the unoptimized lookup does.
+     */
+    private static int scan(List<ConfigEntry> entries, int length, int width, int height, int weight) {
+        int[] sides = {length, width, height};
+        Arrays.sort(sides);
+        for (ConfigEntry entry : entries) {
+            int[] limits = {entry.getLength(), entry.getWidth(), entry.getHeight()};
+            Arrays.sort(limits);
+            long girth = sides[2] + 2L * (sides[0] + sides[1]);
+            long volume = (long) sides[0] * sides[1] * sides[2];
+            if (sides[0] <= limits[0] && sides[1] <= limits[1] && sides[2] <= limits[2]
+                    && weight <= entry.getWeight() && (entry.getGirth() == 0 || girth <= entry.getGirth())
+                    && (entry.getVolumetricDivisor() == 0
+                            || volume <= (long) entry.getWeight() * entry.getVolumetricDivisor())) {
+                return (int) Math.round(entry.getPrice() * 100);
+            }
+        }
+        return -QuoteStatus.NO_MATCHING_ENTRY;
+    }
+
+    /**
+     * Writes entries in the configuration file format, keeping their order.
+     */
+    private static Properties toProperties(List<ConfigEntry> entries) {
+        Properties properties = new Properties();
+        for (int i = 0; i < entries.size(); i++) {
+            ConfigEntry entry = entries.get(i);
+            ConfigParser.putEntry(properties, i, entry.getLength(), entry.getWidth(), entry.getHeight(),
+                    entry.getWeight(), entry.getPrice(), entry.getGirth(), entry.getVolumetricDivisor());
+        }
+        return properties;
+    }
+}
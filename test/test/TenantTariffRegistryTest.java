@@ -0,0 +1,185 @@
+package test;
+
+import control.RateTable;
+import control.TenantTariffRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TenantTariffRegistry} class.
+ */
+public class TenantTariffRegistryTest {
+
+    private final Properties base = loadDefault();
+
+    /**
+     * Verifies that tenants are loaded once on first use and priced with their own prices.
+     */
+    @Test
+    public void testLazyLoading() {
+        AtomicInteger calls = new AtomicInteger();
+        TenantTariffRegistry registry = new TenantTariffRegistry(tenant -> {
+            calls.incrementAndGet();
+            return variant(tenant.equals("discount") ? "1.99" : "3.89");
+        }, Long.MAX_VALUE);
+
+        assertFalse(registry.isLoaded("discount"));
+        RateTable discount = registry.get("discount");
+        assertSame(discount, registry.get("discount"));
+        assertEquals(1, calls.get());
+        assertEquals(1.99, discount.getPrice(0));
+        assertEquals(0, discount.findEntry(150, 300, 300, 1000));
+        assertEquals(3.89, registry.get("regular").getPrice(0));
+        assertEquals(2, registry.getLoadedTenantCount());
+    }
+
+    /**
+     * Verifies that identical limits and prices are stored only once.
+     */
+    @Test
+    public void testDeduplication() {
+        TenantTariffRegistry registry = new TenantTariffRegistry(
+                tenant -> variant(tenant.startsWith("same") ? "3.89" : "2.49"), Long.MAX_VALUE);
+
+        registry.get("same-1");
+        long single = registry.getMemoryUsage();
+        registry.get("same-2");
+        registry.get("same-3");
+        assertEquals(single, registry.getMemoryUsage());
+
+        registry.get("other");
+        long prices = 5L * (Double.BYTES + Long.BYTES);
+        assertEquals(single + prices, registry.getMemoryUsage());
+
+        TenantTariffRegistry.Footprint footprint = registry.getFootprint("same-1");
+        assertEquals(5, footprint.entries());
+        assertEquals(single, footprint.referencedBytes());
+        assertTrue(footprint.attributedBytes() < footprint.referencedBytes());
+        assertNull(registry.getFootprint("unknown"));
+    }
+
+    /**
+     * Verifies that columns are pooled one by one: a tariff that changes one limit and one price shares every
+     * other column with the base tariff and only gets its own index and grid.
+     */
+    @Test
+    public void testSharesUnchangedColumns() {
+        TenantTariffRegistry registry = new TenantTariffRegistry(tenant -> {
+            if (tenant.equals("base")) {
+                return variant("3.89");
+            }
+            Properties properties = variant("2.49");
+            properties.setProperty("entry.4.dimensions", "600x600x1200x32000");
+            return properties;
+        }, Long.MAX_VALUE);
+
+        registry.get("base");
+        long single = registry.getMemoryUsage();
+        registry.get("heavier");
+        // Lengths, widths, heights, girths and volumetric divisors are shared
+        long shared = 5L * 5 * Integer.BYTES;
+        assertEquals(2 * single - shared, registry.getMemoryUsage());
+        assertEquals(4, registry.get("heavier").findEntry(600, 600, 1200, 32000));
+        assertEquals(2.49, registry.get("heavier").getPrice(0));
+        assertEquals(-1, registry.get("base").findEntry(600, 600, 1200, 32000));
+        assertEquals(3.89, registry.get("base").getPrice(0));
+
+        TenantTariffRegistry.Footprint footprint = registry.getFootprint("heavier");
+        assertEquals(single, footprint.referencedBytes());
+        assertEquals(single - shared / 2, footprint.attributedBytes());
+
+        registry.invalidate("heavier");
+        assertEquals(single, registry.getMemoryUsage());
+        assertEquals(single, registry.getFootprint("base").attributedBytes());
+    }
+
+    /**
+     * Verifies that cold tenants are evicted to stay within the budget and reloaded on demand.
+     */
+    @Test
+    public void testEviction() {
+        AtomicInteger calls = new AtomicInteger();
+        TenantTariffRegistry probe = new TenantTariffRegistry(this::uniqueVariant, Long.MAX_VALUE);
+        probe.get("1");
+        long perTenant = probe.getMemoryUsage();
+
+        TenantTariffRegistry registry = new TenantTariffRegistry(tenant -> {
+            calls.incrementAndGet();
+            return uniqueVariant(tenant);
+        }, 3 * perTenant);
+        registry.get("1");
+        registry.get("2");
+        registry.get("3");
+        registry.get("4");
+
+        assertEquals(3, registry.getLoadedTenantCount());
+        assertEquals(1, registry.getEvictions());
+        assertTrue(registry.getMemoryUsage() <= 3 * perTenant);
+        assertTrue(registry.isLoaded("4"));
+
+        registry.invalidate("4");
+        assertFalse(registry.isLoaded("4"));
+        assertEquals(4.0, registry.get("4").getPrice(0));
+        assertEquals(5, calls.get());
+    }
+
+    /**
+     * Verifies loading from a directory and that tenant ids cannot escape it.
+     *
+     * @throws IOException If the temporary directory cannot be created.
+     */
+    @Test
+    public void testDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("tenants");
+        try {
+            Files.copy(Path.of("default.properties"), directory.resolve("acme.properties"));
+            TenantTariffRegistry registry = TenantTariffRegistry.forDirectory(directory, Long.MAX_VALUE);
+
+            assertEquals(14.99, registry.get("acme").getPrice(4));
+            assertThrows(RuntimeException.class, () -> registry.get("missing"));
+            assertThrows(IllegalArgumentException.class, () -> registry.get("../acme"));
+        } finally {
+            Files.deleteIfExists(directory.resolve("acme.properties"));
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Returns the default configuration with another price for the first entry.
+     */
+    private Properties variant(String firstPrice) {
+        Properties properties = new Properties();
+        properties.putAll(base);
+        properties.setProperty("entry.0.price", firstPrice);
+        return properties;
+    }
+
+    /**
+     * Returns a configuration whose limits and prices differ for every tenant id.
+     */
+    private Properties uniqueVariant(String tenant) {
+        Properties properties = variant(tenant + ".0");
+        properties.setProperty("entry.0.dimensions", "150x300x300x" + (1000 + Integer.parseInt(tenant)));
+        return properties;
+    }
+
+    private static Properties loadDefault() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(new File("default.properties"))) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return properties;
+    }
+}
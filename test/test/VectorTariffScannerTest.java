@@ -0,0 +1,91 @@
+package test;
+
+import control.ConfigEntry;
+import control.RateTable;
+import control.VectorTariffScanner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link VectorTariffScanner} class.
+ */
+public class VectorTariffScannerTest {
+
+    /**
+     * Verifies that the tests run with {@code --add-modules jdk.incubator.vector}, so the vector scan itself is
+     * tested and not compared with the scalar fallback.
+     */
+    @Test
+    public void testVectorizedIfModuleIsPresent() {
+        RateTable table = RateTable.fromEntries(List.of(new ConfigEntry(150, 300, 300, 1000, 3.89)));
+        assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "Run the tests with --add-modules jdk.incubator.vector");
+        assertTrue(VectorTariffScanner.laneCount() > 1);
+        assertTrue(VectorTariffScanner.of(table).isVectorized());
+        assertFalse(VectorTariffScanner.scalar(table).isVectorized());
+        assertEquals(1, VectorTariffScanner.of(table).size());
+    }
+
+    /**
+     * Verifies that the first match is found across lane and padding boundaries, and that padding never matches.
+     */
+    @Test
+    public void testFirstMatchAcrossLanes() {
+        List<ConfigEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            entries.add(new ConfigEntry(100, 100, 100, 100 * (i + 1), i));
+        }
+        RateTable table = RateTable.fromEntries(entries, 0);
+        assertTrue(VectorTariffScanner.of(table).isVectorized());
+        for (VectorTariffScanner scanner : List.of(VectorTariffScanner.of(table), VectorTariffScanner.scalar(table))) {
+            assertEquals(0, scanner.findEntry(50, 50, 50, 100));
+            assertEquals(15, scanner.findEntry(50, 50, 50, 1600));
+            assertEquals(16, scanner.findEntry(50, 50, 50, 1601));
+            assertEquals(39, scanner.findEntry(100, 100, 100, 4000));
+            assertEquals(-1, scanner.findEntry(100, 100, 100, 4001));
+            assertEquals(-1, scanner.findEntry(101, 100, 100, 1));
+        }
+    }
+
+    /**
+     * Verifies on random tariffs of various sizes, with and without girth and volumetric limits, that vector and
+     * scalar scans agree with {@link RateTable#findEntry(int, int, int, int)}, and that tables without a grid,
+     * which scan mid-sized tariffs with a vector scanner, do so too.
+     */
+    @Test
+    public void testMatchesRateTable() {
+        Random random = new Random(25);
+        for (int size : new int[]{1, 15, 16, 17, 100, 1000}) {
+            for (boolean extraLimits : new boolean[]{false, true}) {
+                List<ConfigEntry> entries = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    entries.add(new ConfigEntry(100 * (1 + random.nextInt(6)), 100 * (1 + random.nextInt(6)),
+                            200 * (1 + random.nextInt(6)), 1000 * (1 + random.nextInt(31)), i,
+                            extraLimits && random.nextBoolean() ? 500 * (1 + random.nextInt(6)) : 0,
+                            extraLimits && random.nextBoolean() ? 4000 + 1000 * random.nextInt(3) : 0));
+                }
+                RateTable table = RateTable.fromEntries(entries);
+                RateTable withoutGrid = RateTable.fromEntries(entries, 0);
+                VectorTariffScanner vector = VectorTariffScanner.of(table);
+                VectorTariffScanner scalar = VectorTariffScanner.scalar(table);
+                assertTrue(vector.isVectorized());
+
+                for (int q = 0; q < 2000; q++) {
+                    int[] sides = {1 + random.nextInt(650), 1 + random.nextInt(650), 1 + random.nextInt(1250)};
+                    Arrays.sort(sides);
+                    int w = 1 + random.nextInt(32000);
+                    int expected = table.findEntry(sides[0], sides[1], sides[2], w);
+                    assertEquals(expected, vector.findEntry(sides[0], sides[1], sides[2], w));
+                    assertEquals(expected, scalar.findEntry(sides[0], sides[1], sides[2], w));
+                    assertEquals(expected, withoutGrid.findEntry(sides[0], sides[1], sides[2], w));
+                }
+            }
+        }
+    }
+}